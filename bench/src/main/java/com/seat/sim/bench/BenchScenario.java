@@ -0,0 +1,141 @@
+package com.seat.sim.bench;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.seat.sim.client.core.ClientException;
+import com.seat.sim.client.core.DroneScenario;
+import com.seat.sim.client.negotiation.Contract;
+import com.seat.sim.client.sandbox.rescue.remote.RemoteManager;
+import com.seat.sim.client.sandbox.rescue.remote.RescueScenario;
+import com.seat.sim.client.sandbox.rescue.util.Experiment;
+import com.seat.sim.client.sandbox.rescue.util.ScenarioEvents;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.math.Zone;
+import com.seat.sim.common.remote.RemoteConfig;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.Random;
+
+/** The parts of a drone scenario that the task managers read, without a remote manager or a logger. */
+public class BenchScenario implements DroneScenario {
+
+  private double alpha;
+  private double beta;
+  private ScenarioEvents events;
+  private Grid grid;
+  private Random rng;
+
+  public BenchScenario(Grid grid, double alpha, double beta, long seed) {
+    this.grid = grid;
+    this.alpha = alpha;
+    this.beta = beta;
+    this.events = new ScenarioEvents();
+    this.rng = new Random(seed);
+  }
+
+  public void addTask(Zone task) {}
+
+  public double getAlpha() {
+    return this.alpha;
+  }
+
+  public int getBaseCount() {
+    return 0;
+  }
+
+  public int getCooldown(String droneID) {
+    return 0;
+  }
+
+  public int getDroneCount() {
+    return 0;
+  }
+
+  public String getDroneTag() {
+    return RescueScenario.DRONE_TAG;
+  }
+
+  public ScenarioEvents getEvents() {
+    return this.events;
+  }
+
+  public Experiment getExperiment() {
+    throw new ClientException("A bench scenario runs no experiment, so it has no trials or seeds to sweep");
+  }
+
+  public Optional<Grid> getGrid() {
+    return Optional.of(this.grid);
+  }
+
+  public Vector getGridCenter() {
+    return new Vector(this.grid.getWidth() / 2., this.grid.getHeight() / 2.);
+  }
+
+  public RemoteManager getManager() {
+    return null;
+  }
+
+  public int getMissionLength() {
+    return RescueScenario.MISSION_LENGTH;
+  }
+
+  public double getPhi() {
+    return this.beta;
+  }
+
+  public Collection<RemoteConfig> getRemoteConfigs() {
+    return List.of();
+  }
+
+  public Random getRng() {
+    return this.rng;
+  }
+
+  public String getScenarioID() {
+    return "Bench";
+  }
+
+  public double getScore() {
+    throw new ClientException("A bench scenario keeps no score, as it only backs the task managers");
+  }
+
+  public double getStepSize() {
+    return RescueScenario.STEP_SIZE;
+  }
+
+  public boolean hasGrid() {
+    return true;
+  }
+
+  public boolean hasNegotiations() {
+    return false;
+  }
+
+  public Optional<Contract> negotiate(Snapshot snap, RemoteState state, String senderID, String receiverID) {
+    return Optional.empty();
+  }
+
+  public Optional<Zone> nextTask(Snapshot snap, RemoteState state) {
+    return Optional.empty();
+  }
+
+  public void report(double simTime, String fmt, Object... args) {}
+
+  public boolean scoreContract(Snapshot snap, Contract contract, boolean earlyCompletion) {
+    return false;
+  }
+
+  public void setDone(String remoteID, boolean droneNotOther) {}
+
+  public boolean terminateContract(Contract contract) {
+    return false;
+  }
+
+  public Collection<IntentionSet> update(Snapshot snap) {
+    return List.of();
+  }
+}
@@ -0,0 +1,178 @@
+package com.seat.sim.bench;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.seat.sim.client.sandbox.recon.remote.ReconScenario;
+import com.seat.sim.client.sandbox.rescue.remote.RescueScenario;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteConfig;
+import com.seat.sim.common.remote.RemoteController;
+import com.seat.sim.common.remote.RemoteProto;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.remote.kinematics.FuelProto;
+import com.seat.sim.common.remote.kinematics.KinematicsProto;
+import com.seat.sim.common.remote.kinematics.MotionProto;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.sensor.SensorConfig;
+import com.seat.sim.common.sensor.SensorProto;
+import com.seat.sim.common.sensor.SensorStats;
+import com.seat.sim.common.util.Random;
+
+/**
+ * Scenario configurations shaped like the rescue and recon sandboxes. They are built directly from the
+ * sandbox constants, so benchmarks do not need the seed files and loggers of the real scenarios.
+ */
+public class Fixtures {
+
+  public static final String DEFAULT_LAYOUT = "Rescue";
+  public static final double IMAGE_DENSITY = 0.2;
+  public static final long SEED = 0;
+
+  private static RemoteConfig getDroneConfig(Grid grid, int count) {
+    return new RemoteConfig(
+        new RemoteProto(
+            Set.of(RescueScenario.DRONE_TAG),
+            List.of(
+                new SensorConfig(
+                    new SensorProto(
+                        RescueScenario.DRONE_CAMERA,
+                        Set.of(RescueScenario.DRONE_TAG),
+                        Set.of(RescueScenario.VICTIM_TAG),
+                        new SensorStats(RescueScenario.CAM_BATT_USAGE, 1., 0., RescueScenario.CAM_RANGE)
+                      ),
+                    1,
+                    true
+                  ),
+                new SensorConfig(
+                    new SensorProto(
+                        RescueScenario.BLE_COMMS,
+                        Set.of(RescueScenario.DRONE_BLE_TAG),
+                        Set.of(RescueScenario.VICTIM_BLE_TAG),
+                        new SensorStats(RescueScenario.BLE_BATT_USAGE, 1., 0., RescueScenario.BLE_RANGE)
+                      ),
+                    1,
+                    true
+                  )
+              ),
+            new KinematicsProto(
+                Fixtures.getGridCenter(grid),
+                new FuelProto(1., 1., RescueScenario.DRONE_FUEL_USAGE),
+                new MotionProto(
+                    RescueScenario.DRONE_INITIAL_VELOCITY,
+                    RescueScenario.DRONE_MAX_VELOCITY,
+                    RescueScenario.DRONE_MAX_ACCELERATION
+                  )
+              )
+          ),
+        RescueScenario.DRONE_COLOR,
+        count,
+        true,
+        true
+      );
+  }
+
+  private static Vector getGridCenter(Grid grid) {
+    return new Vector(grid.getWidth() / 2., grid.getHeight() / 2.);
+  }
+
+  private static RemoteConfig getVictimConfig(int count) {
+    return new RemoteConfig(
+        new RemoteProto(
+            Set.of(RescueScenario.VICTIM_TAG),
+            List.of(
+                new SensorConfig(
+                    new SensorProto(
+                        RescueScenario.HUMAN_VISION,
+                        Set.of(RescueScenario.VICTIM_TAG),
+                        Set.of(RescueScenario.BASE_TAG, RescueScenario.DRONE_TAG),
+                        new SensorStats(0., 1., 0., RescueScenario.HUMAN_VISION_RANGE)
+                      ),
+                    1,
+                    true
+                  ),
+                new SensorConfig(
+                    new SensorProto(
+                        RescueScenario.BLE_COMMS,
+                        Set.of(RescueScenario.VICTIM_BLE_TAG),
+                        Set.of(RescueScenario.DRONE_BLE_TAG),
+                        new SensorStats(RescueScenario.BLE_BATT_USAGE, 1., 0., RescueScenario.BLE_RANGE)
+                      ),
+                    1,
+                    true
+                  )
+              ),
+            new KinematicsProto(
+                null,
+                null,
+                new MotionProto(
+                    RescueScenario.VICTIM_INITIAL_VELOCITY,
+                    RescueScenario.VICTIM_MAX_VELOCITY,
+                    RescueScenario.VICTIM_MAX_ACCELERATION
+                  )
+              )
+          ),
+        RescueScenario.VICTIM_COLOR,
+        count,
+        true,
+        true
+      );
+  }
+
+  /** Returns an open grid with the dimensions of the layout ("Rescue" or "Recon"). */
+  public static Grid Grid(String layout) {
+    if (layout.equals("Recon")) {
+      return new Grid(ReconScenario.GRID_SIZE, ReconScenario.GRID_SIZE, ReconScenario.ZONE_SIZE);
+    }
+    return new Grid(RescueScenario.GRID_SIZE, RescueScenario.GRID_SIZE, RescueScenario.ZONE_SIZE);
+  }
+
+  /** Returns a grid with the dimensions of the layout whose zones are BLOCKED with the given density. */
+  public static Grid ImageGrid(String layout, double density, long seed) {
+    Grid open = Fixtures.Grid(layout);
+    java.util.Random rng = new java.util.Random(seed);
+    int size = open.getWidthInZones();
+    BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        img.setRGB(x, y, (rng.nextDouble() < density) ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+      }
+    }
+    int center = size / 2;
+    img.setRGB(center, center, Color.WHITE.getRGB());
+    return new Grid(img, open.getZoneSize());
+  }
+
+  /** Returns a GoTo intention to a random location of the grid for each of the remotes. */
+  public static Map<String, IntentionSet> Intentions(Collection<String> remoteIDs, Grid grid, Random rng) {
+    Map<String, IntentionSet> intentions = new HashMap<>();
+    for (String remoteID : remoteIDs) {
+      RemoteController controller = new RemoteController(remoteID);
+      controller.goToLocation(rng.getRandomLocation2D(grid.getWidth(), grid.getHeight()));
+      intentions.put(remoteID, controller.getIntentions());
+    }
+    return intentions;
+  }
+
+  /** Returns a config of drones and victims on the grid, shaped like the rescue sandbox. */
+  public static ScenarioConfig ScenarioConfig(Grid grid, int droneCount, int victimCount) {
+    return Fixtures.ScenarioConfig(grid, droneCount, victimCount, Integer.MAX_VALUE);
+  }
+
+  public static ScenarioConfig ScenarioConfig(Grid grid, int droneCount, int victimCount, int missionLength) {
+    return new ScenarioConfig(
+        "Bench",
+        Fixtures.SEED,
+        grid,
+        missionLength,
+        RescueScenario.STEP_SIZE,
+        List.of(Fixtures.getDroneConfig(grid, droneCount), Fixtures.getVictimConfig(victimCount))
+      );
+  }
+}
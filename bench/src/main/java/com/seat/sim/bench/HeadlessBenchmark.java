@@ -0,0 +1,149 @@
+package com.seat.sim.bench;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seat.sim.client.sandbox.rescue.remote.RescueScenario;
+import com.seat.sim.common.core.Application;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteConfig;
+import com.seat.sim.common.remote.RemoteController;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.core.HeadlessRunner;
+
+/** A whole mission of the simulation and a wandering policy in one thread, without a transport. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HeadlessBenchmark {
+
+  @Param({"32"})
+  public int droneCount;
+
+  @Param({"Rescue", "Recon"})
+  public String layout;
+
+  @Param({"100"})
+  public int missionLength;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  @Param({"256", "1024"})
+  public int victimCount;
+
+  private WanderApplication app;
+
+  @Setup
+  public void setup() {
+    Grid grid = Fixtures.Grid(this.layout);
+    this.app = new WanderApplication(
+        Fixtures.ScenarioConfig(grid, this.droneCount, this.victimCount, this.missionLength));
+  }
+
+  @Benchmark
+  public int mission() {
+    HeadlessRunner runner = new HeadlessRunner(this.app);
+    runner.setParallel(this.parallel);
+    runner.run();
+    return this.app.getSteps();
+  }
+
+  /** Sends each drone to a random location of the grid, and to another once it gets within a zone of it. */
+  private static class WanderApplication implements Application {
+
+    private ScenarioConfig config;
+    private Random rng;
+    private int steps;
+    private Map<String, Vector> targets;
+
+    public WanderApplication(ScenarioConfig config) {
+      this.config = config;
+    }
+
+    public Optional<Grid> getGrid() {
+      return Optional.of(this.config.getGrid());
+    }
+
+    public int getMissionLength() {
+      return this.config.getMissionLength();
+    }
+
+    public Collection<RemoteConfig> getRemoteConfigs() {
+      return this.config.getRemoteConfigs();
+    }
+
+    public ScenarioConfig getScenarioConfig() {
+      return this.config;
+    }
+
+    public String getScenarioID() {
+      return this.config.getScenarioID();
+    }
+
+    public long getSeed() {
+      return this.config.getSeed();
+    }
+
+    public int getSteps() {
+      return this.steps;
+    }
+
+    public double getStepSize() {
+      return this.config.getStepSize();
+    }
+
+    public boolean hasGrid() {
+      return true;
+    }
+
+    public void init() {
+      this.rng = new Random(Fixtures.SEED);
+      this.steps = 0;
+      this.targets = new HashMap<>();
+    }
+
+    public Collection<IntentionSet> update(Snapshot snap) {
+      this.steps++;
+      Grid grid = this.config.getGrid();
+      List<IntentionSet> intentions = new ArrayList<>();
+      for (RemoteState state : snap.getActiveRemoteStatesWithTag(RescueScenario.DRONE_TAG)) {
+        Vector target = this.targets.get(state.getRemoteID());
+        if (target != null && Vector.dist(target, state.getLocation()) > grid.getZoneSize()) {
+          continue;
+        }
+        target = this.rng.getRandomLocation2D(grid.getWidth(), grid.getHeight());
+        this.targets.put(state.getRemoteID(), target);
+        RemoteController controller = new RemoteController(state.getRemoteID());
+        controller.goToLocation(target);
+        intentions.add(controller.getIntentions());
+      }
+      return intentions;
+    }
+  }
+}
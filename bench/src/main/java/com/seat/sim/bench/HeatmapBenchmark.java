@@ -0,0 +1,85 @@
+package com.seat.sim.bench;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seat.sim.client.sandbox.rescue.remote.RescueScenario;
+import com.seat.sim.client.sandbox.rescue.util.HeatmapTaskManager;
+import com.seat.sim.client.sandbox.rescue.util.StochasticHeatmap;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.scenario.Scenario;
+
+/**
+ * The heatmap planner: update() diffuses the heatmap once (Heatmap.diffuse) after the drones scan, and
+ * predict() rolls the heatmap forward to a proposal deadline for one drone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HeatmapBenchmark {
+
+  @Param({"9"})
+  public double deadline;
+
+  @Param({"32"})
+  public int droneCount;
+
+  @Param({"Rescue", "Recon"})
+  public String layout;
+
+  private Snapshot snap;
+  private RemoteState state;
+  private HeatmapTaskManager tasks;
+
+  @Setup
+  public void setup() {
+    Grid grid = Fixtures.Grid(this.layout);
+    Scenario scenario = new Scenario(Fixtures.ScenarioConfig(grid, this.droneCount, 0));
+    scenario.update(Fixtures.Intentions(scenario.getRemoteIDs(), grid, new Random(Fixtures.SEED)),
+        scenario.getStepSize());
+    scenario.update(Map.of(), scenario.getStepSize());
+    this.snap = scenario.getSnapshot();
+    List<RemoteState> drones = this.snap
+        .getActiveRemoteStates()
+        .stream()
+        .filter(s -> s.hasTag(RescueScenario.DRONE_TAG))
+        .sorted((a, b) -> a.getRemoteID().compareTo(b.getRemoteID()))
+        .collect(Collectors.toList());
+    this.state = drones.get(0);
+    this.tasks = new StochasticHeatmap(new BenchScenario(grid, 0.5, 0.5, Fixtures.SEED), true, true, true);
+    this.tasks.init();
+    this.tasks.update(this.snap);
+  }
+
+  @Benchmark
+  public double predict() {
+    return this.tasks.predict(this.snap, List.of(this.state), 0., 0., this.deadline, Optional.empty());
+  }
+
+  @Benchmark
+  public HeatmapTaskManager update() {
+    this.tasks.update(this.snap);
+    return this.tasks;
+  }
+}
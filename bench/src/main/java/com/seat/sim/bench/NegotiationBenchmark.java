@@ -0,0 +1,65 @@
+package com.seat.sim.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seat.sim.client.negotiation.ParetoNegotiation;
+import com.seat.sim.client.negotiation.Proposal;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.common.util.Range;
+
+/** Generating the Pareto proposal lattice of one provider and one requester, as the C scenarios do. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NegotiationBenchmark {
+
+  private static final String PROVIDER_ID = "provider";
+  private static final String REQUESTER_ID = "requester";
+
+  @Param({"3", "4", "5"})
+  public int pCount;
+
+  private Random rng;
+
+  private ParetoNegotiation getNegotiation() {
+    return new ParetoNegotiation(
+        Range.Inclusive(1, 9, 1.),
+        Range.Inclusive(1., 1., 0.),
+        Range.Inclusive(0., 1., 0.05),
+        this.pCount,
+        this.rng,
+        remoteID -> remoteID.equals(NegotiationBenchmark.PROVIDER_ID)
+      );
+  }
+
+  @Setup
+  public void setup() {
+    this.rng = new Random(Fixtures.SEED);
+  }
+
+  @Benchmark
+  public List<Proposal> provider() {
+    return this.getNegotiation().getProposals(NegotiationBenchmark.PROVIDER_ID);
+  }
+
+  @Benchmark
+  public List<Proposal> requester() {
+    return this.getNegotiation().getProposals(NegotiationBenchmark.REQUESTER_ID);
+  }
+}
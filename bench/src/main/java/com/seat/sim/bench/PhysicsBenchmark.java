@@ -0,0 +1,69 @@
+package com.seat.sim.bench;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.math.Collision;
+import com.seat.sim.server.math.Physics;
+
+/** Ray traces of one step of drone motion, on an open grid and on an image-derived grid. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PhysicsBenchmark {
+
+  private static final int RAY_COUNT = 1024;
+
+  @Param({"open", "image"})
+  public String grid;
+
+  @Param({"Rescue", "Recon"})
+  public String layout;
+
+  private Grid map;
+  private Vector[] tails;
+  private Vector[] tips;
+
+  @Setup
+  public void setup() {
+    this.map = (this.grid.equals("image"))
+        ? Fixtures.ImageGrid(this.layout, Fixtures.IMAGE_DENSITY, Fixtures.SEED)
+        : Fixtures.Grid(this.layout);
+    Random rng = new Random(Fixtures.SEED);
+    this.tails = new Vector[PhysicsBenchmark.RAY_COUNT];
+    this.tips = new Vector[PhysicsBenchmark.RAY_COUNT];
+    for (int i = 0; i < PhysicsBenchmark.RAY_COUNT; i++) {
+      this.tails[i] = rng.getRandomLocation2D(this.map.getWidth(), this.map.getHeight());
+      this.tips[i] = Vector.add(this.tails[i], rng.getRandomSpeed2D(3 * this.map.getZoneSize()));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PhysicsBenchmark.RAY_COUNT)
+  public void getRayTrace(Blackhole bh) {
+    for (int i = 0; i < PhysicsBenchmark.RAY_COUNT; i++) {
+      Optional<Collision> coll = Physics.getRayTrace(this.tails[i], this.tips[i], this.map);
+      bh.consume(coll);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.seat.sim.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.scenario.Scenario;
+
+/** One simulation step of the server, with and without building the snapshot sent to the client. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScenarioBenchmark {
+
+  @Param({"1", "32"})
+  public int droneCount;
+
+  @Param({"Rescue", "Recon"})
+  public String layout;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  @Param({"256", "1024", "4096"})
+  public int victimCount;
+
+  private Map<String, IntentionSet> intentions;
+  private Scenario scenario;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    Grid grid = Fixtures.Grid(this.layout);
+    this.scenario = new Scenario(Fixtures.ScenarioConfig(grid, this.droneCount, this.victimCount), this.parallel);
+    this.intentions = Fixtures.Intentions(this.scenario.getRemoteIDs(), grid, new Random(Fixtures.SEED));
+    this.scenario.update(this.intentions, this.scenario.getStepSize());
+  }
+
+  @Benchmark
+  public Snapshot step() {
+    this.scenario.update(Map.of(), this.scenario.getStepSize());
+    return this.scenario.getSnapshot();
+  }
+
+  @Benchmark
+  public Scenario update() {
+    this.scenario.update(Map.of(), this.scenario.getStepSize());
+    return this.scenario;
+  }
+}
@@ -0,0 +1,70 @@
+package com.seat.sim.bench;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.remote.Remote;
+import com.seat.sim.server.scenario.Scenario;
+import com.seat.sim.server.sensor.Sensor;
+
+/** Computing the subjects of every active sensor in a scenario once, as building a snapshot does. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SensorBenchmark {
+
+  @Param({"1", "32"})
+  public int droneCount;
+
+  @Param({"Rescue", "Recon"})
+  public String layout;
+
+  @Param({"256", "1024", "4096"})
+  public int victimCount;
+
+  private List<Sensor> sensors;
+
+  @Setup
+  public void setup() {
+    Grid grid = Fixtures.Grid(this.layout);
+    Scenario scenario = new Scenario(Fixtures.ScenarioConfig(grid, this.droneCount, this.victimCount));
+    scenario.update(Fixtures.Intentions(scenario.getRemoteIDs(), grid, new Random(Fixtures.SEED)),
+        scenario.getStepSize());
+    scenario.update(Map.of(), scenario.getStepSize());
+    this.sensors = scenario.getActiveRemotes()
+        .stream()
+        .filter(Remote::hasSensors)
+        .flatMap(remote -> remote.getSensorController().getSensors().stream())
+        .filter(Sensor::isActive)
+        .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public void getSubjects(Blackhole bh) {
+    for (Sensor sensor : this.sensors) {
+      // setActive drops the subjects cached for this epoch
+      sensor.setActive();
+      bh.consume(sensor.getSubjects());
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.seat.sim.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.seat.sim.common.json.Json;
+import com.seat.sim.common.json.JsonException;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.net.BinaryCodec;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.scenario.Scenario;
+
+/** Encoding and decoding the snapshot of a scenario in the wire formats the client can negotiate. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+  @Param({"1", "32"})
+  public int droneCount;
+
+  @Param({"256", "1024", "4096"})
+  public int victimCount;
+
+  private byte[] binary;
+  private BinaryCodec codec;
+  private String encoding;
+  private Snapshot snap;
+
+  @Setup
+  public void setup() throws JsonException {
+    Grid grid = Fixtures.Grid(Fixtures.DEFAULT_LAYOUT);
+    Scenario scenario = new Scenario(Fixtures.ScenarioConfig(grid, this.droneCount, this.victimCount));
+    scenario.update(Fixtures.Intentions(scenario.getRemoteIDs(), grid, new Random(Fixtures.SEED)),
+        scenario.getStepSize());
+    scenario.update(Map.of(), scenario.getStepSize());
+    this.snap = scenario.getSnapshot();
+    this.encoding = this.snap.encode();
+    this.codec = new BinaryCodec();
+    this.binary = this.codec.encodeSnapshot(this.snap);
+  }
+
+  @Benchmark
+  public Snapshot decodeBinary() {
+    return this.codec.decodeSnapshot(this.binary);
+  }
+
+  @Benchmark
+  public Snapshot decodeJson() throws JsonException {
+    return new Snapshot(Json.of(this.encoding));
+  }
+
+  @Benchmark
+  public byte[] encodeBinary() {
+    return this.codec.encodeSnapshot(this.snap);
+  }
+
+  @Benchmark
+  public String encodeJson() throws JsonException {
+    return this.snap.encode();
+  }
+
+  @Benchmark
+  public Snapshot roundTripJson() throws JsonException {
+    return new Snapshot(Json.of(this.snap.encode()));
+  }
+}
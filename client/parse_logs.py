@@ -3,10 +3,10 @@ import sys
 import time
 
 
-def add_data(df, scenario, trial, seed, alpha, beta, gamma, turn,
+def add_data(rows, scenario, trial, seed, alpha, beta, gamma, turn,
              drones, victims, intel, adv, accepts, rejects,
              successes, fails, score, heat):
-    data = pd.DataFrame({
+    rows.append({
             "Scenario": scenario,
             "Trial": trial,
             "Seed": seed,
@@ -24,22 +24,16 @@ def add_data(df, scenario, trial, seed, alpha, beta, gamma, turn,
             "Fails": fails,
             "Score": score,
             "Heat": heat
-        }, index=[0])
+        })
 
-    if df.empty:
-        return data
 
-    df = pd.concat([df, data], ignore_index=True)
-    df.reset_index()
-
-    return df
+COLUMNS = ["Scenario", "Trial", "Seed", "Alpha", "Beta", "Gamma", "Turn",
+           "Drones", "Victims", "Intel", "Adv", "Accepts", "Rejects",
+           "Successes", "Fails", "Score", "Heat"]
 
 
 def parse_file(filename, trial_offset=0):
-    df = pd.DataFrame(columns=["Scenario", "Trial", "Seed", "Alpha", "Beta",
-                               "Gamma", "Turn", "Drones", "Victims",
-                               "Intel", "Adv", "Accepts", "Rejects",
-                               "Successes", "Fails", "Score", "Heat"])
+    rows = []
     scenario = filename.strip().split("/")[-1].split("_")[0]
 
     with open(filename) as f:
@@ -56,10 +50,10 @@ def parse_file(filename, trial_offset=0):
 
             if "Seed" in split:
                 if trial > 0:
-                    df = add_data(df, scenario, trial_offset + trial, seed,
-                                  alpha, beta, gamma, turn, drones, victims,
-                                  intel, adv, accepts, rejects,
-                                  successes, fails, score, heat)
+                    add_data(rows, scenario, trial_offset + trial, seed,
+                             alpha, beta, gamma, turn, drones, victims,
+                             intel, adv, accepts, rejects,
+                             successes, fails, score, heat)
 
                 trial += 1
                 seed = int(split[3])
@@ -94,10 +88,10 @@ def parse_file(filename, trial_offset=0):
 
             curr_turn = float(split[1].strip()[:-1])
             if curr_turn > turn:
-                df = add_data(df, scenario, trial_offset + trial, seed,
-                              alpha, beta, gamma, turn, drones, victims,
-                              intel, adv, accepts, rejects,
-                              successes, fails, score, heat)
+                add_data(rows, scenario, trial_offset + trial, seed,
+                         alpha, beta, gamma, turn, drones, victims,
+                         intel, adv, accepts, rejects,
+                         successes, fails, score, heat)
                 turn = curr_turn
 
             if "Drone done" in line:
@@ -128,26 +122,22 @@ def parse_file(filename, trial_offset=0):
             if "Heat" in line:
                 heat = float(line.split(":")[-1].strip())
 
-        df = add_data(df, scenario, trial_offset + trial, seed, alpha, beta,
-                      gamma, turn, drones, victims, intel, adv,
-                      accepts, rejects, successes, fails, score, heat)
+        add_data(rows, scenario, trial_offset + trial, seed, alpha, beta,
+                 gamma, turn, drones, victims, intel, adv,
+                 accepts, rejects, successes, fails, score, heat)
 
-    return (df, trial_offset + trial)
+    return (pd.DataFrame(rows, columns=COLUMNS), trial_offset + trial)
 
 
 def parse_files(targets):
-    df = pd.DataFrame()
+    frames = []
     trial_offset = 0
 
     for filename in targets:
-        if df.empty:
-            df, trial_offset = parse_file(filename, trial_offset)
-        else:
-            data, trial_offset = parse_file(filename, trial_offset)
-            df = pd.concat([df, data], ignore_index=True)
-            df.reset_index()
-
-    return df
+        data, trial_offset = parse_file(filename, trial_offset)
+        frames.append(data)
+
+    return pd.concat(frames, ignore_index=True)
 
 
 def save_data(df, filename=None):
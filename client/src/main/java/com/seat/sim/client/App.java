@@ -2,6 +2,8 @@ package com.seat.sim.client;
 
 import com.seat.sim.client.core.AppClient;
 import com.seat.sim.client.core.ClientException;
+import com.seat.sim.client.core.DroneScenario;
+import com.seat.sim.client.core.SweepRunner;
 import com.seat.sim.client.sandbox.recon.scenarios.ReconASelfish;
 import com.seat.sim.client.sandbox.recon.scenarios.ReconBSelfish;
 import com.seat.sim.client.sandbox.recon.scenarios.ReconCSelfish;
@@ -11,21 +13,41 @@ import com.seat.sim.client.sandbox.recon.scenarios.ReconDHelpful;
 import com.seat.sim.client.sandbox.recon.scenarios.ReconDSelfish;
 import com.seat.sim.client.sandbox.rescue.scenarios.*;
 import com.seat.sim.common.core.Application;
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.gui.FrameExporter;
+import com.seat.sim.common.net.JsonSocket;
+import com.seat.sim.common.net.Transport;
+import com.seat.sim.common.net.TransportRegistry;
+import com.seat.sim.common.net.WireFormat;
 import com.seat.sim.common.util.ArgsParser;
+import com.seat.sim.common.util.Debugger;
 
 public class App {
+  private static final String BINARY_ARG = "--binary";
   private static final String DELAY_ARG = "-d";
+  private static final String DELTA_ARG = "--delta";
   private static final String DISPLAY_ARG = "--display";
+  private static final String EVERY_ARG = "-every";
+  private static final String FRAMES_ARG = "-frames";
   private static final String HEIGHT_ARG = "-height";
   private static final String HOST_ARG = "-h";
   private static final String ID_ARG = "-id";
+  private static final String LOG_ARG = "-log";
   private static final String PORT_ARG = "-p";
   private static final String SEED_ARG = "-seed";
+  private static final String SWEEP_ARG = "--sweep";
   private static final String THREAD_ARG = "-j";
   private static final String WIDTH_ARG = "-width";
+  private static final String WORKERS_ARG = "-workers";
 
-  private static Application getApplication(String scenarioID, ArgsParser args) throws ClientException {
+  /** Returns the application of the ID, for the thread given by -j if any. */
+  public static Application getApplication(String scenarioID, ArgsParser args) throws ClientException {
     int threadID = (args.hasParam(App.THREAD_ARG)) ? args.getInt(App.THREAD_ARG) : 0;
+    return App.getApplication(scenarioID, args, threadID);
+  }
+
+  private static Application getApplication(String scenarioID, ArgsParser args, int threadID)
+      throws ClientException {
     long seed = (args.hasParam(App.SEED_ARG)) ? args.getLong(App.SEED_ARG) : 0;
     try {
       if (scenarioID.equals("ScenarioSize64Probes32BestWalkA")) {
@@ -143,26 +165,73 @@ public class App {
     throw new ClientException(String.format("Unrecognized application ID <%s>", scenarioID));
   }
 
+  private static Transport getBinaryTransport(ArgsParser args) throws CommonException {
+    WireFormat format = (args.hasParam(App.DELTA_ARG)) ? WireFormat.BINARY_DELTA : WireFormat.BINARY;
+    if (args.hasParam(App.HOST_ARG) && args.hasParam(App.PORT_ARG)) {
+      return TransportRegistry.Client(args.getString(App.HOST_ARG), args.getInt(App.PORT_ARG), format);
+    } else if (args.hasParam(App.HOST_ARG)) {
+      return TransportRegistry.Client(args.getString(App.HOST_ARG), format);
+    } else if (args.hasParam(App.PORT_ARG)) {
+      return TransportRegistry.Client(args.getInt(App.PORT_ARG), format);
+    }
+    return TransportRegistry.Client(format);
+  }
+
+  private static int getExportEvery(ArgsParser args) {
+    return (args.hasParam(App.EVERY_ARG)) ? args.getInt(App.EVERY_ARG) : FrameExporter.DEFAULT_EVERY;
+  }
+
+  /** Returns the application of the ID for a sweep worker, which must be a DroneScenario. */
+  public static DroneScenario getSweepScenario(String scenarioID, ArgsParser args, int threadID)
+      throws ClientException {
+    Application app = App.getApplication(scenarioID, args, threadID);
+    if (!(app instanceof DroneScenario)) {
+      throw new ClientException(String.format("Application <%s> cannot be swept", scenarioID));
+    }
+    return (DroneScenario) app;
+  }
+
+  private static Transport getTransport(ArgsParser args) throws CommonException {
+    if (args.hasParam(App.BINARY_ARG) || args.hasParam(App.DELTA_ARG)) {
+      return App.getBinaryTransport(args);
+    } else if (args.hasParam(App.HOST_ARG) && args.hasParam(App.PORT_ARG)) {
+      return JsonSocket.Client(args.getString(App.HOST_ARG), args.getInt(App.PORT_ARG));
+    } else if (args.hasParam(App.HOST_ARG)) {
+      return JsonSocket.Client(args.getString(App.HOST_ARG));
+    } else if (args.hasParam(App.PORT_ARG)) {
+      return JsonSocket.Client(args.getInt(App.PORT_ARG));
+    }
+    return JsonSocket.Client();
+  }
+
   public static void main(String[] args) {
     ArgsParser parser = new ArgsParser(args);
+    if (parser.hasParam(App.LOG_ARG)) {
+      Debugger.logger.setLevel(Debugger.Level.Parse(parser.getString(App.LOG_ARG)));
+    }
     if (!parser.hasParam(App.ID_ARG)) {
       throw new ClientException("No application ID has been provided");
     }
     String scenarioID = parser.getString(App.ID_ARG);
-    Application app = App.getApplication(scenarioID, parser);
-    AppClient client;
-    if (parser.hasParam(App.HOST_ARG) && parser.hasParam(App.PORT_ARG)) {
-      client = new AppClient(app, parser.getString(App.HOST_ARG), parser.getInt(App.PORT_ARG));
-    } else if (parser.hasParam(App.HOST_ARG)) {
-      client = new AppClient(app, parser.getString(App.HOST_ARG));
-    } else if (parser.hasParam(App.PORT_ARG)) {
-      client = new AppClient(app, parser.getInt(App.PORT_ARG));
-    } else {
-      client = new AppClient(app);
+    if (parser.hasParam(App.SWEEP_ARG)) {
+      int workers = (parser.hasParam(App.WORKERS_ARG)) ?
+        parser.getInt(App.WORKERS_ARG):
+        Runtime.getRuntime().availableProcessors();
+      new SweepRunner(
+          threadID -> App.getSweepScenario(scenarioID, parser, threadID),
+          () -> App.getTransport(parser),
+          workers
+        ).run();
+      return;
     }
+    Application app = App.getApplication(scenarioID, parser);
+    AppClient client = new AppClient(app, App.getTransport(parser));
     if (parser.hasParam(App.WIDTH_ARG) && parser.hasParam(App.HEIGHT_ARG)) {
       client.setPanelDims(parser.getInt(App.WIDTH_ARG), parser.getInt(App.HEIGHT_ARG));
     }
+    if (parser.hasParam(App.FRAMES_ARG)) {
+      client.setFrameExport(parser.getString(App.FRAMES_ARG), App.getExportEvery(parser));
+    }
     if (parser.hasParam(App.DELAY_ARG)) {
       client.run(parser.hasParam(App.DISPLAY_ARG), parser.getDouble(App.DELAY_ARG));
     } else {
@@ -2,11 +2,14 @@ package com.seat.sim.client.core;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Optional;
 
 import com.seat.sim.common.core.Application;
 import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.gui.FrameExporter;
 import com.seat.sim.common.gui.GUIGridFrame;
 import com.seat.sim.common.net.JsonSocket;
+import com.seat.sim.common.net.Transport;
 import com.seat.sim.common.remote.intent.IntentionSet;
 import com.seat.sim.common.scenario.Snapshot;
 import com.seat.sim.common.util.Debugger;
@@ -17,32 +20,45 @@ public class AppClient {
   private final static boolean DEFAULT_DISPLAY = false;
 
   private Application app;
+  private int exportEvery;
+  private Optional<String> exportPrefix = Optional.empty();
   private GUIGridFrame frame;
   private long frameTime;
   private int numFrames;
   private int panelHeight;
   private int panelWidth;
-  private JsonSocket socket;
   private long totalTimeBetweenFrames;
+  private Transport transport;
 
   public AppClient(Application app) throws CommonException {
     this.app = app;
-    this.socket = JsonSocket.Client();
+    this.transport = JsonSocket.Client();
   }
 
   public AppClient(Application app, String hostname) throws CommonException {
     this.app = app;
-    this.socket = JsonSocket.Client(hostname);
+    this.transport = JsonSocket.Client(hostname);
   }
 
   public AppClient(Application app, int port) throws CommonException {
     this.app = app;
-    this.socket = JsonSocket.Client(port);
+    this.transport = JsonSocket.Client(port);
   }
 
   public AppClient(Application app, String hostname, int port) throws CommonException {
     this.app = app;
-    this.socket = JsonSocket.Client(hostname, port);
+    this.transport = JsonSocket.Client(hostname, port);
+  }
+
+  public AppClient(Application app, Transport transport) {
+    this.app = app;
+    this.transport = transport;
+  }
+
+  /** Exports every nth snapshot of each trial as <prefix>_<trial>_<frame>.png, with or without a display. */
+  public void setFrameExport(String prefix, int every) {
+    this.exportPrefix = Optional.of(prefix);
+    this.exportEvery = every;
   }
 
   public void setPanelDims(int width, int height) {
@@ -73,10 +89,10 @@ public class AppClient {
         this.app.reset();
       }
       Debugger.logger.info(String.format("Sending scenario <%s> ...", app.getScenarioID()));
-      this.socket.sendScenarioConfig(this.app.getScenarioConfig());
+      this.transport.sendScenarioConfig(this.app.getScenarioConfig());
       Debugger.logger.state(String.format("Scenario <%s> sent", app.getScenarioID()));
 
-      Debugger.logger.info(this.app.getScenarioConfig().toString());
+      Debugger.logger.info(() -> this.app.getScenarioConfig().toString());
 
       if (visualDisplay && this.app.hasGrid()) {
         Debugger.logger.info("Starting visual display ...");
@@ -94,54 +110,67 @@ public class AppClient {
         this.totalTimeBetweenFrames = 0;
       }
 
-      while (true) {
-        Debugger.logger.info("Waiting for snap ...");
-        Snapshot snap = this.socket.getSnapshotBlocking();
-        Debugger.logger.state(String.format("Received snap <%s> for time=%.2f", snap.getHash(),
-          snap.getTime()));
+      FrameExporter exporter = (this.exportPrefix.isPresent() && this.app.hasGrid()) ?
+        new FrameExporter(String.format("%s_%d", this.exportPrefix.get(), t), this.app.getGrid().get(),
+            this.exportEvery) :
+        null;
+
+      try (exporter) {
+        while (true) {
+          Debugger.logger.info("Waiting for snap ...");
+          Snapshot snap = this.transport.getSnapshotBlocking();
+          Debugger.logger.info(() -> String.format("Received snap <%s> for time=%.2f", snap.getHash(),
+            snap.getTime()));
+
+          if (snap.hasError()) {
+            Debugger.logger.err(String.format("Snap <%s> contains error(s)", snap.getHash()));
+            throw new ClientException(snap.toString());
+          }
 
-        if (snap.hasError()) {
-          Debugger.logger.err(String.format("Snap <%s> contains error(s)", snap.getHash()));
-          throw new ClientException(snap.toString());
-        }
+          if (visualDisplay && this.frame != null && this.app.hasGrid()) {
+            Debugger.logger.info(() -> String.format("Displaying snap <%s> ...", snap.getHash()));
+            this.frame.displaySnap(snap);
+          }
+          if (exporter != null) {
+            exporter.export(snap);
+          }
 
-        if (visualDisplay && this.frame != null && this.app.hasGrid()) {
-          Debugger.logger.info(String.format("Displaying snap <%s> ...", snap.getHash()));
-          this.frame.displaySnap(snap);
-        }
+          Debugger.logger.info("Updating application ...");
+          Collection<IntentionSet> intentions = this.app.update(snap);
 
-        Debugger.logger.info("Updating application ...");
-        Collection<IntentionSet> intentions = this.app.update(snap);
+          if (snap.isDone()) {
+            break;
+          }
 
-        if (snap.isDone()) {
-          break;
-        }
+          Debugger.logger.info("Sending intention(s) ...");
+          this.transport.sendIntentions(intentions);
+          Debugger.logger.info("Intention(s) sent");
 
-        Debugger.logger.info("Sending intention(s) ...");
-        this.socket.sendIntentions(intentions);
-        Debugger.logger.state("Intention(s) sent");
+          if (!visualDisplay || this.frame == null || !this.app.hasGrid() || delay == 0) {
+            continue;
+          }
 
-        if (!visualDisplay || this.frame == null || !this.app.hasGrid() || delay == 0) {
-          continue;
-        }
+          try {
+            long prevFrameTime = this.frameTime;
+            this.frameTime = System.currentTimeMillis();
+            long waitTime = (long) (delay * 1000) - (frameTime - prevFrameTime);
 
-        try {
-          long prevFrameTime = this.frameTime;
-          this.frameTime = System.currentTimeMillis();
-          long waitTime = (long) (delay * 1000) - (frameTime - prevFrameTime);
-
-          this.numFrames++;
-          this.totalTimeBetweenFrames += frameTime - prevFrameTime;
-          double avgFrameTime = (double) this.totalTimeBetweenFrames / this.numFrames;
-          waitTime = (long) ((delay * 1000) + (avgFrameTime - (frameTime - prevFrameTime)));
-
-          if (waitTime < 0) continue;
-          Thread.sleep(waitTime);
-        } catch (InterruptedException e) {
-          Debugger.logger.err(e.toString());
+            this.numFrames++;
+            this.totalTimeBetweenFrames += frameTime - prevFrameTime;
+            double avgFrameTime = (double) this.totalTimeBetweenFrames / this.numFrames;
+            waitTime = (long) ((delay * 1000) + (avgFrameTime - (frameTime - prevFrameTime)));
+
+            if (waitTime < 0) continue;
+            Thread.sleep(waitTime);
+          } catch (InterruptedException e) {
+            Debugger.logger.err(e.toString());
+          }
         }
       }
 
+      if (exporter != null) {
+        Debugger.logger.state(String.format("Exported %d frame(s) of trial %d", exporter.getFrameCount(), t));
+      }
       Debugger.logger.state(String.format("Scenario <%s> done", app.getScenarioID()));
 
       if (visualDisplay) {
@@ -153,6 +182,6 @@ public class AppClient {
     }
 
     this.app.close();
-    socket.close();
+    this.transport.close();
   }
 }
@@ -4,6 +4,8 @@ import java.util.Optional;
 
 import com.seat.sim.client.negotiation.Contract;
 import com.seat.sim.client.sandbox.rescue.remote.RemoteManager;
+import com.seat.sim.client.sandbox.rescue.util.Experiment;
+import com.seat.sim.client.sandbox.rescue.util.ScenarioEvents;
 import com.seat.sim.common.core.Application;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.math.Zone;
@@ -25,6 +27,10 @@ public interface DroneScenario extends Application {
 
   public String getDroneTag();
 
+  public ScenarioEvents getEvents();
+
+  public Experiment getExperiment();
+
   public Vector getGridCenter();
 
   public RemoteManager getManager();
@@ -35,6 +41,8 @@ public interface DroneScenario extends Application {
 
   public Random getRng();
 
+  public double getScore();
+
   public boolean hasNegotiations();
 
   public Optional<Contract> negotiate(Snapshot snap, RemoteState state, String senderID, String receiverID);
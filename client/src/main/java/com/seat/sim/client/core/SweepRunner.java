@@ -0,0 +1,100 @@
+package com.seat.sim.client.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import com.seat.sim.client.sandbox.rescue.util.Experiment;
+import com.seat.sim.client.sandbox.rescue.util.SweepPoint;
+import com.seat.sim.client.sandbox.rescue.util.SweepStats;
+import com.seat.sim.common.net.Transport;
+import com.seat.sim.common.util.Debugger;
+
+/**
+ * Runs every trial of an experiment sweep on a work-stealing pool inside one JVM. Each trial gets its own
+ * scenario instance pinned to its (alpha, beta, gamma, seed) point and is run by the trial runner, which by
+ * default connects it to a server over its own transport, so the server must accept concurrent sessions.
+ * Scores are gathered by point as trials finish.
+ */
+public class SweepRunner {
+
+  private Consumer<DroneScenario> runner;
+  private IntFunction<DroneScenario> scenarios;
+  private int workers;
+
+  /**
+   * The scenario factory receives a 1-based thread ID that is unique to the trial, so that each instance logs
+   * to its own file.
+   */
+  public SweepRunner(IntFunction<DroneScenario> scenarios, Supplier<Transport> transports, int workers) {
+    this(scenarios, workers, scenario -> new AppClient(scenario, transports.get()).run());
+  }
+
+  /** The runner plays one trial of the scenario to the end, e.g. a HeadlessRunner with no server at all. */
+  public SweepRunner(IntFunction<DroneScenario> scenarios, int workers, Consumer<DroneScenario> runner) {
+    this.scenarios = scenarios;
+    this.runner = runner;
+    this.workers = Math.max(workers, 1);
+  }
+
+  private void runTrial(DroneScenario scenario, int trial, SweepStats stats) {
+    scenario.getExperiment().setTrial(trial);
+    this.runner.accept(scenario);
+    stats.add(scenario.getScore());
+    Debugger.logger.state(String.format("Trial <%d> of <%s> done with score %.4f", trial, scenario.getScenarioID(),
+        scenario.getScore()));
+  }
+
+  public Map<SweepPoint, SweepStats> run() throws ClientException {
+    DroneScenario probe = this.scenarios.apply(1);
+    Experiment exp = probe.getExperiment();
+    int trialCount = exp.getTrialCount();
+    List<SweepPoint> points = new ArrayList<>(trialCount);
+    Map<SweepPoint, SweepStats> results = new LinkedHashMap<>();
+    for (int t = 0; t < trialCount; t++) {
+      SweepPoint point = exp.getPoint(t);
+      points.add(point);
+      results.putIfAbsent(point, new SweepStats());
+    }
+    Debugger.logger.info(String.format("Sweeping %d trial(s) over %d point(s) with %d worker(s) ...", trialCount,
+        results.size(), this.workers));
+
+    ExecutorService pool = Executors.newWorkStealingPool(this.workers);
+    List<Future<?>> trials = new ArrayList<>(trialCount);
+    for (int t = 0; t < trialCount; t++) {
+      int trial = t;
+      SweepStats stats = results.get(points.get(trial));
+      trials.add(pool.submit(() -> {
+        DroneScenario scenario = (trial == 0) ? probe : this.scenarios.apply(trial + 1);
+        this.runTrial(scenario, trial, stats);
+      }));
+    }
+    try {
+      for (Future<?> trial : trials) {
+        trial.get();
+      }
+    } catch (ExecutionException e) {
+      pool.shutdownNow();
+      throw new ClientException(e.getCause().getMessage());
+    } catch (InterruptedException e) {
+      pool.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new ClientException(e.getMessage());
+    }
+    pool.shutdown();
+
+    for (Map.Entry<SweepPoint, SweepStats> entry : results.entrySet()) {
+      Debugger.logger.state(String.format("%s :: %s", entry.getKey(), entry.getValue()));
+    }
+    return Collections.unmodifiableMap(results);
+  }
+}
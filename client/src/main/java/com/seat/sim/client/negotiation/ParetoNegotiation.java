@@ -65,35 +65,37 @@ public class ParetoNegotiation extends DynamicNegotiation {
     Collections.sort(this.getProposals(remoteID));
   }
 
+  /**
+   * Samples each label's reward and success likelihood so that they are at least those of every proper, non-empty
+   * subset of the label. The running max over subsets is kept per label and folded in one bit at a time, which
+   * visits O(n log n) labels instead of all pairs.
+   */
   private void ensureProviderProposals(String providerID) {
     int n = (int) Math.pow(this.pCount, 2);
 
     double[] util = new double[n];
     double[] succ = new double[n];
+    double[] subsetUtil = new double[n];
+    double[] subsetSucc = new double[n];
+    subsetUtil[0] = Double.NEGATIVE_INFINITY;
+    subsetSucc[0] = Double.NEGATIVE_INFINITY;
 
     for (int i = 1; i < n; i++) {
-      double minUtil = this.reward.getStart();
-      double minSucc = this.pSuccess.getStart();
-      for (int j = 1; j < n; j++) {
-        if (i == j || (j & i) != j) {
-          continue;
-        }
-        minUtil = Math.max(minUtil, util[j]);
-        minSucc = Math.max(minSucc, succ[j]);
+      double lowerUtil = Double.NEGATIVE_INFINITY;
+      double lowerSucc = Double.NEGATIVE_INFINITY;
+      for (int bits = i; bits != 0; bits &= bits - 1) {
+        int j = i ^ Integer.lowestOneBit(bits);
+        lowerUtil = Math.max(lowerUtil, subsetUtil[j]);
+        lowerSucc = Math.max(lowerSucc, subsetSucc[j]);
       }
 
-      double maxUtil = this.reward.getEnd();
-      double maxSucc = this.pSuccess.getEnd();
-      for (int j = 1; j < i; j++) {
-        if ((i & j) != i) {
-          continue;
-        }
-        maxUtil = Math.min(maxUtil, util[j]);
-        maxSucc = Math.min(maxSucc, succ[j]);
-      }
+      double minUtil = Math.max(this.reward.getStart(), lowerUtil);
+      double minSucc = Math.max(this.pSuccess.getStart(), lowerSucc);
 
-      util[i] = Range.Inclusive(minUtil, maxUtil, this.reward.getStep()).sample(this.rng);
-      succ[i] = Range.Inclusive(minSucc, maxSucc, this.pSuccess.getStep()).sample(this.rng);
+      util[i] = Range.Inclusive(minUtil, this.reward.getEnd(), this.reward.getStep()).sample(this.rng);
+      succ[i] = Range.Inclusive(minSucc, this.pSuccess.getEnd(), this.pSuccess.getStep()).sample(this.rng);
+      subsetUtil[i] = Math.max(lowerUtil, util[i]);
+      subsetSucc[i] = Math.max(lowerSucc, succ[i]);
     }
 
     double minUtil = 1.;
@@ -111,35 +113,42 @@ public class ParetoNegotiation extends DynamicNegotiation {
     }
   }
 
+  /**
+   * Samples each label's reward and success likelihood so that they are at most those of every proper, non-empty
+   * subset of the label, using the same running bound as ensureProviderProposals() with min in place of max.
+   * Supersets are sampled after the label, so their slots are still zero when it is sampled and only raise the
+   * lower bound to 0 when some superset label exists.
+   */
   private void ensureRequesterProposals(String requesterID) {
     int n = (int) Math.pow(this.pCount, 2);
 
     double[] util = new double[n];
     double[] succ = new double[n];
+    double[] subsetUtil = new double[n];
+    double[] subsetSucc = new double[n];
+    subsetUtil[0] = Double.POSITIVE_INFINITY;
+    subsetSucc[0] = Double.POSITIVE_INFINITY;
 
     for (int i = 1; i < n; i++) {
-      double minUtil = this.reward.getStart();
-      double minSucc = this.pSuccess.getStart();
-      for (int j = 1; j < n; j++) {
-        if (i == j || (j & i) != i) {
-          continue;
-        }
-        minUtil = Math.max(minUtil, util[j]);
-        minSucc = Math.max(minSucc, succ[j]);
+      boolean hasSuperset = (i | (i + 1)) < n;
+      double minUtil = (hasSuperset) ? Math.max(this.reward.getStart(), 0.) : this.reward.getStart();
+      double minSucc = (hasSuperset) ? Math.max(this.pSuccess.getStart(), 0.) : this.pSuccess.getStart();
+
+      double upperUtil = Double.POSITIVE_INFINITY;
+      double upperSucc = Double.POSITIVE_INFINITY;
+      for (int bits = i; bits != 0; bits &= bits - 1) {
+        int j = i ^ Integer.lowestOneBit(bits);
+        upperUtil = Math.min(upperUtil, subsetUtil[j]);
+        upperSucc = Math.min(upperSucc, subsetSucc[j]);
       }
 
-      double maxUtil = this.reward.getEnd();
-      double maxSucc = this.pSuccess.getEnd();
-      for (int j = 1; j < i; j++) {
-        if ((i & j) != j) {
-          continue;
-        }
-        maxUtil = Math.min(maxUtil, util[j]);
-        maxSucc = Math.min(maxSucc, succ[j]);
-      }
+      double maxUtil = Math.min(this.reward.getEnd(), upperUtil);
+      double maxSucc = Math.min(this.pSuccess.getEnd(), upperSucc);
 
       util[i] = Range.Inclusive(minUtil, maxUtil, this.reward.getStep()).sample(this.rng);
       succ[i] = Range.Inclusive(minSucc, maxSucc, this.pSuccess.getStep()).sample(this.rng);
+      subsetUtil[i] = Math.min(upperUtil, util[i]);
+      subsetSucc[i] = Math.min(upperSucc, succ[i]);
     }
 
     double maxUtil = 1.;
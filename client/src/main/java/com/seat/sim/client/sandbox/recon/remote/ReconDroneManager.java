@@ -2,7 +2,6 @@ package com.seat.sim.client.sandbox.recon.remote;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -15,12 +14,14 @@ import java.util.stream.Collectors;
 import com.seat.sim.client.core.DroneManager;
 import com.seat.sim.client.core.DroneScenario;
 import com.seat.sim.client.negotiation.Contract;
+import com.seat.sim.client.sandbox.rescue.util.ScenarioEvents;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.math.Zone;
 import com.seat.sim.common.remote.RemoteState;
 import com.seat.sim.common.remote.intent.IntentRegistry;
 import com.seat.sim.common.remote.intent.IntentionSet;
 import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.EventLog;
 
 public class ReconDroneManager implements DroneManager {
 
@@ -54,6 +55,37 @@ public class ReconDroneManager implements DroneManager {
       .collect(Collectors.toSet());
   }
 
+  /** Reports the drone's state to the scenario log and its event log under the same label. */
+  private void reportState(Snapshot snap, RemoteState drone, String label) {
+    this.scenario.report(
+        snap.getTime(),
+        ":: %s :: [%.0f, %.0f, %.0f] :: %s",
+        drone.getRemoteID(),
+        drone.getLocation().getX(),
+        drone.getLocation().getY(),
+        drone.getLocation().getZ(),
+        label
+      );
+    this.scenario.getEvents().state(snap.getTime(), drone.getRemoteID(), label);
+  }
+
+  /** Reports the drone's state along with the location it is headed to. */
+  private void reportState(Snapshot snap, RemoteState drone, Vector target, String label) {
+    this.scenario.report(
+        snap.getTime(),
+        ":: %s :: [%.0f, %.0f, %.0f] :: [%.0f, %.0f, %.0f] :: %s",
+        drone.getRemoteID(),
+        drone.getLocation().getX(),
+        drone.getLocation().getY(),
+        drone.getLocation().getZ(),
+        target.getX(),
+        target.getY(),
+        target.getZ(),
+        label
+      );
+    this.scenario.getEvents().state(snap.getTime(), drone.getRemoteID(), label);
+  }
+
   public void addContract(String droneID, Contract contract) {
     if (!this.contracts.containsKey(droneID)) {
       this.contracts.put(droneID, new LinkedList<>());
@@ -151,11 +183,7 @@ public class ReconDroneManager implements DroneManager {
   public Collection<IntentionSet> update(Snapshot snap) {
     return this.update(
         snap,
-        snap
-          .getActiveRemoteStates()
-          .stream()
-          .filter(state -> state.hasTag(ReconScenario.DRONE_TAG))
-          .collect(Collectors.toList())
+        snap.getActiveRemoteStatesWithTag(ReconScenario.DRONE_TAG)
       );
   }
 
@@ -165,30 +193,19 @@ public class ReconDroneManager implements DroneManager {
     }
     Set<String> surveyedIntel = new HashSet<>();
     return snap
-      .getActiveRemoteStates()
+      .getActiveRemoteStatesWithTag(ReconScenario.DRONE_TAG)
       .stream()
-      .filter(state -> state.hasTag(ReconScenario.DRONE_TAG))
       .map(drone -> {
           this.drones.add(drone.getRemoteID());
           IntentionSet intent = new IntentionSet(drone.getRemoteID());
           if (this.isDone(drone.getRemoteID())) {
             if (drone.getLocation().near(ReconScenario.GRID_CENTER)) {
               intent.addIntention(IntentRegistry.Done());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Drone done",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.DRONE_DONE);
               return intent;
             }
             intent.addIntention(IntentRegistry.GoHome());
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: Drone going home",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, ScenarioEvents.DRONE_GOING_HOME);
             return intent;
           }
           if (ReconRemoteUtil.shouldReturnHome(
@@ -203,12 +220,7 @@ public class ReconDroneManager implements DroneManager {
             if (this.hasAssignment(drone.getRemoteID())) {
               this.removeAssignment(drone.getRemoteID());
             }
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: Drone returning home",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, ScenarioEvents.DRONE_RETURNING_HOME);
             return intent;
           }
           if (this.hasContracts(drone.getRemoteID())) {
@@ -221,33 +233,18 @@ public class ReconDroneManager implements DroneManager {
             if (this.hasAssignment(drone.getRemoteID())) {
               this.removeAssignment(drone.getRemoteID());
             }
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: Drone destroyed",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, ScenarioEvents.DRONE_DESTROYED);
             return intent;
           }
           if (this.isOnCooldown(drone.getRemoteID())) {
             this.setCooldown(drone.getRemoteID(), this.getCooldown(drone.getRemoteID()) - 1);
             if (this.getCooldown(drone.getRemoteID()) > 0) {
               intent.addIntention(IntentRegistry.Stop());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Performing task",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.PERFORMING_TASK);
               return intent;
             } else {
               intent.addIntention(IntentRegistry.ActivateAllSensors());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Completes task",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.COMPLETES_TASK);
               if (this.hasAssignment(drone.getRemoteID()) &&
                     drone.getLocation().near(this.getAssignment(drone.getRemoteID()).get().getLocation())) {
                 this.removeAssignment(drone.getRemoteID());
@@ -290,37 +287,31 @@ public class ReconDroneManager implements DroneManager {
                   ((IntelManager) this.scenario.getManager().getAssetManager()).isHidden(snap, state)) {
                 continue;
               }
+              int adv = ((IntelManager) this.scenario.getManager().getAssetManager()).getAdvAssignment(intelID);
               this.scenario.report(
                   snap.getTime(),
-                  ":: %s :: %s :: %s :: %d :: Detected intel",
+                  ":: %s :: [%.0f, %.0f, %.0f] :: %s :: %d :: Detected intel",
                   drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f"),
+                  drone.getLocation().getX(),
+                  drone.getLocation().getY(),
+                  drone.getLocation().getZ(),
                   intelID,
-                  ((IntelManager) this.scenario.getManager().getAssetManager()).getAdvAssignment(intelID)
+                  adv
                 );
+              this.scenario.getEvents().detection(snap.getTime(), drone.getRemoteID(), intelID, adv);
               this.detectedIntel.add(intelID);
             }
             sensorDetections.removeAll(surveyedIntel);
             if (this.scenario.hasNegotiations() && !sensorDetections.isEmpty()) {
               for (String intelID : sensorDetections) {
-                List<RemoteState> otherDrones = snap
-                    .getActiveRemoteStates()
-                    .stream()
-                    .filter(state -> state.hasTag(ReconScenario.DRONE_TAG))
-                    .filter(state -> !drone.equals(state))
-                    .filter(state -> !this.hasContracts(state.getRemoteID()))
-                    .collect(Collectors.toList());
-                Collections.sort(otherDrones, new Comparator<RemoteState>() {
-                  @Override
-                  public int compare(RemoteState a, RemoteState b) {
-                    return Double.compare(
-                        Vector.dist(drone.getLocation(), a.getLocation()),
-                        Vector.dist(drone.getLocation(), b.getLocation())
-                      );
-                  }
-                });
-                StringBuilder receiverID = new StringBuilder(drone.getRemoteID());
                 int adv = ((IntelManager) this.scenario.getManager().getAssetManager()).getAdvAssignment(intelID);
+                List<RemoteState> otherDrones = snap.getNearestActiveRemoteStatesWithTag(
+                    ReconScenario.DRONE_TAG,
+                    drone.getLocation(),
+                    adv,
+                    state -> !drone.equals(state) && !this.hasContracts(state.getRemoteID())
+                  );
+                StringBuilder receiverID = new StringBuilder(drone.getRemoteID());
                 if (otherDrones.size() < adv) continue;
                 for (int i = 0; i < adv; i++) {
                   receiverID.append("::");
@@ -335,11 +326,15 @@ public class ReconDroneManager implements DroneManager {
                 if (contract.isPresent()) {
                   this.scenario.report(
                     snap.getTime(),
-                    ":: %s :: %s :: %s :: Accepted task",
+                    ":: %s :: [%.0f, %.0f, %.0f] :: %s :: Accepted task",
                     drone.getRemoteID(),
-                    drone.getLocation().toString("%.0f"),
+                    drone.getLocation().getX(),
+                    drone.getLocation().getY(),
+                    drone.getLocation().getZ(),
                     intelID
                   );
+                  this.scenario.getEvents().contract(snap.getTime(), EventLog.Type.ACCEPT,
+                      drone.getRemoteID(), intelID);
                   surveyedIntel.add(intelID);
                   this.scenario.setDone(intelID, false);
                   for (int i = 0; i < adv; i++) {
@@ -349,22 +344,21 @@ public class ReconDroneManager implements DroneManager {
                 } else {
                   this.scenario.report(
                     snap.getTime(),
-                    ":: %s :: %s :: %s :: Rejected task",
+                    ":: %s :: [%.0f, %.0f, %.0f] :: %s :: Rejected task",
                     drone.getRemoteID(),
-                    drone.getLocation().toString("%.0f"),
+                    drone.getLocation().getX(),
+                    drone.getLocation().getY(),
+                    drone.getLocation().getZ(),
                     intelID
                   );
+                  this.scenario.getEvents().contract(snap.getTime(), EventLog.Type.REJECT,
+                      drone.getRemoteID(), intelID);
                 }
               }
               if (this.hasContracts(drone.getRemoteID())) {
                 intent.addIntention(IntentRegistry.Stop());
                 intent.addIntention(IntentRegistry.DeactivateAllSensors());
-                this.scenario.report(
-                    snap.getTime(),
-                    ":: %s :: %s :: Initiating task",
-                    drone.getRemoteID(),
-                    drone.getLocation().toString("%.0f")
-                  );
+                this.reportState(snap, drone, ScenarioEvents.INITIATING_TASK);
                 return intent;
               }
             } else if (this.getCooldownTime() > 0 && !sensorDetections.isEmpty()) {
@@ -372,42 +366,21 @@ public class ReconDroneManager implements DroneManager {
               intent.addIntention(IntentRegistry.Stop());
               intent.addIntention(IntentRegistry.DeactivateAllSensors());
               surveyedIntel.addAll(sensorDetections);
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Initiating task",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.INITIATING_TASK);
               return intent;
             }
             this.removeAssignment(drone.getRemoteID());
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: Completes assignment",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, ScenarioEvents.COMPLETES_ASSIGNMENT);
           }
           if (!this.hasAssignment(drone.getRemoteID())) {
             Optional<Zone> task = this.scenario.nextTask(snap, drone);
             if (task.isEmpty()) {
               intent.addIntention(IntentRegistry.Stop());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Drone on standby",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.DRONE_ON_STANDBY);
               return intent;
             }
             this.setAssignment(drone.getRemoteID(), task.get());
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: %s :: Drone assigned",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f"),
-                task.get().getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, task.get().getLocation(), ScenarioEvents.DRONE_ASSIGNED);
           }
           intent.addIntention(
               IntentRegistry.GoTo(
@@ -416,12 +389,7 @@ public class ReconDroneManager implements DroneManager {
                 ReconScenario.DRONE_SCAN_ACCELERATION
               )
             );
-          this.scenario.report(
-              snap.getTime(),
-              ":: %s :: %s :: Drone exploring",
-              drone.getRemoteID(),
-              drone.getLocation().toString("%.0f")
-            );
+          this.reportState(snap, drone, ScenarioEvents.DRONE_EXPLORING);
           return intent;
         })
       .toList();
@@ -20,6 +20,7 @@ import com.seat.sim.client.negotiation.NegotiationManager;
 import com.seat.sim.client.negotiation.Proposal;
 import com.seat.sim.client.sandbox.rescue.remote.RemoteManager;
 import com.seat.sim.client.sandbox.rescue.util.Experiment;
+import com.seat.sim.client.sandbox.rescue.util.ScenarioEvents;
 import com.seat.sim.client.sandbox.rescue.util.TaskManager;
 import com.seat.sim.common.gui.TeamColor;
 import com.seat.sim.common.math.Grid;
@@ -36,6 +37,8 @@ import com.seat.sim.common.scenario.Snapshot;
 import com.seat.sim.common.sensor.SensorConfig;
 import com.seat.sim.common.sensor.SensorProto;
 import com.seat.sim.common.sensor.SensorStats;
+import com.seat.sim.common.util.Debugger;
+import com.seat.sim.common.util.EventLog;
 import com.seat.sim.common.util.Logger;
 import com.seat.sim.common.util.Random;
 import com.seat.sim.common.util.Range;
@@ -95,6 +98,7 @@ public abstract class ReconScenario implements DroneScenario {
   public static final double SENSOR_A_BATT_USAGE = 0.00001;
   public static final double SENSOR_A_RANGE = 90.;
 
+  private ScenarioEvents events;
   private Grid grid;
   private Logger logger;
   private String scenarioID;
@@ -159,7 +163,9 @@ public abstract class ReconScenario implements DroneScenario {
       int points, Range popupTime, int cooldown, Range alpha, Range beta, Range gamma, int trialsPer,
       int threadID, int threadCount, long seed, String seedFile) throws IOException {
     this.scenarioID = scenarioID;
-    this.logger = (threadID > 0) ? new Logger(String.format("%s_%d", scenarioID, threadID)) : new Logger(scenarioID);
+    String logID = (threadID > 0) ? String.format("%s_%d", scenarioID, threadID) : scenarioID;
+    this.logger = new Logger(logID);
+    this.events = new ScenarioEvents(new EventLog(logID));
     this.grid = new Grid(
         ReconScenario.GRID_SIZE,
         ReconScenario.GRID_SIZE,
@@ -362,13 +368,14 @@ public abstract class ReconScenario implements DroneScenario {
   }
 
   protected void reportScore(double simTime) {
-    this.logger.log(simTime, String.format("Score: %.4f", this.getScore()));
+    this.logger.log(simTime, "Score: %.4f", this.getScore());
+    this.events.score(simTime, this.getScore());
   }
 
   protected void reportTrial() {
-    this.logger.log(-1.,
-        String.format("Seed %d - ALPHA %.3f - BETA %.3f - GAMMA %.3f", this.exp.getSeed(), this.exp.getAlpha(),
-            this.exp.getBeta(), this.exp.getGamma()));
+    this.logger.log(-1., "Seed %d - ALPHA %.3f - BETA %.3f - GAMMA %.3f", this.exp.getSeed(), this.exp.getAlpha(),
+        this.exp.getBeta(), this.exp.getGamma());
+    this.events.trial(this.exp.getSeed(), this.exp.getAlpha(), this.exp.getBeta(), this.exp.getGamma());
   }
 
   public void addTask(Zone task) {
@@ -386,6 +393,12 @@ public abstract class ReconScenario implements DroneScenario {
     if (this.hasNegotiations()) {
       this.negotiations.get().close();
     }
+    try {
+      this.logger.close();
+    } catch (IOException e) {
+      Debugger.logger.err(e.getMessage());
+    }
+    this.events.close();
   }
 
   public double getAlpha() {
@@ -416,6 +429,14 @@ public abstract class ReconScenario implements DroneScenario {
     return ReconScenario.DRONE_TAG;
   }
 
+  public ScenarioEvents getEvents() {
+    return this.events;
+  }
+
+  public Experiment getExperiment() {
+    return this.exp;
+  }
+
   public double getGamma() {
     return this.exp.getGamma();
   }
@@ -553,7 +574,7 @@ public abstract class ReconScenario implements DroneScenario {
 
   public void report(double simTime, String fmt, Object... args) {
     if (args != null && args.length > 0) {
-      this.logger.log(simTime, String.format(fmt, args));
+      this.logger.log(simTime, fmt, args);
     } else {
       this.logger.log(simTime, fmt);
     }
@@ -593,6 +614,7 @@ public abstract class ReconScenario implements DroneScenario {
           contract.getSenderID(),
           contract.getReceiverID()
         );
+      this.events.contract(snap.getTime(), EventLog.Type.FAIL, contract.getSenderID(), contract.getReceiverID());
       return false;
     }
     String intelID = (this.getManager().getAssetManager().isDone(contract.getSenderID()))
@@ -607,6 +629,7 @@ public abstract class ReconScenario implements DroneScenario {
         contract.getSenderID(),
         contract.getReceiverID()
       );
+    this.events.contract(snap.getTime(), EventLog.Type.SUCCESS, contract.getSenderID(), contract.getReceiverID());
     return true;
   }
 
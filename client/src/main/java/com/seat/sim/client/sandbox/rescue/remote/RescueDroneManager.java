@@ -14,12 +14,14 @@ import java.util.stream.Collectors;
 import com.seat.sim.client.core.DroneManager;
 import com.seat.sim.client.core.DroneScenario;
 import com.seat.sim.client.negotiation.Contract;
+import com.seat.sim.client.sandbox.rescue.util.ScenarioEvents;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.math.Zone;
 import com.seat.sim.common.remote.RemoteState;
 import com.seat.sim.common.remote.intent.IntentRegistry;
 import com.seat.sim.common.remote.intent.IntentionSet;
 import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.EventLog;
 
 public class RescueDroneManager implements DroneManager {
 
@@ -52,6 +54,37 @@ public class RescueDroneManager implements DroneManager {
       .collect(Collectors.toSet());
   }
 
+  /** Reports the drone's state to the scenario log and its event log under the same label. */
+  private void reportState(Snapshot snap, RemoteState drone, String label) {
+    this.scenario.report(
+        snap.getTime(),
+        ":: %s :: [%.0f, %.0f, %.0f] :: %s",
+        drone.getRemoteID(),
+        drone.getLocation().getX(),
+        drone.getLocation().getY(),
+        drone.getLocation().getZ(),
+        label
+      );
+    this.scenario.getEvents().state(snap.getTime(), drone.getRemoteID(), label);
+  }
+
+  /** Reports the drone's state along with the location it is headed to. */
+  private void reportState(Snapshot snap, RemoteState drone, Vector target, String label) {
+    this.scenario.report(
+        snap.getTime(),
+        ":: %s :: [%.0f, %.0f, %.0f] :: [%.0f, %.0f, %.0f] :: %s",
+        drone.getRemoteID(),
+        drone.getLocation().getX(),
+        drone.getLocation().getY(),
+        drone.getLocation().getZ(),
+        target.getX(),
+        target.getY(),
+        target.getZ(),
+        label
+      );
+    this.scenario.getEvents().state(snap.getTime(), drone.getRemoteID(), label);
+  }
+
   public void addContract(String droneID, Contract contract) {
     if (!this.contracts.containsKey(droneID)) {
       this.contracts.put(droneID, new LinkedList<>());
@@ -148,11 +181,7 @@ public class RescueDroneManager implements DroneManager {
   public Collection<IntentionSet> update(Snapshot snap) {
     return this.update(
         snap,
-        snap
-          .getActiveRemoteStates()
-          .stream()
-          .filter(state -> state.hasTag(RescueScenario.DRONE_TAG))
-          .collect(Collectors.toList())
+        snap.getActiveRemoteStatesWithTag(RescueScenario.DRONE_TAG)
       );
   }
 
@@ -162,30 +191,19 @@ public class RescueDroneManager implements DroneManager {
     }
     Set<String> assistedVictims = new HashSet<>();
     return snap
-      .getActiveRemoteStates()
+      .getActiveRemoteStatesWithTag(RescueScenario.DRONE_TAG)
       .stream()
-      .filter(state -> state.hasTag(RescueScenario.DRONE_TAG))
       .map(drone -> {
           this.drones.add(drone.getRemoteID());
           IntentionSet intent = new IntentionSet(drone.getRemoteID());
           if (this.isDone(drone.getRemoteID())) {
             if (drone.getLocation().near(RescueScenario.GRID_CENTER)) {
               intent.addIntention(IntentRegistry.Done());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Drone done",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.DRONE_DONE);
               return intent;
             }
             intent.addIntention(IntentRegistry.GoHome());
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: Drone going home",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, ScenarioEvents.DRONE_GOING_HOME);
             return intent;
           }
           if (RescueRemoteUtil.shouldReturnHome(
@@ -200,12 +218,7 @@ public class RescueDroneManager implements DroneManager {
             if (this.hasAssignment(drone.getRemoteID())) {
               this.removeAssignment(drone.getRemoteID());
             }
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: Drone returning home",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, ScenarioEvents.DRONE_RETURNING_HOME);
             return intent;
           }
           if (this.hasContracts(drone.getRemoteID())) {
@@ -215,21 +228,11 @@ public class RescueDroneManager implements DroneManager {
             this.setCooldown(drone.getRemoteID(), this.getCooldown(drone.getRemoteID()) - 1);
             if (this.getCooldown(drone.getRemoteID()) > 0) {
               intent.addIntention(IntentRegistry.Stop());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Performing task",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.PERFORMING_TASK);
               return intent;
             } else {
               intent.addIntention(IntentRegistry.ActivateAllSensors());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Completes task",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.COMPLETES_TASK);
               if (this.hasAssignment(drone.getRemoteID()) &&
                     drone.getLocation().near(this.getAssignment(drone.getRemoteID()).get().getLocation())) {
                 this.removeAssignment(drone.getRemoteID());
@@ -254,11 +257,14 @@ public class RescueDroneManager implements DroneManager {
             for (String victimID : allDetections) {
               this.scenario.report(
                   snap.getTime(),
-                  ":: %s :: %s :: %s :: Detected victim",
+                  ":: %s :: [%.0f, %.0f, %.0f] :: %s :: Detected victim",
                   drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f"),
+                  drone.getLocation().getX(),
+                  drone.getLocation().getY(),
+                  drone.getLocation().getZ(),
                   victimID
                 );
+              this.scenario.getEvents().detection(snap.getTime(), drone.getRemoteID(), victimID, 0);
               this.detectedVictims.add(victimID);
             }
             bleDetections.removeAll(assistedVictims);
@@ -273,33 +279,36 @@ public class RescueDroneManager implements DroneManager {
                 if (contract.isPresent()) {
                   this.scenario.report(
                     snap.getTime(),
-                    ":: %s :: %s :: %s :: Accepted task",
+                    ":: %s :: [%.0f, %.0f, %.0f] :: %s :: Accepted task",
                     drone.getRemoteID(),
-                    drone.getLocation().toString("%.0f"),
+                    drone.getLocation().getX(),
+                    drone.getLocation().getY(),
+                    drone.getLocation().getZ(),
                     victimID
                   );
+                  this.scenario.getEvents().contract(snap.getTime(), EventLog.Type.ACCEPT,
+                      drone.getRemoteID(), victimID);
                   assistedVictims.add(victimID);
                   this.scenario.setDone(victimID, false);
                   this.addContract(drone.getRemoteID(), contract.get());
                 } else {
                   this.scenario.report(
                     snap.getTime(),
-                    ":: %s :: %s :: %s :: Rejected task",
+                    ":: %s :: [%.0f, %.0f, %.0f] :: %s :: Rejected task",
                     drone.getRemoteID(),
-                    drone.getLocation().toString("%.0f"),
+                    drone.getLocation().getX(),
+                    drone.getLocation().getY(),
+                    drone.getLocation().getZ(),
                     victimID
                   );
+                  this.scenario.getEvents().contract(snap.getTime(), EventLog.Type.REJECT,
+                      drone.getRemoteID(), victimID);
                 }
               }
               if (this.hasContracts(drone.getRemoteID())) {
                 intent.addIntention(IntentRegistry.Stop());
                 intent.addIntention(IntentRegistry.DeactivateAllSensors());
-                this.scenario.report(
-                    snap.getTime(),
-                    ":: %s :: %s :: Initiating task",
-                    drone.getRemoteID(),
-                    drone.getLocation().toString("%.0f")
-                  );
+                this.reportState(snap, drone, ScenarioEvents.INITIATING_TASK);
                 return intent;
               }
             } else if (this.getCooldownTime() > 0 && !bleDetections.isEmpty()) {
@@ -307,42 +316,21 @@ public class RescueDroneManager implements DroneManager {
               intent.addIntention(IntentRegistry.Stop());
               intent.addIntention(IntentRegistry.DeactivateAllSensors());
               assistedVictims.addAll(bleDetections);
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Initiating task",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.INITIATING_TASK);
               return intent;
             }
             this.removeAssignment(drone.getRemoteID());
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: Completes assignment",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, ScenarioEvents.COMPLETES_ASSIGNMENT);
           }
           if (!this.hasAssignment(drone.getRemoteID())) {
             Optional<Zone> task = this.scenario.nextTask(snap, drone);
             if (task.isEmpty()) {
               intent.addIntention(IntentRegistry.Stop());
-              this.scenario.report(
-                  snap.getTime(),
-                  ":: %s :: %s :: Drone on standby",
-                  drone.getRemoteID(),
-                  drone.getLocation().toString("%.0f")
-                );
+              this.reportState(snap, drone, ScenarioEvents.DRONE_ON_STANDBY);
               return intent;
             }
             this.setAssignment(drone.getRemoteID(), task.get());
-            this.scenario.report(
-                snap.getTime(),
-                ":: %s :: %s :: %s :: Drone assigned",
-                drone.getRemoteID(),
-                drone.getLocation().toString("%.0f"),
-                task.get().getLocation().toString("%.0f")
-              );
+            this.reportState(snap, drone, task.get().getLocation(), ScenarioEvents.DRONE_ASSIGNED);
           }
           intent.addIntention(
               IntentRegistry.GoTo(
@@ -351,12 +339,7 @@ public class RescueDroneManager implements DroneManager {
                 RescueScenario.DRONE_SCAN_ACCELERATION
               )
             );
-          this.scenario.report(
-              snap.getTime(),
-              ":: %s :: %s :: Drone exploring",
-              drone.getRemoteID(),
-              drone.getLocation().toString("%.0f")
-            );
+          this.reportState(snap, drone, ScenarioEvents.DRONE_EXPLORING);
           return intent;
         })
       .toList();
@@ -10,6 +10,7 @@ import java.util.Set;
 
 import com.seat.sim.client.core.AssetManager;
 import com.seat.sim.client.core.DroneScenario;
+import com.seat.sim.client.sandbox.rescue.util.ScenarioEvents;
 import com.seat.sim.common.math.Grid;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.math.Zone;
@@ -106,11 +107,7 @@ public class VictimManager implements AssetManager {
   public Collection<IntentionSet> update(Snapshot snap) {
     return this.update(
         snap,
-        snap
-          .getActiveRemoteStates()
-          .stream()
-          .filter(state -> state.hasTag(RescueScenario.VICTIM_TAG))
-          .toList()
+        snap.getActiveRemoteStatesWithTag(RescueScenario.VICTIM_TAG)
       );
   }
 
@@ -119,9 +116,8 @@ public class VictimManager implements AssetManager {
       return Collections.emptyList();
     }
     snap
-      .getActiveRemoteStates()
+      .getActiveRemoteStatesWithTag(RescueScenario.BASE_TAG)
       .stream()
-      .filter(state -> state.hasTag(RescueScenario.BASE_TAG))
       .flatMap(state -> {
           return state.getSensorStateWithModel(RescueScenario.HUMAN_VISION).get().getSubjects().stream();
         })
@@ -131,11 +127,15 @@ public class VictimManager implements AssetManager {
           this.setDone(victimID);
           this.scenario.report(
               snap.getTime(),
-              ":: %s :: %s :: %s :: Rescued victim",
+              ":: %s :: [%.0f, %.0f, %.0f] :: %s :: %s",
               RescueScenario.BASE_TAG,
-              RescueScenario.GRID_CENTER.toString("%.0f"),
-              victimID
+              RescueScenario.GRID_CENTER.getX(),
+              RescueScenario.GRID_CENTER.getY(),
+              RescueScenario.GRID_CENTER.getZ(),
+              victimID,
+              ScenarioEvents.RESCUED_VICTIM
             );
+          this.scenario.getEvents().state(snap.getTime(), victimID, ScenarioEvents.RESCUED_VICTIM);
         });
     return victims
       .stream()
@@ -1,6 +1,8 @@
 package com.seat.sim.client.sandbox.rescue.util;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 import com.seat.sim.common.math.Vector;
@@ -11,13 +13,18 @@ public class Experiment {
 
   private double alpha;
   private Optional<Range> alphaRange;
+  private List<Double> alphas;
   private double beta;
   private Optional<Range> betaRange;
+  private List<Double> betas;
   private double gamma;
   private Optional<Range> gammaRange;
+  private List<Double> gammas;
+  private long initialSeed;
   private Random rng;
   private long seed;
-  private Iterator<Long> seeds;
+  private int seedIndex;
+  private List<Long> seeds;
   private int totalTrials;
   private int trials;
   private int trialsPer;
@@ -28,25 +35,70 @@ public class Experiment {
     this.betaRange = (beta != null) ? Optional.of(beta) : Optional.empty();
     this.gammaRange = (gamma != null) ? Optional.of(gamma) : Optional.empty();
     this.trialsPer = trialsPer;
+    this.initialSeed = seed;
     this.seed = seed;
-    this.seeds = seeds;
+    this.seeds = new ArrayList<>();
+    seeds.forEachRemaining(this.seeds::add);
     this.init(threadID, threadCount);
   }
 
+  /** Derives the seed of a trial past the end of the seed file from the seed of the trial before it. */
+  private static long getNextSeed(long seed) {
+    return new Random(seed).getRng().nextLong();
+  }
+
+  private List<Double> getValues(Optional<Range> range) {
+    if (range.isEmpty()) {
+      return List.of(0.);
+    }
+    List<Double> values = new ArrayList<>();
+    double param = range.get().getStart();
+    values.add(param);
+    for (int i = 1; i < range.get().points(); i++) {
+      param = this.updateRange(param, range.get());
+      values.add(param);
+    }
+    return values;
+  }
+
   private void init(int threadID, int threadCount) {
-    this.alpha = (this.alphaRange.isPresent()) ? this.alphaRange.get().getStart() : 0.;
-    this.beta = (this.betaRange.isPresent()) ? this.betaRange.get().getStart() : 0.;
-    this.gamma = (this.gammaRange.isPresent()) ? this.gammaRange.get().getStart() : 0.;
-    this.setTrial(threadID, threadCount);
-    this.setSeed();
+    this.alphas = this.getValues(this.alphaRange);
+    this.betas = this.getValues(this.betaRange);
+    this.gammas = this.getValues(this.gammaRange);
+    this.initSeeds();
+    this.setPartition(threadID, threadCount);
   }
 
-  private void setSeed() {
-    this.seed = (this.seeds.hasNext()) ? this.seeds.next() : this.rng.getRng().nextLong();
+  /**
+   * Extends the seeds of the seed file with the seeds of the rest of the sweep, each derived from the seed of
+   * the trial before (or from the initial seed if the file is empty), so that a trial's seed is a lookup.
+   */
+  private void initSeeds() {
+    if (this.seeds.isEmpty()) {
+      this.seeds.add(this.initialSeed);
+    }
+    long seed = this.seeds.get(this.seeds.size() - 1);
+    while (this.seeds.size() <= this.getTrialCount()) {
+      seed = Experiment.getNextSeed(seed);
+      this.seeds.add(seed);
+    }
+  }
+
+  /** Jumps straight to the point and seed of the trial, as if reset() had been called that many times. */
+  private void seek(int trial) {
+    int point = trial / this.trialsPer;
+    this.gamma = this.gammas.get(point % this.gammas.size());
+    point /= this.gammas.size();
+    this.beta = this.betas.get(point % this.betas.size());
+    point /= this.betas.size();
+    this.alpha = this.alphas.get(point % this.alphas.size());
+    this.trials = trial;
+    this.seed = this.getSeed(trial);
+    this.seedIndex = trial + 1;
     this.rng = new Random(this.seed);
   }
 
-  private void setTrial(int threadID, int threadCount) {
+  private void setPartition(int threadID, int threadCount) {
     this.totalTrials = trialsPer;
     if (this.alphaRange.isPresent()) {
       this.totalTrials *= this.alphaRange.get().points();
@@ -58,10 +110,14 @@ public class Experiment {
       this.totalTrials *= this.gammaRange.get().points();
     }
     this.totalTrials /= threadCount;
-    this.trials = 0;
-    for (int t = 0; t < (threadID - 1) * this.totalTrials; t++) {
-      this.reset();
-    }
+    this.seek(Math.max(0, (threadID - 1) * this.totalTrials));
+  }
+
+  /** Moves on to the seed of the next trial. */
+  private void setSeed() {
+    this.seed = this.getSeed(this.seedIndex);
+    this.seedIndex++;
+    this.rng = new Random(this.seed);
   }
 
   private double updateRange(double param, Range range) throws IndexOutOfBoundsException {
@@ -138,6 +194,16 @@ public class Experiment {
     return this.gamma;
   }
 
+  /** Returns the (alpha, beta, gamma) point that the trial runs at, counting trials across all threads. */
+  public SweepPoint getPoint(int trial) {
+    int point = trial / this.trialsPer;
+    int gamma = point % this.gammas.size();
+    point /= this.gammas.size();
+    int beta = point % this.betas.size();
+    point /= this.betas.size();
+    return new SweepPoint(this.alphas.get(point % this.alphas.size()), this.betas.get(beta), this.gammas.get(gamma));
+  }
+
   public Random getRng() {
     return this.rng;
   }
@@ -146,6 +212,28 @@ public class Experiment {
     return this.seed;
   }
 
+  /**
+   * Returns the seed of the trial, counting trials across all threads. It depends only on the seed file, the
+   * initial seed and the trial: trials past the end of the file chain off the seed of the trial before, never
+   * off the random state left by running a trial, so sequential, partitioned and swept runs all agree. Seeds
+   * of the sweep are computed once up front; only a trial past the end of the sweep extends the chain.
+   */
+  public long getSeed(int trial) {
+    if (trial < this.seeds.size()) {
+      return this.seeds.get(trial);
+    }
+    long seed = this.seeds.get(this.seeds.size() - 1);
+    for (int t = this.seeds.size(); t <= trial; t++) {
+      seed = Experiment.getNextSeed(seed);
+    }
+    return seed;
+  }
+
+  /** Returns the number of trials in the sweep across all threads. */
+  public int getTrialCount() {
+    return this.trialsPer * this.alphas.size() * this.betas.size() * this.gammas.size();
+  }
+
   public int getTrials() {
     return this.totalTrials;
   }
@@ -167,4 +255,10 @@ public class Experiment {
     }
     this.setSeed();
   }
+
+  /** Pins the experiment to the single trial, counting trials across all threads. Call it before the scenario is initialized. */
+  public void setTrial(int trial) {
+    this.totalTrials = 1;
+    this.seek(trial);
+  }
 }
@@ -1,7 +1,6 @@
 package com.seat.sim.client.sandbox.rescue.util;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -21,16 +20,14 @@ public class GlobalTaskManager extends HeatmapTaskManager {
   }
 
   public Optional<Zone> getNextTask(Snapshot snap, RemoteState state) {
-    OptionalDouble maxWeight = Arrays.stream(this.zones)
-        .flatMapToDouble((row) -> Arrays.stream(row))
-        .max();
+    OptionalDouble maxWeight = this.zones.stream().max();
     if (maxWeight.isEmpty()) {
       return Optional.empty();
     }
-    List<Zone> choices = IntStream.range(0, this.zones.length)
+    List<Zone> choices = IntStream.range(0, this.zones.getRows())
         .boxed()
         .flatMap((i) -> {
-          return IntStream.range(0, this.zones[i].length)
+          return IntStream.range(0, this.zones.getCols())
               .mapToObj((j) -> this.scenario.getGrid().get().getZoneAtLocation(i, j));
         })
         .filter((zone) -> !this.defer.containsKey(this.getZoneKey(zone)))
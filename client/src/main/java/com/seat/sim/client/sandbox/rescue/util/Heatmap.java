@@ -0,0 +1,211 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.DoubleStream;
+
+import com.seat.sim.common.util.Debugger;
+
+/**
+ * Zone weights stored row-major in a flat buffer. A diffusion step keeps alpha of each zone's weight in place
+ * and spreads the rest over its eight neighbors, wrapping around the edges of the grid. Steps gather into a
+ * second buffer that is then swapped in, so diffusing does not allocate. Each zone sums its contributions in
+ * the order a row-major scatter would, which keeps the results bit-for-bit equal to scattering.
+ */
+public class Heatmap {
+
+  public static final double DIAGONAL_WEIGHT = 0.075;
+  public static final double ORDINAL_WEIGHT = 0.175;
+
+  private static final Optional<HeatmapKernel> KERNEL = Heatmap.loadKernel();
+  private static final String VECTOR_KERNEL = "com.seat.sim.client.sandbox.rescue.util.VectorHeatmapKernel";
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  private int[] colOrder;
+  private int cols;
+  private double[] next;
+  private int[] rowOrder;
+  private int rows;
+  private double[] scaled;
+  private double[] weights;
+
+  /**
+   * Loads the SIMD kernel if it was built (mvn -P vector) and the JVM was started with
+   * --add-modules jdk.incubator.vector.
+   */
+  private static Optional<HeatmapKernel> loadKernel() {
+    if (ModuleLayer.boot().findModule(Heatmap.VECTOR_MODULE).isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of((HeatmapKernel) Class.forName(Heatmap.VECTOR_KERNEL).getDeclaredConstructor().newInstance());
+    } catch (ReflectiveOperationException | LinkageError e) {
+      Debugger.logger.err(String.format("Could not load heatmap kernel: %s", e.getMessage()));
+      return Optional.empty();
+    }
+  }
+
+  /** Computes the interior zones of the row from the given column onwards. */
+  static void diffuseRow(double[] weights, double[] scaled, double[] next, int cols, int row, int from,
+      double alpha) {
+    for (int k = row * cols + from, end = (row + 1) * cols - 1; k < end; k++) {
+      int up = k - cols, down = k + cols;
+      next[k] = scaled[up - 1] * Heatmap.DIAGONAL_WEIGHT + scaled[up] * Heatmap.ORDINAL_WEIGHT +
+          scaled[up + 1] * Heatmap.DIAGONAL_WEIGHT + scaled[k - 1] * Heatmap.ORDINAL_WEIGHT + weights[k] * alpha +
+          scaled[k + 1] * Heatmap.ORDINAL_WEIGHT + scaled[down - 1] * Heatmap.DIAGONAL_WEIGHT +
+          scaled[down] * Heatmap.ORDINAL_WEIGHT + scaled[down + 1] * Heatmap.DIAGONAL_WEIGHT;
+    }
+  }
+
+  public Heatmap(int rows, int cols) {
+    this.rows = rows;
+    this.cols = cols;
+    this.weights = new double[rows * cols];
+    this.next = new double[rows * cols];
+    this.scaled = new double[rows * cols];
+    this.rowOrder = new int[3];
+    this.colOrder = new int[3];
+  }
+
+  /** Gathers a zone whose neighbors wrap around the grid, visiting them in row-major order. */
+  private void diffuseBorder(int row, int col, double alpha) {
+    this.setOrder(row, this.rows, this.rowOrder);
+    this.setOrder(col, this.cols, this.colOrder);
+    double weight = 0.;
+    for (int r : this.rowOrder) {
+      for (int c : this.colOrder) {
+        int k = r * this.cols + c;
+        if (r == row && c == col) {
+          weight += this.weights[k] * alpha;
+        } else if (r == row || c == col) {
+          weight += this.scaled[k] * Heatmap.ORDINAL_WEIGHT;
+        } else {
+          weight += this.scaled[k] * Heatmap.DIAGONAL_WEIGHT;
+        }
+      }
+    }
+    this.next[row * this.cols + col] = weight;
+  }
+
+  /** Scatters each zone to its neighbors, for grids too narrow for every zone to have eight distinct ones. */
+  private void scatter(double alpha) {
+    Arrays.fill(this.next, 0.);
+    for (int i = 0; i < this.rows; i++) {
+      for (int j = 0; j < this.cols; j++) {
+        double weight = this.weights[i * this.cols + j];
+        double updateWeight = weight * (1 - alpha);
+        int prevI = ((i > 0) ? (i - 1) : (this.rows - 1)) * this.cols;
+        int nextI = ((i < this.rows - 1) ? (i + 1) : 0) * this.cols;
+        int prevJ = (j > 0) ? (j - 1) : (this.cols - 1);
+        int nextJ = (j < this.cols - 1) ? (j + 1) : 0;
+        this.next[prevI + prevJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        this.next[nextI + prevJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        this.next[nextI + nextJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        this.next[prevI + nextJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        this.next[i * this.cols + j] += weight * alpha;
+        this.next[prevI + j] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+        this.next[i * this.cols + nextJ] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+        this.next[nextI + j] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+        this.next[i * this.cols + prevJ] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+      }
+    }
+  }
+
+  private void setOrder(int i, int n, int[] order) {
+    if (i == 0) {
+      order[0] = 0;
+      order[1] = 1;
+      order[2] = n - 1;
+    } else if (i == n - 1) {
+      order[0] = 0;
+      order[1] = n - 2;
+      order[2] = n - 1;
+    } else {
+      order[0] = i - 1;
+      order[1] = i;
+      order[2] = i + 1;
+    }
+  }
+
+  private void swap() {
+    double[] tmp = this.weights;
+    this.weights = this.next;
+    this.next = tmp;
+  }
+
+  public void copyFrom(Heatmap heatmap) {
+    System.arraycopy(heatmap.weights, 0, this.weights, 0, this.weights.length);
+  }
+
+  public void diffuse(double alpha) {
+    if (this.rows < 3 || this.cols < 3) {
+      this.scatter(alpha);
+      this.swap();
+      return;
+    }
+    for (int k = 0; k < this.weights.length; k++) {
+      this.scaled[k] = this.weights[k] * (1 - alpha);
+    }
+    for (int i = 1; i < this.rows - 1; i++) {
+      if (Heatmap.KERNEL.isPresent()) {
+        Heatmap.KERNEL.get().diffuseRow(this.weights, this.scaled, this.next, this.cols, i, alpha);
+      } else {
+        Heatmap.diffuseRow(this.weights, this.scaled, this.next, this.cols, i, 1, alpha);
+      }
+      this.diffuseBorder(i, 0, alpha);
+      this.diffuseBorder(i, this.cols - 1, alpha);
+    }
+    for (int j = 0; j < this.cols; j++) {
+      this.diffuseBorder(0, j, alpha);
+      this.diffuseBorder(this.rows - 1, j, alpha);
+    }
+    this.swap();
+  }
+
+  public void fill(double weight) {
+    Arrays.fill(this.weights, weight);
+  }
+
+  public double get(int row, int col) {
+    return this.weights[row * this.cols + col];
+  }
+
+  public int getCols() {
+    return this.cols;
+  }
+
+  public int getRows() {
+    return this.rows;
+  }
+
+  public void scale(int row, int col, double factor) {
+    this.weights[row * this.cols + col] *= factor;
+  }
+
+  /** Scales each zone by the chance that it goes unscanned, given the chance that a drone is over it. */
+  public void scan(Heatmap drones, double phi) {
+    for (int k = 0; k < this.weights.length; k++) {
+      this.weights[k] *= ((1. - drones.weights[k]) + drones.weights[k] * (1. - phi));
+    }
+  }
+
+  public void set(int row, int col, double weight) {
+    this.weights[row * this.cols + col] = weight;
+  }
+
+  public int size() {
+    return this.weights.length;
+  }
+
+  public DoubleStream stream() {
+    return Arrays.stream(this.weights);
+  }
+
+  public double sum() {
+    double weight = 0.;
+    for (int k = 0; k < this.weights.length; k++) {
+      weight += this.weights[k];
+    }
+    return weight;
+  }
+}
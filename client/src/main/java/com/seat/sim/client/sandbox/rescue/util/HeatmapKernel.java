@@ -0,0 +1,10 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+/**
+ * Computes one row of the interior of a heatmap diffusion step, i.e. the zones of the row whose eight
+ * neighbors do not wrap around the grid (columns 1 to cols - 2).
+ */
+public interface HeatmapKernel {
+
+  void diffuseRow(double[] weights, double[] scaled, double[] next, int cols, int row, double alpha);
+}
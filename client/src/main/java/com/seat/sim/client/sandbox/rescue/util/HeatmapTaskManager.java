@@ -1,9 +1,13 @@
 package com.seat.sim.client.sandbox.rescue.util;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -17,15 +21,15 @@ import com.seat.sim.common.scenario.Snapshot;
 
 public abstract class HeatmapTaskManager implements TaskManager {
 
-  private static final double DIAGONAL_WEIGHT = 0.075;
-  private static final double ORDINAL_WEIGHT = 0.175;
+  private Map<List<String>, Rollout> rollouts;
+  private Deque<Rollout> spareRollouts;
 
   protected HashMap<Integer, Integer> defer;
   protected DroneScenario scenario;
   protected boolean useDefer;
   protected boolean useMax;
   protected boolean useMovement;
-  protected double[][] zones;
+  protected Heatmap zones;
 
   public HeatmapTaskManager(DroneScenario scenario) {
     this(scenario, true, true, true);
@@ -55,14 +59,9 @@ public abstract class HeatmapTaskManager implements TaskManager {
     return this.getHeat(this.zones);
   }
 
-  protected double getHeat(double[][] zones) {
-    double weight = 0.;
-    for (int i = 0; i < this.zones.length; i++) {
-      for (int j = 0; j < this.zones[i].length; j++) {
-        weight += this.zones[i][j];
-      }
-    }
-    double count = this.zones.length * this.zones[0].length;
+  protected double getHeat(Heatmap zones) {
+    double weight = zones.sum();
+    double count = zones.size();
     return (count - weight) / count;
   }
 
@@ -76,35 +75,68 @@ public abstract class HeatmapTaskManager implements TaskManager {
     return this.getZoneWeight(zones, zone);
   }
 
-  private double[][] computeWeights(double[][] zones) {
-    double[][] weights = new double[zones.length][zones[0].length];
-    for (int i = 0; i < zones.length; i++) {
-      for (int j = 0; j < zones[i].length; j++) {
-        double updateWeight = zones[i][j] * (1 - this.scenario.getAlpha());
-        int prevI = (i > 0) ? (i - 1) : (zones.length - 1);
-        int nextI = (i < zones.length - 1) ? (i + 1) : 0;
-        int prevJ = (j > 0) ? (j - 1) : (zones[i].length - 1);
-        int nextJ = (j < zones[i].length - 1) ? (j + 1) : 0;
-        weights[prevI][prevJ] += (updateWeight * HeatmapTaskManager.DIAGONAL_WEIGHT);
-        weights[nextI][prevJ] += (updateWeight * HeatmapTaskManager.DIAGONAL_WEIGHT);
-        weights[nextI][nextJ] += (updateWeight * HeatmapTaskManager.DIAGONAL_WEIGHT);
-        weights[prevI][nextJ] += (updateWeight * HeatmapTaskManager.DIAGONAL_WEIGHT);
-        weights[i][j] += zones[i][j] * this.scenario.getAlpha();
-        weights[prevI][j] += (updateWeight * HeatmapTaskManager.ORDINAL_WEIGHT);
-        weights[i][nextJ] += (updateWeight * HeatmapTaskManager.ORDINAL_WEIGHT);
-        weights[nextI][j] += (updateWeight * HeatmapTaskManager.ORDINAL_WEIGHT);
-        weights[i][prevJ] += (updateWeight * HeatmapTaskManager.ORDINAL_WEIGHT);
+  private void clearRollouts() {
+    this.spareRollouts.addAll(this.rollouts.values());
+    this.rollouts.clear();
+  }
+
+  private void extendRollout(Rollout rollout, int ticks) {
+    while (rollout.ticks < ticks) {
+      Heatmap simZones = rollout.simZones;
+      simZones.diffuse(this.scenario.getAlpha());
+
+      rollout.locations = rollout.locations
+        .stream()
+        .map(location -> this.predict(location, simZones))
+        .collect(Collectors.toList());
+      for (Vector location : rollout.locations) {
+        Zone choice = this.scenario.getGrid().get().getZoneAtLocation(location);
+        rollout.addWeight(this.getZoneWeight(simZones, choice));
+        double x = choice.getLocation().getX(), y = choice.getLocation().getY(), size = choice.getSize();
+        simZones.scale((int) (y / size), (int) (x / size), 1. - this.scenario.getPhi());
       }
+
+      rollout.droneZones.diffuse(this.scenario.getAlpha());
+      simZones.scan(rollout.droneZones, this.scenario.getPhi());
+      rollout.ticks++;
+    }
+  }
+
+  private Rollout getRollout(Snapshot snap, List<RemoteState> states) {
+    List<String> key = states.stream().map(state -> state.getRemoteID()).collect(Collectors.toList());
+    if (this.rollouts.containsKey(key)) {
+      return this.rollouts.get(key);
+    }
+    Rollout rollout = (this.spareRollouts.isEmpty()) ?
+      new Rollout(this.zones.getRows(), this.zones.getCols()) :
+      this.spareRollouts.pop();
+    rollout.simZones.copyFrom(this.zones);
+    rollout.droneZones.fill(0.);
+
+    List<RemoteState> drones = snap
+      .getActiveRemoteStatesWithTag(scenario.getDroneTag())
+      .stream()
+      .filter(s -> !states.contains(s))
+      .collect(Collectors.toList());
+    for (RemoteState s : drones) {
+      double x = s.getLocation().getX(), y = s.getLocation().getY();
+      int size = this.scenario.getGrid().get().getZoneSize();
+      rollout.droneZones.set((int) (y / size), (int) (x / size), 1.);
     }
-    return weights;
+
+    rollout.locations = states.stream().map(state -> state.getLocation()).collect(Collectors.toList());
+    rollout.ticks = 0;
+    rollout.size = 0;
+    this.rollouts.put(key, rollout);
+    return rollout;
   }
 
-  private double getZoneWeight(double[][] zones, Zone zone) {
+  private double getZoneWeight(Heatmap zones, Zone zone) {
     double x = zone.getLocation().getX(), y = zone.getLocation().getY(), size = zone.getSize();
-    return zones[(int) (y / size)][(int) (x / size)];
+    return zones.get((int) (y / size), (int) (x / size));
   }
 
-  private Vector predict(Vector location, double[][] zones) {
+  private Vector predict(Vector location, Heatmap zones) {
     List<Zone> neighbors = this.scenario.getGrid().get().getNeighborhood(location);
     if (neighbors.isEmpty()) {
       return location;
@@ -127,6 +159,7 @@ public abstract class HeatmapTaskManager implements TaskManager {
 
   private void reportHeat() {
     this.scenario.report(scenario.getMissionLength(), "Heat: %.4f", this.getHeat());
+    this.scenario.getEvents().heat(scenario.getMissionLength(), this.getHeat());
   }
 
   private void scanForBase(double x, double y, int size) {
@@ -142,26 +175,14 @@ public abstract class HeatmapTaskManager implements TaskManager {
 
   private void scanZone(double x, double y, int size, boolean base) {
     if (base) {
-      this.zones[(int) (y / size)][(int) (x / size)] = 0;
+      this.zones.set((int) (y / size), (int) (x / size), 0);
       return;
     }
-    this.zones[(int) (y / size)][(int) (x / size)] *= (1. - this.scenario.getPhi());
+    this.zones.scale((int) (y / size), (int) (x / size), 1. - this.scenario.getPhi());
   }
 
   private void setZoneWeights() {
-    for (int i = 0; i < this.zones.length; i++) {
-      for (int j = 0; j < this.zones[i].length; j++) {
-        this.zones[i][j] = 1.;
-      }
-    }
-  }
-
-  private void updateWeights(double[][] zones, double[][] drones) {
-    for (int i = 0; i < zones.length; i++) {
-      for (int j = 0; j < zones[i].length; j++) {
-        zones[i][j] *= ((1. - drones[i][j]) + drones[i][j] * (1. - this.scenario.getPhi()));
-      }
-    }
+    this.zones.fill(1.);
   }
 
   private void updateZones(Stream<RemoteState> drones) {
@@ -173,7 +194,7 @@ public abstract class HeatmapTaskManager implements TaskManager {
     if (!this.useMovement) {
       return;
     }
-    this.zones = this.computeWeights(this.zones);
+    this.zones.diffuse(this.scenario.getAlpha());
   }
 
   public void addTask(Zone task) {}
@@ -190,72 +211,40 @@ public abstract class HeatmapTaskManager implements TaskManager {
 
   public void init() {
     Grid grid = this.scenario.getGrid().get();
-    this.zones = new double[grid.getHeightInZones()][grid.getWidthInZones()];
+    this.zones = new Heatmap(grid.getHeightInZones(), grid.getWidthInZones());
     this.setZoneWeights();
     this.defer = new HashMap<>();
+    this.rollouts = new HashMap<>();
+    this.spareRollouts = new ArrayDeque<>();
   }
 
+  /**
+   * Returns the expected loss of taking the drones off the heatmap plan for the two deadlines. Rollouts are
+   * cached per set of drones until the next update, and a rollout is extended rather than redone when a later
+   * call needs a longer horizon. The early and late losses are summed from the weights each drone scans per
+   * tick in the same order as a fresh rollout would, so cached and fresh predictions agree exactly.
+   */
   public double predict(Snapshot snap, List<RemoteState> states, double eDeadline, double eSuccess,
       double deadline, Optional<Double> mass) {
-    double[][] simZones = new double[this.zones.length][];
-    double[][] droneZones = new double[this.zones.length][];
-    for (int i = 0; i < this.zones.length; i++) {
-      simZones[i] = new double[this.zones[i].length];
-      System.arraycopy(this.zones[i], 0, simZones[i], 0, this.zones[i].length);
-      droneZones[i] = new double[this.zones[i].length];
-    }
-
-    List<RemoteState> drones = snap
-      .getActiveRemoteStates()
-      .stream()
-      .filter(s -> s.hasTag(scenario.getDroneTag()))
-      .filter(s -> !states.contains(s))
-      .collect(Collectors.toList());
-    for (RemoteState s : drones) {
-      double x = s.getLocation().getX(), y = s.getLocation().getY();
-      int size = this.scenario.getGrid().get().getZoneSize();
-      droneZones[(int) (y / size)][(int) (x / size)] = 1.;
-    }
-
-    List<Vector> locations = states.stream().map(state -> state.getLocation()).collect(Collectors.toList());
+    int early = (Vector.near(eDeadline, 0.)) ? 0 : Math.max((int) Math.ceil(eDeadline), 0);
+    int late = (Vector.near(deadline, 0.)) ? 0 : Math.max((int) Math.ceil(deadline), 0);
+    Rollout rollout = this.getRollout(snap, states);
+    this.extendRollout(rollout, early + late);
 
+    int count = states.size();
     double earlyLoss = 0.;
-    for (int t = 0; t < (Vector.near(eDeadline, 0.) ? 0 : (int) Math.ceil(eDeadline)); t++) {
-      simZones = this.computeWeights(simZones);
-
-      final double[][] currZones = simZones;
-      locations = locations.stream().map(location -> this.predict(location, currZones)).collect(Collectors.toList());
-      for (Vector location : locations) {
-        Zone choice = this.scenario.getGrid().get().getZoneAtLocation(location);
-        earlyLoss += this.getZoneWeight(simZones, choice);
-        double x = choice.getLocation().getX(), y = choice.getLocation().getY(), size = choice.getSize();
-        simZones[(int) (y / size)][(int) (x / size)] *= (1. - this.scenario.getPhi());
-      }
-
-      droneZones = this.computeWeights(droneZones);
-      this.updateWeights(simZones, droneZones);
+    for (int k = 0; k < early * count; k++) {
+      earlyLoss += rollout.weights[k];
     }
     earlyLoss *= this.scenario.getPhi();
 
     double lateLoss = 0.;
-    for (int t = 0; t < (Vector.near(deadline, 0.) ? 0 : (int) Math.ceil(deadline)); t++) {
-      simZones = this.computeWeights(simZones);
-
-      final double[][] currZones = simZones;
-      locations = locations.stream().map(location -> this.predict(location, currZones)).collect(Collectors.toList());
-      for (Vector location : locations) {
-        Zone choice = this.scenario.getGrid().get().getZoneAtLocation(location);
-        lateLoss += this.getZoneWeight(simZones, choice);
-        double x = choice.getLocation().getX(), y = choice.getLocation().getY(), size = choice.getSize();
-        simZones[(int) (y / size)][(int) (x / size)] *= (1. - this.scenario.getPhi());
-      }
-
-      droneZones = this.computeWeights(droneZones);
-      this.updateWeights(simZones, droneZones);
+    for (int k = early * count; k < (early + late) * count; k++) {
+      lateLoss += rollout.weights[k];
     }
     lateLoss *= this.scenario.getPhi();
 
-    double loss = (earlyLoss + (1. - eSuccess) * lateLoss) / (this.zones.length * this.zones[0].length);
+    double loss = (earlyLoss + (1. - eSuccess) * lateLoss) / this.zones.size();
     if (mass.isEmpty()) {
       return loss;
     }
@@ -266,16 +255,41 @@ public abstract class HeatmapTaskManager implements TaskManager {
   public void reset() {
     this.reportHeat();
     this.setZoneWeights();
+    this.clearRollouts();
   }
 
   public void update(Snapshot snap) {
     Stream<RemoteState> drones = snap
-      .getActiveRemoteStates()
+      .getActiveRemoteStatesWithTag(scenario.getDroneTag())
       .stream()
-      .filter(state -> state.hasTag(scenario.getDroneTag()))
       .filter(state -> this.scenario.getCooldown(state.getRemoteID()) == 0);
     this.updateZones(drones);
     this.defer.clear();
+    this.clearRollouts();
+  }
+
+  /** The heatmap and drone locations simulated forward from a snapshot, plus the weights scanned per tick. */
+  private static class Rollout {
+
+    private Heatmap droneZones;
+    private List<Vector> locations;
+    private Heatmap simZones;
+    private int ticks;
+    private int size;
+    private double[] weights;
+
+    public Rollout(int rows, int cols) {
+      this.droneZones = new Heatmap(rows, cols);
+      this.simZones = new Heatmap(rows, cols);
+      this.weights = new double[64];
+    }
+
+    public void addWeight(double weight) {
+      if (this.size == this.weights.length) {
+        this.weights = Arrays.copyOf(this.weights, this.weights.length * 2);
+      }
+      this.weights[this.size++] = weight;
+    }
   }
 }
 
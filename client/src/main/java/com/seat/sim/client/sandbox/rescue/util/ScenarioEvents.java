@@ -0,0 +1,82 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import com.seat.sim.common.util.Debugger;
+import com.seat.sim.common.util.EventLog;
+
+/**
+ * The typed events of the rescue and recon scenarios. A failed write is logged rather than thrown, as a trial
+ * should not end over its event log; a scenario without an event log drops its events.
+ */
+public class ScenarioEvents {
+
+  public static final String COMPLETES_ASSIGNMENT = "Completes assignment";
+  public static final String COMPLETES_TASK = "Completes task";
+  public static final String DRONE_ASSIGNED = "Drone assigned";
+  public static final String DRONE_DESTROYED = "Drone destroyed";
+  public static final String DRONE_DONE = "Drone done";
+  public static final String DRONE_EXPLORING = "Drone exploring";
+  public static final String DRONE_GOING_HOME = "Drone going home";
+  public static final String DRONE_ON_STANDBY = "Drone on standby";
+  public static final String DRONE_RETURNING_HOME = "Drone returning home";
+  public static final String INITIATING_TASK = "Initiating task";
+  public static final String PERFORMING_TASK = "Performing task";
+  public static final String RESCUED_VICTIM = "Rescued victim";
+
+  /** A single call on the event log. */
+  private interface Write {
+    void to(EventLog events) throws IOException;
+  }
+
+  private Optional<EventLog> events;
+
+  public ScenarioEvents() {
+    this.events = Optional.empty();
+  }
+
+  public ScenarioEvents(EventLog events) {
+    this.events = Optional.of(events);
+  }
+
+  private void write(Write write) {
+    if (this.events.isEmpty()) {
+      return;
+    }
+    try {
+      write.to(this.events.get());
+    } catch (IOException e) {
+      Debugger.logger.err(e.getMessage());
+    }
+  }
+
+  public void close() {
+    this.write(events -> events.close());
+  }
+
+  /** Logs a contract event between two remotes, i.e. one of ACCEPT, REJECT, SUCCESS or FAIL. */
+  public void contract(double simTime, EventLog.Type type, String senderID, String receiverID) {
+    this.write(events -> events.contract(simTime, type, senderID, receiverID));
+  }
+
+  public void detection(double simTime, String remoteID, String targetID, int value) {
+    this.write(events -> events.detection(simTime, remoteID, targetID, value));
+  }
+
+  public void heat(double simTime, double heat) {
+    this.write(events -> events.heat(simTime, heat));
+  }
+
+  public void score(double simTime, double score) {
+    this.write(events -> events.score(simTime, score));
+  }
+
+  public void state(double simTime, String remoteID, String label) {
+    this.write(events -> events.state(simTime, remoteID, label));
+  }
+
+  public void trial(long seed, double alpha, double beta, double gamma) {
+    this.write(events -> events.trial(seed, alpha, beta, gamma));
+  }
+}
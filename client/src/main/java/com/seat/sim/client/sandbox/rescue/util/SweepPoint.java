@@ -0,0 +1,51 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+import java.util.Objects;
+
+/** One (alpha, beta, gamma) point of an experiment sweep, shared by all of the trials run at it. */
+public class SweepPoint {
+
+  private double alpha;
+  private double beta;
+  private double gamma;
+
+  public SweepPoint(double alpha, double beta, double gamma) {
+    this.alpha = alpha;
+    this.beta = beta;
+    this.gamma = gamma;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SweepPoint)) {
+      return false;
+    }
+    SweepPoint point = (SweepPoint) o;
+    return this.alpha == point.alpha && this.beta == point.beta && this.gamma == point.gamma;
+  }
+
+  public double getAlpha() {
+    return this.alpha;
+  }
+
+  public double getBeta() {
+    return this.beta;
+  }
+
+  public double getGamma() {
+    return this.gamma;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.alpha, this.beta, this.gamma);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ALPHA %.3f - BETA %.3f - GAMMA %.3f", this.alpha, this.beta, this.gamma);
+  }
+}
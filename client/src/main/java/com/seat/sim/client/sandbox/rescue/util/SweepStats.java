@@ -0,0 +1,54 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+/** Running score statistics of the trials at one sweep point. Trials may report from any thread. */
+public class SweepStats {
+
+  private int count;
+  private double max;
+  private double mean;
+  private double min;
+  private double sumSq;
+
+  public SweepStats() {
+    this.count = 0;
+    this.max = Double.NEGATIVE_INFINITY;
+    this.mean = 0.;
+    this.min = Double.POSITIVE_INFINITY;
+    this.sumSq = 0.;
+  }
+
+  public synchronized void add(double score) {
+    this.count++;
+    double delta = score - this.mean;
+    this.mean += delta / this.count;
+    this.sumSq += delta * (score - this.mean);
+    this.max = Math.max(this.max, score);
+    this.min = Math.min(this.min, score);
+  }
+
+  public synchronized int getCount() {
+    return this.count;
+  }
+
+  public synchronized double getMax() {
+    return this.max;
+  }
+
+  public synchronized double getMean() {
+    return this.mean;
+  }
+
+  public synchronized double getMin() {
+    return this.min;
+  }
+
+  public synchronized double getStdDev() {
+    return (this.count > 1) ? Math.sqrt(this.sumSq / (this.count - 1)) : 0.;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("Trials %d - Mean %.4f - StdDev %.4f - Min %.4f - Max %.4f", this.count, this.mean,
+        this.getStdDev(), this.min, this.max);
+  }
+}
@@ -0,0 +1,34 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD heatmap kernel on the incubating Vector API. Lanes add the nine contributions in the same order as the
+ * scalar kernel and never fuse multiplies, so both kernels give the same bits. Only loaded by Heatmap when
+ * the jdk.incubator.vector module is present.
+ */
+public class VectorHeatmapKernel implements HeatmapKernel {
+
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  public void diffuseRow(double[] weights, double[] scaled, double[] next, int cols, int row, double alpha) {
+    int start = row * cols + 1;
+    int bound = start + VectorHeatmapKernel.SPECIES.loopBound(cols - 2);
+    int k = start;
+    for (; k < bound; k += VectorHeatmapKernel.SPECIES.length()) {
+      int up = k - cols, down = k + cols;
+      DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, up - 1).mul(Heatmap.DIAGONAL_WEIGHT)
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, up).mul(Heatmap.ORDINAL_WEIGHT))
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, up + 1).mul(Heatmap.DIAGONAL_WEIGHT))
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, k - 1).mul(Heatmap.ORDINAL_WEIGHT))
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, weights, k).mul(alpha))
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, k + 1).mul(Heatmap.ORDINAL_WEIGHT))
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, down - 1).mul(Heatmap.DIAGONAL_WEIGHT))
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, down).mul(Heatmap.ORDINAL_WEIGHT))
+          .add(DoubleVector.fromArray(VectorHeatmapKernel.SPECIES, scaled, down + 1).mul(Heatmap.DIAGONAL_WEIGHT))
+          .intoArray(next, k);
+    }
+    Heatmap.diffuseRow(weights, scaled, next, cols, row, k - row * cols, alpha);
+  }
+}
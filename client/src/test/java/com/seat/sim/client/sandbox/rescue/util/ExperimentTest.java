@@ -0,0 +1,78 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import com.seat.sim.common.util.Random;
+import com.seat.sim.common.util.Range;
+import org.junit.Test;
+
+public class ExperimentTest {
+
+  private static Experiment experiment(int threadID, int threadCount) {
+    // 2 x 3 x 2 points of 2 trials each, with a seed file that covers only the first 3 trials
+    return new Experiment(Range.Inclusive(0., 1., 1.), Range.Inclusive(0., 1., .5), Range.Inclusive(.2, .4, .2),
+        2, threadID, threadCount, 99L, List.of(7L, 8L, 9L).iterator());
+  }
+
+  private static void assertSameTrial(String msg, Experiment expected, Experiment actual) {
+    assertEquals(msg, expected.getSeed(), actual.getSeed());
+    assertEquals(msg, expected.getAlpha(), actual.getAlpha(), 0.);
+    assertEquals(msg, expected.getBeta(), actual.getBeta(), 0.);
+    assertEquals(msg, expected.getGamma(), actual.getGamma(), 0.);
+    assertEquals(msg, expected.getRng().getRng().nextLong(), actual.getRng().getRng().nextLong());
+  }
+
+  @Test
+  public void seekShouldMatchSequentialResets() {
+    Experiment sequential = ExperimentTest.experiment(1, 1);
+    int trials = sequential.getTrialCount();
+    assertEquals(24, trials);
+    for (int n = 0; n < trials; n++) {
+      Experiment pinned = ExperimentTest.experiment(1, 1);
+      pinned.setTrial(n);
+      ExperimentTest.assertSameTrial(String.format("trial %d", n), sequential, pinned);
+      assertEquals(sequential.getSeed(n), sequential.getSeed());
+      assertEquals(sequential.getPoint(n),
+          new SweepPoint(sequential.getAlpha(), sequential.getBeta(), sequential.getGamma()));
+      // a trial draws from the rng, which must not leak into the seeds of the trials after it
+      sequential.getRng().getRandomNumber(1000);
+      sequential.getRng().getRandomProbability();
+      sequential.reset();
+    }
+  }
+
+  @Test
+  public void partitionsShouldStartWhereSequentialRunsReach() {
+    Experiment sequential = ExperimentTest.experiment(1, 1);
+    for (int threadID = 1; threadID <= 4; threadID++) {
+      Experiment partition = ExperimentTest.experiment(threadID, 4);
+      assertEquals(6, partition.getTrials());
+      assertEquals(sequential.getSeed(), partition.getSeed());
+      assertEquals(sequential.getAlpha(), partition.getAlpha(), 0.);
+      assertEquals(sequential.getBeta(), partition.getBeta(), 0.);
+      assertEquals(sequential.getGamma(), partition.getGamma(), 0.);
+      for (int t = 0; t < 6; t++) {
+        sequential.getRng().getRandomProbability();
+        sequential.reset();
+      }
+    }
+  }
+
+  @Test
+  public void seedsShouldChainOffTheSeedFileAndTheInitialSeed() {
+    Experiment experiment = ExperimentTest.experiment(1, 1);
+    assertEquals(List.of(7L, 8L, 9L), List.of(experiment.getSeed(0), experiment.getSeed(1), experiment.getSeed(2)));
+    // past the end of the sweep as well, where the chain is no longer precomputed
+    for (int n = 3; n < 2 * experiment.getTrialCount(); n++) {
+      assertEquals(String.format("trial %d", n), new Random(experiment.getSeed(n - 1)).getRng().nextLong(),
+          experiment.getSeed(n));
+    }
+    Experiment unseeded = new Experiment(Range.Exclusive(0., 1., .5), null, null, 3, 1, 1, 99L,
+        List.<Long>of().iterator());
+    assertEquals(6, unseeded.getTrialCount());
+    assertEquals(99L, unseeded.getSeed(0));
+    assertEquals(new Random(99L).getRng().nextLong(), unseeded.getSeed(1));
+  }
+}
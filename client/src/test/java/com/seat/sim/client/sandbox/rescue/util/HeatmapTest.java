@@ -0,0 +1,75 @@
+package com.seat.sim.client.sandbox.rescue.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.seat.sim.common.util.Random;
+import org.junit.Test;
+
+public class HeatmapTest {
+
+  private static final int STEPS = 20;
+
+  /** The diffusion of HeatmapTaskManager before Heatmap, which scattered each zone into a new array. */
+  private static double[][] computeWeights(double[][] zones, double alpha) {
+    double[][] weights = new double[zones.length][zones[0].length];
+    for (int i = 0; i < zones.length; i++) {
+      for (int j = 0; j < zones[i].length; j++) {
+        double updateWeight = zones[i][j] * (1 - alpha);
+        int prevI = (i > 0) ? (i - 1) : (zones.length - 1);
+        int nextI = (i < zones.length - 1) ? (i + 1) : 0;
+        int prevJ = (j > 0) ? (j - 1) : (zones[i].length - 1);
+        int nextJ = (j < zones[i].length - 1) ? (j + 1) : 0;
+        weights[prevI][prevJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        weights[nextI][prevJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        weights[nextI][nextJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        weights[prevI][nextJ] += (updateWeight * Heatmap.DIAGONAL_WEIGHT);
+        weights[i][j] += zones[i][j] * alpha;
+        weights[prevI][j] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+        weights[i][nextJ] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+        weights[nextI][j] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+        weights[i][prevJ] += (updateWeight * Heatmap.ORDINAL_WEIGHT);
+      }
+    }
+    return weights;
+  }
+
+  private static void assertSameDiffusion(int rows, int cols, double alpha, long seed) {
+    Random rng = new Random(seed);
+    double[][] zones = new double[rows][cols];
+    Heatmap heatmap = new Heatmap(rows, cols);
+    for (int i = 0; i < rows; i++) {
+      for (int j = 0; j < cols; j++) {
+        zones[i][j] = rng.getRandomProbability();
+        heatmap.set(i, j, zones[i][j]);
+      }
+    }
+    for (int t = 0; t < HeatmapTest.STEPS; t++) {
+      zones = HeatmapTest.computeWeights(zones, alpha);
+      heatmap.diffuse(alpha);
+      for (int i = 0; i < rows; i++) {
+        for (int j = 0; j < cols; j++) {
+          assertEquals(String.format("%dx%d alpha=%.2f step %d zone (%d, %d)", rows, cols, alpha, t, i, j),
+              Double.doubleToLongBits(zones[i][j]), Double.doubleToLongBits(heatmap.get(i, j)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void diffusionShouldMatchTheOldScatterExactly() {
+    int[][] shapes = {{64, 64}, {3, 3}, {5, 17}, {31, 9}, {33, 64}};
+    for (int[] shape : shapes) {
+      for (double alpha : new double[] {0., .3, .85}) {
+        HeatmapTest.assertSameDiffusion(shape[0], shape[1], alpha, 42 + shape[0] * shape[1]);
+      }
+    }
+  }
+
+  @Test
+  public void narrowGridsShouldMatchTheOldScatterExactly() {
+    int[][] shapes = {{1, 1}, {1, 8}, {2, 2}, {2, 9}, {12, 2}};
+    for (int[] shape : shapes) {
+      HeatmapTest.assertSameDiffusion(shape[0], shape[1], .3, 7 + shape[0] * shape[1]);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.seat.sim.common.gui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.imageio.ImageIO;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.scenario.Snapshot;
+
+/**
+ * Draws every nth snapshot it is given into an image, as GUIGridFrame would show it, and writes the images
+ * as a numbered PNG sequence (prefix_000000.png, ...) that e.g. ffmpeg can turn into a video. Drawing and
+ * encoding happen on a background thread, so nothing needs a display; the caller only waits when more
+ * than a few frames are queued behind the encoder.
+ */
+public class FrameExporter implements AutoCloseable {
+
+  public static final int DEFAULT_EVERY = 1;
+
+  private static final int MARGIN = 8;
+  private static final int QUEUE_SIZE = 8;
+
+  private volatile Optional<Throwable> error;
+  private int every;
+  private int frames;
+  private String prefix;
+  private BlockingQueue<Optional<Snapshot>> queue;
+  private GridRenderer renderer;
+  private int snaps;
+  private Thread thread;
+
+  public FrameExporter(String prefix, Grid grid) {
+    this(prefix, grid, FrameExporter.DEFAULT_EVERY);
+  }
+
+  public FrameExporter(String prefix, Grid grid, int every) {
+    this.prefix = prefix;
+    File parent = new File(prefix).getAbsoluteFile().getParentFile();
+    if (parent != null) {
+      parent.mkdirs();
+    }
+    this.renderer = new GridRenderer(grid);
+    this.every = Math.max(every, 1);
+    this.error = Optional.empty();
+    this.queue = new ArrayBlockingQueue<>(FrameExporter.QUEUE_SIZE);
+    this.thread = new Thread(this::encode, "frame-exporter");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  private void encode() {
+    int frame = 0;
+    try {
+      while (true) {
+        Optional<Snapshot> snap = this.queue.take();
+        if (snap.isEmpty()) {
+          return;
+        }
+        File file = new File(String.format("%s_%06d.png", this.prefix, frame++));
+        if (!ImageIO.write(this.render(snap.get()), "png", file)) {
+          throw new IOException(String.format("No PNG encoder to write %s", file));
+        }
+      }
+    } catch (Throwable e) {
+      this.error = Optional.of(e);
+      // unblocks a caller waiting on a full queue, as the frames it holds will never be taken
+      this.queue.clear();
+    }
+  }
+
+  private BufferedImage render(Snapshot snap) {
+    BufferedImage image = new BufferedImage(
+        this.renderer.getGrid().getWidth() + 1 + 2 * FrameExporter.MARGIN,
+        this.renderer.getGrid().getHeight() + 1 + 2 * FrameExporter.MARGIN,
+        BufferedImage.TYPE_INT_RGB);
+    Graphics2D g2d = image.createGraphics();
+    g2d.setPaint(Color.WHITE);
+    g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+    this.renderer.draw(g2d, FrameExporter.MARGIN, FrameExporter.MARGIN, snap);
+    g2d.dispose();
+    return image;
+  }
+
+  private void rethrow() throws CommonException {
+    if (this.error.isPresent()) {
+      throw new CommonException(String.format("Frame export to %s failed: %s", this.prefix, this.error.get()),
+          this.error.get());
+    }
+  }
+
+  /** Waits for the queued frames to be written. */
+  public void close() throws CommonException {
+    try {
+      if (this.thread.isAlive()) {
+        this.queue.put(Optional.empty());
+      }
+      this.thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CommonException(e.getMessage());
+    }
+    this.rethrow();
+  }
+
+  public void export(Snapshot snap) throws CommonException {
+    this.rethrow();
+    if (this.snaps++ % this.every != 0) {
+      return;
+    }
+    try {
+      this.queue.put(Optional.of(snap));
+      this.frames++;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  /** Returns the number of frames queued so far, written or not. */
+  public int getFrameCount() {
+    return this.frames;
+  }
+}
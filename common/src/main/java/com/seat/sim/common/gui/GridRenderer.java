@@ -0,0 +1,118 @@
+package com.seat.sim.common.gui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.ZoneType;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.scenario.Snapshot;
+
+/**
+ * Draws the remotes of a snapshot over their grid. The grid never changes during a trial, so its outline,
+ * blocked zones and lines are drawn once into an image that each frame starts from.
+ */
+public class GridRenderer {
+
+  private static final Color DEFAULT_GRID_COLOR = Color.DARK_GRAY;
+  private static final Color DEFAULT_GRID_LINES_COLOR = Color.LIGHT_GRAY;
+  private static final int DEFAULT_POINT_SIZE = 4;
+
+  private BufferedImage background;
+  private Grid grid;
+
+  public GridRenderer(Grid grid) {
+    this.grid = grid;
+  }
+
+  private static Color getColor(TeamColor team) {
+    switch (team) {
+      case BLUE: return Color.BLUE;
+      case CYAN: return Color.CYAN;
+      case GRAY: return Color.GRAY;
+      case GREEN: return Color.GREEN;
+      case MAGENTA: return Color.MAGENTA;
+      case ORANGE: return Color.ORANGE;
+      case PINK: return Color.PINK;
+      case RED: return Color.RED;
+      case YELLOW: return Color.YELLOW;
+      default: return Color.BLACK;
+    }
+  }
+
+  private BufferedImage drawBackground() {
+    // one pixel wider and taller than the grid, as the outline is drawn on its far edges too
+    BufferedImage image = new BufferedImage(this.grid.getWidth() + 1, this.grid.getHeight() + 1,
+        BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2d = image.createGraphics();
+    this.drawZones(g2d);
+    this.drawGridLines(g2d);
+    g2d.dispose();
+    return image;
+  }
+
+  private void drawGridLines(Graphics2D g2d) {
+    if (this.grid.getZoneSize() < GridRenderer.DEFAULT_POINT_SIZE + 4) {
+      return;
+    }
+    g2d.setPaint(GridRenderer.DEFAULT_GRID_LINES_COLOR);
+    for (int i = this.grid.getZoneSize(); i < this.grid.getWidth(); i += this.grid.getZoneSize()) {
+      g2d.drawLine(i, 0, i, this.grid.getHeight());
+    }
+    for (int j = this.grid.getZoneSize(); j < this.grid.getHeight(); j += this.grid.getZoneSize()) {
+      g2d.drawLine(0, j, this.grid.getWidth(), j);
+    }
+  }
+
+  private void drawPoints(Graphics2D g2d, int x, int y, Snapshot snap) {
+    for (RemoteState remoteState : snap.getRemoteStates()) {
+      if (remoteState.isDone() || !remoteState.isEnabled() || !remoteState.hasLocation()) {
+        continue;
+      }
+      g2d.setPaint(GridRenderer.getColor(remoteState.getTeam()));
+      g2d.fillOval(
+        x + (int) Math.round(remoteState.getLocation().getX()) - GridRenderer.DEFAULT_POINT_SIZE / 2,
+        y + (int) Math.round(remoteState.getLocation().getY()) - GridRenderer.DEFAULT_POINT_SIZE / 2,
+        GridRenderer.DEFAULT_POINT_SIZE,
+        GridRenderer.DEFAULT_POINT_SIZE
+      );
+    }
+  }
+
+  private void drawZones(Graphics2D g2d) {
+    g2d.setPaint(GridRenderer.DEFAULT_GRID_COLOR);
+    g2d.drawRect(0, 0, this.grid.getWidth(), this.grid.getHeight());
+    if (!this.grid.hasZones()) {
+      return;
+    }
+    for (int y = 0; y < this.grid.getHeightInZones(); y++) {
+      for (int x = 0; x < this.grid.getWidthInZones(); x++) {
+        if (!this.grid.getZone(y, x).hasZoneType(ZoneType.BLOCKED)) {
+          continue;
+        }
+        g2d.fillRect(x * this.grid.getZoneSize(), y * this.grid.getZoneSize(), this.grid.getZoneSize(),
+            this.grid.getZoneSize());
+      }
+    }
+  }
+
+  /** Draws the grid with its top left corner at (x, y), then the remotes of the snapshot if there is one. */
+  public void draw(Graphics2D g2d, int x, int y, Snapshot snap) {
+    g2d.drawImage(this.getBackground(), x, y, null);
+    if (snap != null) {
+      this.drawPoints(g2d, x, y, snap);
+    }
+  }
+
+  public BufferedImage getBackground() {
+    if (this.background == null) {
+      this.background = this.drawBackground();
+    }
+    return this.background;
+  }
+
+  public Grid getGrid() {
+    return this.grid;
+  }
+}
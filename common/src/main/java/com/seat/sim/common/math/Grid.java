@@ -17,7 +17,9 @@ public class Grid extends Jsonable {
   public static final String ZONES = "zones";
   public static final String ZONE_SIZE = "zone_size";
 
+  private volatile Optional<long[]> blocked; // row-major bitmap of BLOCKED zones, built on first use
   private int height; // number of zones in each column of the grid
+  private volatile Optional<Zone[][]> table; // default zones of a grid without zones, built on first use
   private int width; // number of zones in each row of the grid
   private Optional<Zone[][]> zones;
   private int zoneSize; // zones in the same map grid must have a uniform size
@@ -35,6 +37,8 @@ public class Grid extends Jsonable {
     this.height = height;
     this.zoneSize = zoneSize;
     this.zones = (zones != null) ? zones : Optional.empty();
+    this.blocked = Optional.empty();
+    this.table = Optional.empty();
   }
 
   public Grid(BufferedImage img) {
@@ -71,6 +75,8 @@ public class Grid extends Jsonable {
     this.width = json.getInt(Grid.GRID_WIDTH);
     this.height = json.getInt(Grid.GRID_HEIGHT);
     this.zoneSize = json.getInt(Grid.ZONE_SIZE);
+    this.blocked = Optional.empty();
+    this.table = Optional.empty();
     if (json.hasKey(Grid.ZONES)) {
       this.zones = Optional.of(new Zone[this.height][this.width]);
       JsonArray jsonZones = json.getJsonArray(Grid.ZONES);
@@ -85,6 +91,49 @@ public class Grid extends Jsonable {
     }
   }
 
+  private long[] computeBlocked() {
+    long[] bitmap = new long[(this.width * this.height + 63) >>> 6];
+    if (!this.hasZones()) {
+      return bitmap;
+    }
+    for (int row = 0; row < this.height; row++) {
+      for (int col = 0; col < this.width; col++) {
+        if (this.getZones()[row][col].hasZoneType(ZoneType.BLOCKED)) {
+          int bit = row * this.width + col;
+          bitmap[bit >>> 6] |= 1L << bit;
+        }
+      }
+    }
+    return bitmap;
+  }
+
+  private Zone[][] computeZoneTable() {
+    Zone[][] zones = new Zone[this.height][this.width];
+    for (int row = 0; row < this.height; row++) {
+      for (int col = 0; col < this.width; col++) {
+        zones[row][col] = new Zone(
+            new Vector(
+                col * this.zoneSize + this.zoneSize / 2.,
+                row * this.zoneSize + this.zoneSize / 2.
+              ),
+            this.zoneSize
+          );
+      }
+    }
+    return zones;
+  }
+
+  private Zone[][] getZoneTable() {
+    if (this.table.isEmpty()) {
+      synchronized (this) {
+        if (this.table.isEmpty()) {
+          this.table = Optional.of(this.computeZoneTable());
+        }
+      }
+    }
+    return this.table.get();
+  }
+
   protected JsonObjectBuilder getJsonBuilder() throws JsonException {
     JsonObjectBuilder json = JsonBuilder.Object();
     json.put(Grid.GRID_WIDTH, this.width);
@@ -115,6 +164,22 @@ public class Grid extends Jsonable {
     return Optional.empty();
   }
 
+  /**
+   * Returns the row-major bitmap of BLOCKED zones, where bit (row * widthInZones + col) is set if that
+   * zone is blocked. The bitmap is shared and must not be modified. It is built once, even when parallel
+   * updates trace rays from several threads at once.
+   */
+  public long[] getBlockedBitmap() {
+    if (this.blocked.isEmpty()) {
+      synchronized (this) {
+        if (this.blocked.isEmpty()) {
+          this.blocked = Optional.of(this.computeBlocked());
+        }
+      }
+    }
+    return this.blocked.get();
+  }
+
   public int getHeight() {
     return this.height * this.zoneSize;
   }
@@ -195,15 +260,6 @@ public class Grid extends Jsonable {
     if (col < 0 || this.width <= col) {
       throw new CommonException(new IndexOutOfBoundsException(col).toString());
     }
-    if (!this.hasZones()) {
-      return new Zone(
-          new Vector(
-              col * this.zoneSize + this.zoneSize / 2.,
-              row * this.zoneSize + this.zoneSize / 2.
-          ),
-          this.zoneSize
-        );
-    }
     return this.getZones()[row][col];
   }
 
@@ -226,23 +282,16 @@ public class Grid extends Jsonable {
     return this.getZoneAtLocation(location.getX(), location.getY());
   }
 
+  /**
+   * Returns the zones of the grid indexed by [row][col]. A grid without zones hands out the same cached
+   * table of default zones on every call, so zones may be compared by identity. The table is shared and
+   * must not be modified.
+   */
   public Zone[][] getZones() {
     if (this.zones.isPresent()) {
       return this.zones.get();
     }
-    Zone[][] zones = new Zone[this.width][this.height];
-    for (int y = 0; y < this.getHeightInZones(); y++) {
-      for (int x = 0; x < this.getWidthInZones(); x++) {
-        zones[y][x] = new Zone(
-            new Vector(
-                this.zoneSize * x + this.zoneSize / 2.,
-                this.zoneSize * y + this.zoneSize / 2.
-              ),
-            this.zoneSize
-          );
-      }
-    }
-    return zones;
+    return this.getZoneTable();
   }
 
   public int getZoneSize() {
@@ -261,6 +310,23 @@ public class Grid extends Jsonable {
     return this.zones.isPresent();
   }
 
+  /** Returns true if the zone at row, col is BLOCKED; cells outside of the grid are never blocked. */
+  public boolean isBlocked(int row, int col) {
+    if (row < 0 || this.height <= row || col < 0 || this.width <= col) {
+      return false;
+    }
+    int bit = row * this.width + col;
+    return (this.getBlockedBitmap()[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  public boolean isBlockedAtLocation(double x, double y) {
+    return this.hasZoneAtLocation(x, y) && this.isBlocked((int) (y / this.zoneSize), (int) (x / this.zoneSize));
+  }
+
+  public boolean isBlockedAtLocation(Vector location) {
+    return this.isBlockedAtLocation(location.getX(), location.getY());
+  }
+
   public Json toJson() throws JsonException {
     return this.getJsonBuilder().toJson();
   }
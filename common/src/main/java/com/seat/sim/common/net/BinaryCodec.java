@@ -0,0 +1,531 @@
+package com.seat.sim.common.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.gui.TeamColor;
+import com.seat.sim.common.math.PhysicsState;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.remote.intent.ActivateIntention;
+import com.seat.sim.common.remote.intent.DeactivateIntention;
+import com.seat.sim.common.remote.intent.GoToIntention;
+import com.seat.sim.common.remote.intent.IntentRegistry;
+import com.seat.sim.common.remote.intent.Intention;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.remote.intent.IntentionType;
+import com.seat.sim.common.remote.intent.MoveIntention;
+import com.seat.sim.common.remote.intent.PushIntention;
+import com.seat.sim.common.remote.intent.SteerIntention;
+import com.seat.sim.common.scenario.ScenarioStatus;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.sensor.SensorState;
+
+/**
+ * A compact binary encoding of snapshots and intentions. Vectors are written as primitive doubles, enums
+ * as their types, and lengths as varints. Strings are interned per message so that repeated remote IDs
+ * (e.g. sensor subjects) are written once and then referenced by index.
+ */
+public class BinaryCodec {
+
+  private static final int HAS_FUEL = 0x2;
+  private static final int HAS_MAX_ACCELERATION = 0x4;
+  private static final int HAS_MAX_VELOCITY = 0x2;
+  private static final int HAS_STATE = 0x1;
+  private static final int HAS_LOCATION = 0x1;
+  private static final int IS_ACTIVE = 0x4;
+  private static final int IS_DONE = 0x8;
+
+  private boolean canonical;
+  private Map<String, Integer> symbols;
+  private List<String> table;
+
+  public BinaryCodec() {
+    this.symbols = new HashMap<>();
+    this.table = new ArrayList<>();
+  }
+
+  private static boolean isSame(double a, double b) {
+    return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+  }
+
+  private static boolean isSame(Vector a, Vector b) {
+    return BinaryCodec.isSame(a.getX(), b.getX()) && BinaryCodec.isSame(a.getY(), b.getY()) &&
+        BinaryCodec.isSame(a.getZ(), b.getZ());
+  }
+
+  /**
+   * Returns true if the state would be written as the same bytes as the one in the baseline, so that a delta
+   * can leave it out. RemoteState.equals is not enough, as it lets fuel and speed limits drift within
+   * Vector.near, and the receiver would never see that drift.
+   */
+  private static boolean isUnchanged(RemoteState prev, RemoteState state) {
+    if (!prev.equals(state) || (state.hasFuel() && !BinaryCodec.isSame(prev.getFuelAmount(),
+        state.getFuelAmount()))) {
+      return false;
+    }
+    if (!state.hasPhysicsState()) {
+      return true;
+    }
+    PhysicsState a = prev.getPhysicsState(), b = state.getPhysicsState();
+    return (!b.hasLocation() || BinaryCodec.isSame(a.getLocation(), b.getLocation())) &&
+        BinaryCodec.isSame(a.getVelocity(), b.getVelocity()) &&
+        BinaryCodec.isSame(a.getMaxVelocity(), b.getMaxVelocity()) &&
+        BinaryCodec.isSame(a.getMaxAcceleration(), b.getMaxAcceleration());
+  }
+
+  private PhysicsState readPhysicsState(DataInputStream in) throws IOException {
+    int flags = in.readUnsignedByte();
+    Vector location = ((flags & BinaryCodec.HAS_LOCATION) != 0) ? this.readVector(in) : null;
+    Vector velocity = this.readVector(in);
+    double maxVelocity = ((flags & BinaryCodec.HAS_MAX_VELOCITY) != 0)
+        ? in.readDouble()
+        : Double.POSITIVE_INFINITY;
+    double maxAcceleration = ((flags & BinaryCodec.HAS_MAX_ACCELERATION) != 0)
+        ? in.readDouble()
+        : Double.POSITIVE_INFINITY;
+    return new PhysicsState(location, velocity, maxVelocity, maxAcceleration);
+  }
+
+  private Intention readIntention(DataInputStream in) throws IOException {
+    IntentionType intentionType = IntentionType.Value(BinaryCodec.readVarInt(in));
+    switch (intentionType) {
+      case ACTIVATE:
+        return IntentRegistry.ActivateSensors(this.readStrings(in));
+      case DEACTIVATE:
+        return IntentRegistry.DeactivateSensors(this.readStrings(in));
+      case DONE:
+        return IntentRegistry.Done();
+      case GOTO: {
+        int flags = in.readUnsignedByte();
+        if ((flags & BinaryCodec.HAS_LOCATION) == 0) {
+          return IntentRegistry.GoHome();
+        }
+        Vector location = this.readVector(in);
+        double maxVelocity = ((flags & BinaryCodec.HAS_MAX_VELOCITY) != 0)
+            ? in.readDouble()
+            : Double.POSITIVE_INFINITY;
+        if ((flags & BinaryCodec.HAS_MAX_ACCELERATION) != 0) {
+          return IntentRegistry.GoTo(location, maxVelocity, in.readDouble());
+        }
+        if (Double.isFinite(maxVelocity)) {
+          return IntentRegistry.GoTo(location, maxVelocity);
+        }
+        return IntentRegistry.GoTo(location);
+      }
+      case MOVE:
+        return IntentRegistry.Move(this.readVector(in));
+      case PUSH:
+        return IntentRegistry.Push(this.readVector(in));
+      case SHUTDOWN:
+        return IntentRegistry.Shutdown();
+      case STARTUP:
+        return IntentRegistry.Startup();
+      case STEER:
+        return (in.readBoolean()) ? IntentRegistry.Steer(this.readVector(in)) : IntentRegistry.Steer();
+      case STOP:
+        return IntentRegistry.Stop();
+      default:
+        return IntentRegistry.None();
+    }
+  }
+
+  private IntentionSet readIntentionSet(DataInputStream in) throws IOException {
+    IntentionSet intentions = new IntentionSet(this.readString(in));
+    int count = BinaryCodec.readVarInt(in);
+    for (int i = 0; i < count; i++) {
+      intentions.addIntention(this.readIntention(in));
+    }
+    return intentions;
+  }
+
+  private RemoteState readRemoteState(DataInputStream in) throws IOException {
+    String remoteID = this.readString(in);
+    Set<String> tags = this.readStrings(in);
+    TeamColor team = TeamColor.Value(BinaryCodec.readVarInt(in));
+    int flags = in.readUnsignedByte();
+    PhysicsState state = ((flags & BinaryCodec.HAS_STATE) != 0) ? this.readPhysicsState(in) : null;
+    double fuel = ((flags & BinaryCodec.HAS_FUEL) != 0) ? in.readDouble() : Double.NaN;
+    int count = BinaryCodec.readVarInt(in);
+    List<SensorState> sensorStates = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      sensorStates.add(this.readSensorState(in));
+    }
+    boolean active = (flags & BinaryCodec.IS_ACTIVE) != 0;
+    boolean done = (flags & BinaryCodec.IS_DONE) != 0;
+    if (state != null && !Double.isNaN(fuel)) {
+      return new RemoteState(remoteID, tags, team, state, fuel, sensorStates, active, done);
+    }
+    if (state != null) {
+      return new RemoteState(remoteID, tags, team, state, sensorStates, active, done);
+    }
+    if (!Double.isNaN(fuel)) {
+      return new RemoteState(remoteID, tags, team, fuel, sensorStates, active, done);
+    }
+    return new RemoteState(remoteID, tags, team, sensorStates, active, done);
+  }
+
+  private SensorState readSensorState(DataInputStream in) throws IOException {
+    String sensorID = this.readString(in);
+    String sensorModel = this.readString(in);
+    Set<String> tags = this.readStrings(in);
+    Set<String> subjects = this.readStrings(in);
+    return new SensorState(sensorID, sensorModel, tags, subjects, in.readBoolean());
+  }
+
+  private String readString(DataInputStream in) throws IOException {
+    int index = BinaryCodec.readVarInt(in);
+    if (index > 0) {
+      return this.table.get(index - 1);
+    }
+    byte[] bytes = new byte[BinaryCodec.readVarInt(in)];
+    in.readFully(bytes);
+    String symbol = new String(bytes, StandardCharsets.UTF_8);
+    this.table.add(symbol);
+    return symbol;
+  }
+
+  private Set<String> readStrings(DataInputStream in) throws IOException {
+    int count = BinaryCodec.readVarInt(in);
+    Set<String> strings = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      strings.add(this.readString(in));
+    }
+    return strings;
+  }
+
+  private Vector readVector(DataInputStream in) throws IOException {
+    return new Vector(in.readDouble(), in.readDouble(), in.readDouble());
+  }
+
+  private void reset() {
+    this.symbols.clear();
+    this.table.clear();
+  }
+
+  private void writeIntention(DataOutputStream out, Intention intent) throws IOException {
+    BinaryCodec.writeVarInt(out, intent.getIntentionType().getType());
+    switch (intent.getIntentionType()) {
+      case ACTIVATE:
+        this.writeStrings(out, ((ActivateIntention) intent).getActivations());
+        break;
+      case DEACTIVATE:
+        this.writeStrings(out, ((DeactivateIntention) intent).getDeactivations());
+        break;
+      case GOTO: {
+        GoToIntention goTo = (GoToIntention) intent;
+        int flags = 0;
+        if (goTo.hasLocation()) flags |= BinaryCodec.HAS_LOCATION;
+        if (goTo.hasMaxVelocity()) flags |= BinaryCodec.HAS_MAX_VELOCITY;
+        if (goTo.hasMaxAcceleration()) flags |= BinaryCodec.HAS_MAX_ACCELERATION;
+        out.writeByte(flags);
+        if (!goTo.hasLocation()) {
+          break;
+        }
+        this.writeVector(out, goTo.getLocation());
+        if (goTo.hasMaxVelocity()) {
+          out.writeDouble(goTo.getMaxVelocity());
+        }
+        if (goTo.hasMaxAcceleration()) {
+          out.writeDouble(goTo.getMaxAcceleration());
+        }
+        break;
+      }
+      case MOVE:
+        this.writeVector(out, ((MoveIntention) intent).getAcceleration());
+        break;
+      case PUSH:
+        this.writeVector(out, ((PushIntention) intent).getForce());
+        break;
+      case STEER: {
+        SteerIntention steer = (SteerIntention) intent;
+        out.writeBoolean(steer.hasDirection());
+        if (steer.hasDirection()) {
+          this.writeVector(out, steer.getDirection());
+        }
+        break;
+      }
+      default:
+        break;
+    }
+  }
+
+  private void writeIntentionSet(DataOutputStream out, IntentionSet intentions) throws IOException {
+    this.writeString(out, intentions.getRemoteID());
+    Collection<Intention> intents = intentions.getIntentions();
+    BinaryCodec.writeVarInt(out, intents.size());
+    for (Intention intent : intents) {
+      this.writeIntention(out, intent);
+    }
+  }
+
+  private void writePhysicsState(DataOutputStream out, PhysicsState state) throws IOException {
+    int flags = 0;
+    if (state.hasLocation()) flags |= BinaryCodec.HAS_LOCATION;
+    if (state.hasMaxVelocity()) flags |= BinaryCodec.HAS_MAX_VELOCITY;
+    if (state.hasMaxAcceleration()) flags |= BinaryCodec.HAS_MAX_ACCELERATION;
+    out.writeByte(flags);
+    if (state.hasLocation()) {
+      this.writeVector(out, state.getLocation());
+    }
+    this.writeVector(out, state.getVelocity());
+    if (state.hasMaxVelocity()) {
+      out.writeDouble(state.getMaxVelocity());
+    }
+    if (state.hasMaxAcceleration()) {
+      out.writeDouble(state.getMaxAcceleration());
+    }
+  }
+
+  private void writeRemoteState(DataOutputStream out, RemoteState state) throws IOException {
+    this.writeString(out, state.getRemoteID());
+    this.writeStrings(out, state.getTags());
+    BinaryCodec.writeVarInt(out, state.getTeam().getType());
+    int flags = 0;
+    if (state.hasPhysicsState()) flags |= BinaryCodec.HAS_STATE;
+    if (state.hasFuel()) flags |= BinaryCodec.HAS_FUEL;
+    if (state.isActive()) flags |= BinaryCodec.IS_ACTIVE;
+    if (state.isDone()) flags |= BinaryCodec.IS_DONE;
+    out.writeByte(flags);
+    if (state.hasPhysicsState()) {
+      this.writePhysicsState(out, state.getPhysicsState());
+    }
+    if (state.hasFuel()) {
+      out.writeDouble(state.getFuelAmount());
+    }
+    Collection<SensorState> sensorStates = state.getSensorStates();
+    BinaryCodec.writeVarInt(out, sensorStates.size());
+    for (SensorState sensorState : sensorStates) {
+      this.writeSensorState(out, sensorState);
+    }
+  }
+
+  private void writeSensorState(DataOutputStream out, SensorState state) throws IOException {
+    this.writeString(out, state.getSensorID());
+    this.writeString(out, state.getSensorModel());
+    this.writeStrings(out, state.getTags());
+    this.writeStrings(out, state.getSubjects());
+    out.writeBoolean(state.isActive());
+  }
+
+  private void writeString(DataOutputStream out, String symbol) throws IOException {
+    Integer index = this.symbols.get(symbol);
+    if (index != null) {
+      BinaryCodec.writeVarInt(out, index);
+      return;
+    }
+    this.symbols.put(symbol, this.symbols.size() + 1);
+    byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+    BinaryCodec.writeVarInt(out, 0);
+    BinaryCodec.writeVarInt(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+    BinaryCodec.writeVarInt(out, strings.size());
+    Collection<String> ordered = (this.canonical) ? strings.stream().sorted().toList() : strings;
+    for (String symbol : ordered) {
+      this.writeString(out, symbol);
+    }
+  }
+
+  private void writeVector(DataOutputStream out, Vector vec) throws IOException {
+    out.writeDouble(vec.getX());
+    out.writeDouble(vec.getY());
+    out.writeDouble(vec.getZ());
+  }
+
+  /**
+   * Returns a CRC-32 of the snapshot without its hash, with remote states and every set of strings written in
+   * sorted order, so that equal snapshots have equal checksums however their collections iterate.
+   */
+  public long checksum(Snapshot snap) throws CommonException {
+    this.reset();
+    this.canonical = true;
+    CRC32 crc = new CRC32();
+    try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(OutputStream.nullOutputStream(), crc))) {
+      this.writeString(out, snap.getScenarioID());
+      BinaryCodec.writeVarInt(out, snap.getStatus().getType());
+      out.writeDouble(snap.getTime());
+      out.writeDouble(snap.getStepSize());
+      this.writeStrings(out, snap.getActiveRemoteIDs());
+      this.writeStrings(out, snap.getDynamicRemoteIDs());
+      List<RemoteState> remoteStates = new ArrayList<>(snap.getRemoteStates());
+      remoteStates.sort(Comparator.comparing(RemoteState::getRemoteID));
+      BinaryCodec.writeVarInt(out, remoteStates.size());
+      for (RemoteState state : remoteStates) {
+        this.writeRemoteState(out, state);
+      }
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    } finally {
+      this.canonical = false;
+    }
+    return crc.getValue();
+  }
+
+  public Map<String, IntentionSet> decodeIntentions(byte[] bytes) throws CommonException {
+    this.reset();
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      int count = BinaryCodec.readVarInt(in);
+      HashMap<String, IntentionSet> controllers = new HashMap<>();
+      for (int i = 0; i < count; i++) {
+        IntentionSet controller = this.readIntentionSet(in);
+        if (controller.hasIntentions()) {
+          controllers.put(controller.getRemoteID(), controller);
+        }
+      }
+      return controllers;
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public Snapshot decodeSnapshot(byte[] bytes) throws CommonException {
+    return this.decodeSnapshot(bytes, new HashMap<>(), false);
+  }
+
+  /**
+   * Decodes a snapshot written by encodeSnapshotDelta and applies it to the baseline, which must mirror
+   * the baseline the encoder used. The baseline is updated in place to the full view.
+   */
+  public Snapshot decodeSnapshotDelta(byte[] bytes, Map<String, RemoteState> baseline) throws CommonException {
+    return this.decodeSnapshot(bytes, baseline, true);
+  }
+
+  private Snapshot decodeSnapshot(byte[] bytes, Map<String, RemoteState> baseline, boolean delta)
+      throws CommonException {
+    this.reset();
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      String hash = this.readString(in);
+      String scenarioID = this.readString(in);
+      ScenarioStatus status = ScenarioStatus.Value(BinaryCodec.readVarInt(in));
+      double time = in.readDouble();
+      double stepSize = in.readDouble();
+      Set<String> activeRemoteIDs = this.readStrings(in);
+      Set<String> dynamicRemoteIDs = this.readStrings(in);
+      if (delta) {
+        for (String remoteID : this.readStrings(in)) {
+          baseline.remove(remoteID);
+        }
+      }
+      int count = BinaryCodec.readVarInt(in);
+      for (int i = 0; i < count; i++) {
+        RemoteState state = this.readRemoteState(in);
+        baseline.put(state.getRemoteID(), state);
+      }
+      return new Snapshot(hash, scenarioID, status, time, stepSize, activeRemoteIDs, dynamicRemoteIDs,
+          baseline);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public byte[] encodeIntentions(Collection<IntentionSet> intentions) throws CommonException {
+    this.reset();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      if (intentions == null) {
+        BinaryCodec.writeVarInt(out, 0);
+      } else {
+        BinaryCodec.writeVarInt(out, intentions.size());
+        for (IntentionSet intention : intentions) {
+          this.writeIntentionSet(out, intention);
+        }
+      }
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+    return bytes.toByteArray();
+  }
+
+  public byte[] encodeSnapshot(Snapshot snap) throws CommonException {
+    return this.encodeSnapshot(snap, new HashMap<>(), false);
+  }
+
+  /**
+   * Encodes only the remote states that differ from the baseline, plus the IDs of remotes that are no
+   * longer present. The baseline is updated in place to the states that were sent.
+   */
+  public byte[] encodeSnapshotDelta(Snapshot snap, Map<String, RemoteState> baseline) throws CommonException {
+    return this.encodeSnapshot(snap, baseline, true);
+  }
+
+  private byte[] encodeSnapshot(Snapshot snap, Map<String, RemoteState> baseline, boolean delta)
+      throws CommonException {
+    this.reset();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      this.writeString(out, snap.getHash());
+      this.writeString(out, snap.getScenarioID());
+      BinaryCodec.writeVarInt(out, snap.getStatus().getType());
+      out.writeDouble(snap.getTime());
+      out.writeDouble(snap.getStepSize());
+      this.writeStrings(out, snap.getActiveRemoteIDs());
+      this.writeStrings(out, snap.getDynamicRemoteIDs());
+      List<RemoteState> remoteStates = new ArrayList<>();
+      for (RemoteState state : snap.getRemoteStates()) {
+        RemoteState prev = baseline.get(state.getRemoteID());
+        if (prev == null || !BinaryCodec.isUnchanged(prev, state)) {
+          remoteStates.add(state);
+        }
+      }
+      if (delta) {
+        List<String> removed = new ArrayList<>();
+        for (String remoteID : baseline.keySet()) {
+          if (!snap.hasRemoteStateWithID(remoteID)) {
+            removed.add(remoteID);
+          }
+        }
+        this.writeStrings(out, removed);
+        baseline.keySet().removeAll(removed);
+      }
+      BinaryCodec.writeVarInt(out, remoteStates.size());
+      for (RemoteState state : remoteStates) {
+        this.writeRemoteState(out, state);
+        if (delta) {
+          baseline.put(state.getRemoteID(), state);
+        }
+      }
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+    return bytes.toByteArray();
+  }
+
+  public static int readVarInt(DataInputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  public static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+}
@@ -0,0 +1,183 @@
+package com.seat.sim.common.net;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.json.Json;
+import com.seat.sim.common.json.JsonException;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.scenario.Snapshot;
+
+/**
+ * A transport that frames messages as a kind byte and a varint length followed by a BinaryCodec payload.
+ * In delta mode each side keeps the remote states of the last snapshot sent or received in the current
+ * trial; the lockstep protocol means the client has applied a snapshot before it sends the intentions
+ * the server waits on, so the previous snapshot is always acknowledged.
+ */
+public class BinarySocket implements Transport {
+
+  /** Sent by the client on connect; a JSON line can never begin with a zero byte. */
+  static final byte[] MAGIC = new byte[]{0, 'C', 'A', 'S', 1};
+
+  private static final int CONFIG = 1;
+  private static final int INTENTIONS = 2;
+  private static final int SNAPSHOT = 3;
+  private static final int SNAPSHOT_DELTA = 4;
+
+  /** Handshake option requesting that snapshots be sent as deltas against the previous snapshot. */
+  private static final int OPTION_DELTA = 0x1;
+
+  public static BinarySocket Client(String address, int port) throws CommonException {
+    return BinarySocket.Client(address, port, false);
+  }
+
+  public static BinarySocket Client(String address, int port, boolean delta) throws CommonException {
+    try {
+      Socket socket = new Socket(address, port);
+      BinarySocket binarySocket = new BinarySocket(socket, socket.getInputStream(), delta);
+      binarySocket.out.write(BinarySocket.MAGIC);
+      binarySocket.out.writeByte((delta) ? BinarySocket.OPTION_DELTA : 0);
+      binarySocket.out.flush();
+      return binarySocket;
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  /** Reads the handshake sent by Client and returns a server-side socket honoring its options. */
+  static BinarySocket Handshake(Socket socket, InputStream in) throws CommonException {
+    try {
+      byte[] magic = in.readNBytes(BinarySocket.MAGIC.length);
+      int options = in.read();
+      if (!Arrays.equals(magic, BinarySocket.MAGIC) || options < 0) {
+        throw new CommonException("Unsupported binary protocol handshake");
+      }
+      return new BinarySocket(socket, in, (options & BinarySocket.OPTION_DELTA) != 0);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  private Map<String, RemoteState> baseline;
+  private BinaryCodec decoder;
+  private boolean delta;
+  private BinaryCodec encoder;
+  private DataInputStream in;
+  private DataOutputStream out;
+  private Socket socket;
+
+  private BinarySocket(Socket socket, InputStream in, boolean delta) throws CommonException {
+    try {
+      this.socket = socket;
+      this.delta = delta;
+      this.baseline = new HashMap<>();
+      this.in = new DataInputStream(new BufferedInputStream(in));
+      this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      this.decoder = new BinaryCodec();
+      this.encoder = new BinaryCodec();
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  private byte[] getInputBlocking(int kind) throws CommonException {
+    try {
+      int received = this.in.read();
+      if (received < 0) {
+        throw new CommonException("Connection closed by peer");
+      }
+      if (received != kind) {
+        throw new CommonException(String.format("Expected message kind %d but received %d", kind, received));
+      }
+      byte[] payload = new byte[BinaryCodec.readVarInt(this.in)];
+      this.in.readFully(payload);
+      return payload;
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  private void send(int kind, byte[] payload) throws CommonException {
+    try {
+      this.out.writeByte(kind);
+      BinaryCodec.writeVarInt(this.out, payload.length);
+      this.out.write(payload);
+      this.out.flush();
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void close() throws CommonException {
+    try {
+      this.out.close();
+      this.in.close();
+      this.socket.close();
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public Map<String, IntentionSet> getIntentionsBlocking() throws CommonException {
+    return this.decoder.decodeIntentions(this.getInputBlocking(BinarySocket.INTENTIONS));
+  }
+
+  public int getPort() {
+    return this.socket.getPort();
+  }
+
+  public ScenarioConfig getScenarioConfigBlocking() throws CommonException {
+    byte[] payload = this.getInputBlocking(BinarySocket.CONFIG);
+    this.baseline.clear();
+    try {
+      return new ScenarioConfig(Json.of(new String(payload, StandardCharsets.UTF_8)));
+    } catch (JsonException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public Snapshot getSnapshotBlocking() throws CommonException {
+    if (this.delta) {
+      return this.decoder.decodeSnapshotDelta(this.getInputBlocking(BinarySocket.SNAPSHOT_DELTA), this.baseline);
+    }
+    return this.decoder.decodeSnapshot(this.getInputBlocking(BinarySocket.SNAPSHOT));
+  }
+
+  public boolean isDelta() {
+    return this.delta;
+  }
+
+  public void sendIntentions(Collection<IntentionSet> intentions) throws CommonException {
+    this.send(BinarySocket.INTENTIONS, this.encoder.encodeIntentions(intentions));
+  }
+
+  public void sendScenarioConfig(ScenarioConfig scenario) throws CommonException {
+    this.baseline.clear();
+    try {
+      this.send(BinarySocket.CONFIG, scenario.encode().getBytes(StandardCharsets.UTF_8));
+    } catch (JsonException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void sendSnapshot(Snapshot snap) throws CommonException {
+    if (this.delta) {
+      this.send(BinarySocket.SNAPSHOT_DELTA, this.encoder.encodeSnapshotDelta(snap, this.baseline));
+      return;
+    }
+    this.send(BinarySocket.SNAPSHOT, this.encoder.encodeSnapshot(snap));
+  }
+}
@@ -2,6 +2,7 @@ package com.seat.sim.common.net;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.InetAddress;
@@ -17,7 +18,7 @@ import com.seat.sim.common.remote.intent.IntentionSet;
 import com.seat.sim.common.scenario.ScenarioConfig;
 import com.seat.sim.common.scenario.Snapshot;
 
-public class JsonSocket {
+public class JsonSocket implements Transport {
 
   protected static final InetAddress DEFAULT_ADDRESS = InetAddress.getLoopbackAddress();
   protected static final int DEFAULT_PORT = 8080;
@@ -62,6 +63,18 @@ public class JsonSocket {
     }
   }
 
+  public static ServerSocket Listen() throws CommonException {
+    return JsonSocket.Listen(JsonSocket.DEFAULT_PORT);
+  }
+
+  public static ServerSocket Listen(int port) throws CommonException {
+    try {
+      return new ServerSocket(port);
+    } catch(IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
   public static JsonSocket Server() throws CommonException {
     return JsonSocket.Server(JsonSocket.DEFAULT_PORT);
   }
@@ -101,6 +114,17 @@ public class JsonSocket {
     }
   }
 
+  JsonSocket(Socket socket, InputStream in) throws CommonException {
+    try {
+      this.serverSocket = null;
+      this.clientSocket = socket;
+      this.in = new BufferedReader(new InputStreamReader(in));
+      this.out = new PrintWriter(this.clientSocket.getOutputStream(), true);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
   public void close() throws CommonException {
     try {
       this.out.close();
@@ -122,13 +146,11 @@ public class JsonSocket {
 
   public Json getInputBlocking() throws CommonException {
     try {
-      while (true) {
-        if (this.in.ready()) {
-          String encoding = in.readLine();
-          Json json = Json.of(encoding);
-          return json;
-        }
+      String encoding = this.in.readLine();
+      if (encoding == null) {
+        throw new CommonException("Connection closed by peer");
       }
+      return Json.of(encoding);
     } catch(IOException e) {
       throw new CommonException(e.getMessage());
     }
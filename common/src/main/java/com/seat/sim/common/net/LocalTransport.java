@@ -0,0 +1,118 @@
+package com.seat.sim.common.net;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.scenario.Snapshot;
+
+/** An in-memory transport that hands messages to its peer without encoding them. */
+public class LocalTransport implements Transport {
+
+  private static final Object CLOSED = new Object();
+
+  /** Returns one end of a connected pair; the other end is available from getPeer(). */
+  public static LocalTransport Pair() {
+    BlockingQueue<Object> toServer = new LinkedBlockingQueue<>();
+    BlockingQueue<Object> toClient = new LinkedBlockingQueue<>();
+    LocalTransport server = new LocalTransport(toServer, toClient);
+    LocalTransport client = new LocalTransport(toClient, toServer);
+    server.peer = client;
+    client.peer = server;
+    return client;
+  }
+
+  private boolean closed;
+  private BlockingQueue<Object> in;
+  private BlockingQueue<Object> out;
+  private LocalTransport peer;
+
+  private LocalTransport(BlockingQueue<Object> in, BlockingQueue<Object> out) {
+    this.in = in;
+    this.out = out;
+    this.closed = false;
+  }
+
+  private <T> T getInputBlocking(Class<T> cls) throws CommonException {
+    if (this.closed) {
+      throw new CommonException("Transport is closed");
+    }
+    Object msg;
+    try {
+      msg = this.in.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CommonException(e.getMessage());
+    }
+    if (msg == LocalTransport.CLOSED) {
+      this.closed = true;
+      throw new CommonException("Peer transport closed");
+    }
+    if (!cls.isInstance(msg)) {
+      throw new CommonException(String.format("Expected %s but received %s", cls.getSimpleName(),
+          msg.getClass().getSimpleName()));
+    }
+    return cls.cast(msg);
+  }
+
+  private void send(Object msg) throws CommonException {
+    if (this.closed) {
+      throw new CommonException("Transport is closed");
+    }
+    this.out.add(msg);
+  }
+
+  public void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    this.out.add(LocalTransport.CLOSED);
+  }
+
+  @SuppressWarnings("unchecked")
+  public Map<String, IntentionSet> getIntentionsBlocking() throws CommonException {
+    return this.getInputBlocking(Map.class);
+  }
+
+  public LocalTransport getPeer() {
+    return this.peer;
+  }
+
+  public ScenarioConfig getScenarioConfigBlocking() throws CommonException {
+    return this.getInputBlocking(ScenarioConfig.class);
+  }
+
+  public Snapshot getSnapshotBlocking() throws CommonException {
+    return this.getInputBlocking(Snapshot.class);
+  }
+
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  public void sendIntentions(Collection<IntentionSet> intentions) throws CommonException {
+    HashMap<String, IntentionSet> controllers = new HashMap<>();
+    if (intentions != null) {
+      for (IntentionSet controller : intentions) {
+        if (controller.hasIntentions()) {
+          controllers.put(controller.getRemoteID(), controller);
+        }
+      }
+    }
+    this.send(controllers);
+  }
+
+  public void sendScenarioConfig(ScenarioConfig scenario) throws CommonException {
+    this.send(scenario);
+  }
+
+  public void sendSnapshot(Snapshot snap) throws CommonException {
+    this.send(snap);
+  }
+}
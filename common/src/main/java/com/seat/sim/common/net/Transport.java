@@ -0,0 +1,27 @@
+package com.seat.sim.common.net;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.scenario.Snapshot;
+
+/** A bidirectional channel between an application client and a simulation server. */
+public interface Transport {
+
+  void close() throws CommonException;
+
+  Map<String, IntentionSet> getIntentionsBlocking() throws CommonException;
+
+  ScenarioConfig getScenarioConfigBlocking() throws CommonException;
+
+  Snapshot getSnapshotBlocking() throws CommonException;
+
+  void sendIntentions(Collection<IntentionSet> intentions) throws CommonException;
+
+  void sendScenarioConfig(ScenarioConfig scenario) throws CommonException;
+
+  void sendSnapshot(Snapshot snap) throws CommonException;
+}
@@ -0,0 +1,81 @@
+package com.seat.sim.common.net;
+
+import java.io.IOException;
+import java.io.PushbackInputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import com.seat.sim.common.core.CommonException;
+
+/** Static factories that negotiate between the JSON-line and binary wire formats. */
+public class TransportRegistry {
+
+  /** Accepts one client and returns a transport in whichever format the client opened with. */
+  public static Transport Accept(ServerSocket serverSocket) throws CommonException {
+    try {
+      return TransportRegistry.Negotiate(serverSocket.accept());
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public static Transport Client(WireFormat format) throws CommonException {
+    return TransportRegistry.Client(JsonSocket.DEFAULT_ADDRESS.getHostAddress(), JsonSocket.DEFAULT_PORT, format);
+  }
+
+  public static Transport Client(String address, WireFormat format) throws CommonException {
+    return TransportRegistry.Client(address, JsonSocket.DEFAULT_PORT, format);
+  }
+
+  public static Transport Client(int port, WireFormat format) throws CommonException {
+    return TransportRegistry.Client(JsonSocket.DEFAULT_ADDRESS.getHostAddress(), port, format);
+  }
+
+  public static Transport Client(String address, int port, WireFormat format) throws CommonException {
+    switch (format) {
+      case BINARY:
+        return BinarySocket.Client(address, port, false);
+      case BINARY_DELTA:
+        return BinarySocket.Client(address, port, true);
+      default:
+        return JsonSocket.Client(address, port);
+    }
+  }
+
+  /** Peeks at the first byte from a connected client to pick between the binary and JSON-line formats. */
+  public static Transport Negotiate(Socket socket) throws CommonException {
+    try {
+      PushbackInputStream in = new PushbackInputStream(socket.getInputStream(), 1);
+      int first = in.read();
+      if (first < 0) {
+        socket.close();
+        throw new CommonException("Connection closed by peer");
+      }
+      in.unread(first);
+      if (first == BinarySocket.MAGIC[0]) {
+        return BinarySocket.Handshake(socket, in);
+      }
+      return new JsonSocket(socket, in);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public static Transport Server() throws CommonException {
+    return TransportRegistry.Server(JsonSocket.DEFAULT_PORT);
+  }
+
+  /** Accepts a single client on the port and stops listening once it has connected. */
+  public static Transport Server(int port) throws CommonException {
+    ServerSocket serverSocket = JsonSocket.Listen(port);
+    try {
+      return TransportRegistry.Accept(serverSocket);
+    } finally {
+      try {
+        serverSocket.close();
+      } catch (IOException e) {
+        throw new CommonException(e.getMessage());
+      }
+    }
+  }
+}
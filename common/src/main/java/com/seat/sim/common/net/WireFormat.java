@@ -0,0 +1,8 @@
+package com.seat.sim.common.net;
+
+/** The encodings a client can request when it connects to a server. */
+public enum WireFormat {
+  JSON,
+  BINARY,
+  BINARY_DELTA;
+}
@@ -1,25 +1,30 @@
 package com.seat.sim.common.scenario;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import com.seat.sim.common.core.CommonException;
 import com.seat.sim.common.json.*;
+import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.remote.RemoteState;
 
 /**
- * A serializable class to represent a single snapshot of the current sim state.
+ * A serializable class to represent a single snapshot of the current sim state. Lookups over the active
+ * remote states are indexed on first use and cached for the life of the snapshot, which is never mutated.
  */
 public class Snapshot extends Jsonable {
   public static final String ACTIVE_REMOTES = "active_remote_ids";
   public static final String DYNAMIC_REMOTES = "dynamic_remote_ids";
   public static final String HASH = "hash";
+  public static final double INDEX_CELL_SIZE = 64.;
   public static final String SCENARIO_ID = "scenario_id";
   public static final String STATE = "state";
   public static final String STEP_SIZE = "step_size";
@@ -28,6 +33,7 @@ public class Snapshot extends Jsonable {
   private Set<String> activeRemoteIDs;
   private Set<String> dynamicRemoteIDs;
   private String hash;
+  private volatile SnapshotIndex index;
   private Map<String, RemoteState> remoteStates;
   private String scenarioID;
   private ScenarioStatus status;
@@ -101,29 +107,35 @@ public class Snapshot extends Jsonable {
     return json;
   }
 
+  private SnapshotIndex getIndex() {
+    SnapshotIndex index = this.index;
+    if (index == null) {
+      index = new SnapshotIndex(this, Snapshot.INDEX_CELL_SIZE);
+      this.index = index;
+    }
+    return index;
+  }
+
   public Set<String> getActiveRemoteIDs() {
     return this.activeRemoteIDs;
   }
 
-  public Collection<RemoteState> getActiveRemoteStates() {
-    return this.getActiveRemoteIDs()
-        .stream()
-        .map(remoteID -> this.getRemoteStateWithID(remoteID))
-        .collect(Collectors.toList());
+  /** Returns an unmodifiable list of the active remote states, in the iteration order of the active IDs. */
+  public List<RemoteState> getActiveRemoteStates() {
+    return this.getIndex().getActive();
+  }
+
+  /** Returns an unmodifiable list of the active remote states with the tag, in active order. */
+  public List<RemoteState> getActiveRemoteStatesWithTag(String tag) {
+    return this.getIndex().getActiveWithTag(tag);
   }
 
   public Set<String> getActiveDynamicRemoteIDs() {
-    return this.getActiveRemoteIDs()
-        .stream()
-        .filter(remoteID -> this.hasDynamicRemoteWithID(remoteID))
-        .collect(Collectors.toSet());
+    return this.getIndex().getActiveDynamicIDs();
   }
 
-  public Collection<RemoteState> getActiveDynamicRemoteStates() {
-    return this.getActiveDynamicRemoteIDs()
-        .stream()
-        .map(remoteID -> this.getRemoteStateWithID(remoteID))
-        .collect(Collectors.toList());
+  public List<RemoteState> getActiveDynamicRemoteStates() {
+    return this.getIndex().getActiveDynamicStates();
   }
 
   public Collection<RemoteState> getAllRemoteStatesWithMatch(Set<String> matchers) {
@@ -140,6 +152,15 @@ public class Snapshot extends Jsonable {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Returns up to k active remote states with the tag that pass the filter, nearest to the location first.
+   * Ties keep their active order and states without a location are skipped.
+   */
+  public List<RemoteState> getNearestActiveRemoteStatesWithTag(String tag, Vector location, int k,
+      Predicate<RemoteState> filter) {
+    return this.getIndex().getNearestWithTag(tag, location, k, filter);
+  }
+
   public Set<String> getDynamicRemoteIDs() {
     return this.dynamicRemoteIDs;
   }
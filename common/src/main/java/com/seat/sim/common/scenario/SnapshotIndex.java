@@ -0,0 +1,202 @@
+package com.seat.sim.common.scenario;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+
+/**
+ * Immutable lookups over the active remote states of a snapshot: the states in active order, the states of
+ * each tag, and a uniform grid of each tag's located states for nearest-neighbor queries. Every list keeps
+ * the order of the active remote IDs, which is the order the filters they replace would have produced.
+ */
+class SnapshotIndex {
+
+  private List<RemoteState> active;
+  private Set<String> activeDynamicIDs;
+  private List<RemoteState> activeDynamicStates;
+  private Map<String, TagGrid> grids;
+  private Map<RemoteState, Integer> ordinals;
+  private Map<String, List<RemoteState>> tags;
+
+  public SnapshotIndex(Snapshot snap, double cellSize) {
+    List<RemoteState> active = new ArrayList<>(snap.getActiveRemoteIDs().size());
+    List<RemoteState> activeDynamicStates = new ArrayList<>();
+    Map<String, List<RemoteState>> tags = new HashMap<>();
+    this.ordinals = new IdentityHashMap<>();
+    for (String remoteID : snap.getActiveRemoteIDs()) {
+      RemoteState state = snap.getRemoteStateWithID(remoteID);
+      this.ordinals.put(state, active.size());
+      active.add(state);
+      if (snap.hasDynamicRemoteWithID(remoteID)) {
+        activeDynamicStates.add(state);
+      }
+      if (state == null) {
+        continue;
+      }
+      for (String tag : state.getTags()) {
+        tags.computeIfAbsent(tag, t -> new ArrayList<>()).add(state);
+      }
+    }
+    this.active = Collections.unmodifiableList(active);
+    this.activeDynamicIDs = Collections.unmodifiableSet(snap.getActiveRemoteIDs()
+        .stream()
+        .filter(remoteID -> snap.hasDynamicRemoteWithID(remoteID))
+        .collect(Collectors.toSet()));
+    this.activeDynamicStates = Collections.unmodifiableList(activeDynamicStates);
+    this.tags = new HashMap<>();
+    this.grids = new HashMap<>();
+    for (Map.Entry<String, List<RemoteState>> entry : tags.entrySet()) {
+      this.tags.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+      this.grids.put(entry.getKey(), new TagGrid(entry.getValue(), cellSize));
+    }
+  }
+
+  public List<RemoteState> getActive() {
+    return this.active;
+  }
+
+  public Set<String> getActiveDynamicIDs() {
+    return this.activeDynamicIDs;
+  }
+
+  public List<RemoteState> getActiveDynamicStates() {
+    return this.activeDynamicStates;
+  }
+
+  public List<RemoteState> getActiveWithTag(String tag) {
+    return this.tags.getOrDefault(tag, Collections.emptyList());
+  }
+
+  /**
+   * Returns up to k of the located states with the tag that pass the filter, nearest first. States at equal
+   * distances keep their active order, as a stable sort of the filtered states would.
+   */
+  public List<RemoteState> getNearestWithTag(String tag, Vector location, int k, Predicate<RemoteState> filter) {
+    if (k <= 0 || !this.grids.containsKey(tag)) {
+      return Collections.emptyList();
+    }
+    return this.grids.get(tag).getNearest(location, k, filter, this.ordinals);
+  }
+
+  private static class Candidate implements Comparable<Candidate> {
+
+    private double dist;
+    private int ordinal;
+    private RemoteState state;
+
+    public Candidate(RemoteState state, double dist, int ordinal) {
+      this.state = state;
+      this.dist = dist;
+      this.ordinal = ordinal;
+    }
+
+    public int compareTo(Candidate other) {
+      int cmp = Double.compare(this.dist, other.dist);
+      return (cmp != 0) ? cmp : Integer.compare(this.ordinal, other.ordinal);
+    }
+  }
+
+  private static class TagGrid {
+
+    private Map<Long, List<RemoteState>> cells;
+    private double cellSize;
+    private int maxCol;
+    private int maxRow;
+    private int minCol;
+    private int minRow;
+
+    public TagGrid(List<RemoteState> states, double cellSize) {
+      this.cellSize = cellSize;
+      this.cells = new HashMap<>();
+      this.minCol = this.minRow = Integer.MAX_VALUE;
+      this.maxCol = this.maxRow = Integer.MIN_VALUE;
+      for (RemoteState state : states) {
+        if (!state.hasLocation()) {
+          continue;
+        }
+        int col = this.getCell(state.getLocation().getX()), row = this.getCell(state.getLocation().getY());
+        this.minCol = Math.min(this.minCol, col);
+        this.maxCol = Math.max(this.maxCol, col);
+        this.minRow = Math.min(this.minRow, row);
+        this.maxRow = Math.max(this.maxRow, row);
+        this.cells.computeIfAbsent(this.getCellKey(col, row), key -> new ArrayList<>()).add(state);
+      }
+    }
+
+    private int getCell(double coord) {
+      return (int) Math.floor(coord / this.cellSize);
+    }
+
+    private long getCellKey(int col, int row) {
+      return (((long) col) << 32) ^ (row & 0xFFFFFFFFL);
+    }
+
+    private void gather(int col, int row, Vector location, Predicate<RemoteState> filter,
+        Map<RemoteState, Integer> ordinals, List<Candidate> candidates) {
+      if (col < this.minCol || col > this.maxCol || row < this.minRow || row > this.maxRow) {
+        return;
+      }
+      List<RemoteState> cell = this.cells.get(this.getCellKey(col, row));
+      if (cell == null) {
+        return;
+      }
+      for (RemoteState state : cell) {
+        if (filter.test(state)) {
+          candidates.add(new Candidate(state, Vector.dist(location, state.getLocation()), ordinals.get(state)));
+        }
+      }
+    }
+
+    /**
+     * Visits rings of cells outwards from the location. Once ring r is done, every state not yet visited is at
+     * least r cells away, so the search stops when k candidates lie strictly closer than that.
+     */
+    public List<RemoteState> getNearest(Vector location, int k, Predicate<RemoteState> filter,
+        Map<RemoteState, Integer> ordinals) {
+      if (this.cells.isEmpty()) {
+        return Collections.emptyList();
+      }
+      int col = this.getCell(location.getX()), row = this.getCell(location.getY());
+      int maxRing = Math.max(
+          Math.max(Math.abs(col - this.minCol), Math.abs(this.maxCol - col)),
+          Math.max(Math.abs(row - this.minRow), Math.abs(this.maxRow - row))
+        );
+      List<Candidate> candidates = new ArrayList<>();
+      for (int r = 0; r <= maxRing; r++) {
+        if (r == 0) {
+          this.gather(col, row, location, filter, ordinals, candidates);
+        } else {
+          for (int i = -r; i <= r; i++) {
+            this.gather(col + i, row - r, location, filter, ordinals, candidates);
+            this.gather(col + i, row + r, location, filter, ordinals, candidates);
+          }
+          for (int j = -r + 1; j < r; j++) {
+            this.gather(col - r, row + j, location, filter, ordinals, candidates);
+            this.gather(col + r, row + j, location, filter, ordinals, candidates);
+          }
+        }
+        if (candidates.size() >= k) {
+          Collections.sort(candidates);
+          if (candidates.get(k - 1).dist < r * this.cellSize) {
+            break;
+          }
+        }
+      }
+      Collections.sort(candidates);
+      List<RemoteState> nearest = new ArrayList<>(Math.min(k, candidates.size()));
+      for (int i = 0; i < k && i < candidates.size(); i++) {
+        nearest.add(candidates.get(i).state);
+      }
+      return nearest;
+    }
+  }
+}
@@ -1,5 +1,14 @@
 package com.seat.sim.common.util;
 
+import java.util.function.Supplier;
+
+import com.seat.sim.common.core.CommonException;
+
+/**
+ * Console logger shared by the server and client. Messages below the current level are dropped before they
+ * reach the sink, and the Supplier overloads skip building the message as well, so hot loops should log
+ * through those. The default level, STATE, keeps the per-step INFO messages off the console.
+ */
 public class Debugger {
     private static final String ANSI_BLUE = "\u001B[34m";
     private static final String ANSI_GREEN = "\u001B[32m";
@@ -7,16 +16,55 @@ public class Debugger {
     private static final String ANSI_RESET = "\u001B[0m";
     private static final String ANSI_YELLOW = "\u001B[33m";
 
+    public static final Level DEFAULT_LEVEL = Level.STATE;
+
     public static final Debugger logger = new Debugger();
 
+    private volatile Level level = Debugger.DEFAULT_LEVEL;
+    private volatile Sink sink = Debugger::console;
+
+    private static void console(Level level, String msg) {
+        switch (level) {
+            case INFO:
+                System.out.println(Debugger.ANSI_GREEN + "INFO: " + msg + Debugger.ANSI_RESET);
+                break;
+            case STATE:
+                System.out.println(Debugger.ANSI_BLUE + "STATE: " + msg + Debugger.ANSI_RESET);
+                break;
+            case WARN:
+                System.out.println(Debugger.ANSI_YELLOW + "WARN: " + msg + Debugger.ANSI_RESET);
+                break;
+            default:
+                System.err.println(Debugger.ANSI_RED + "ERR: " + msg + Debugger.ANSI_RESET);
+                break;
+        }
+    }
+
+    private void log(Level level, String msg) {
+        if (this.isEnabled(level)) {
+            this.sink.write(level, msg);
+        }
+    }
+
+    private void log(Level level, Supplier<String> msg) {
+        if (this.isEnabled(level)) {
+            this.sink.write(level, msg.get());
+        }
+    }
+
     public void err(Object o) {
         this.err(o.toString());
     }
 
     public void err(String msg) {
-        System.err.println(Debugger.ANSI_RED + "ERR: " + msg + Debugger.ANSI_RESET);
+        this.log(Level.ERR, msg);
+    }
+
+    public void err(Supplier<String> msg) {
+        this.log(Level.ERR, msg);
     }
 
+    /** Reports the error whatever the level and exits. */
     public void fatal(Object o) {
         this.fatal(o.toString(), 1);
     }
@@ -26,16 +74,37 @@ public class Debugger {
     }
 
     public void fatal(String msg, int errorCode) {
-        System.err.println(Debugger.ANSI_RED + "ERR: " + msg + Debugger.ANSI_RESET);
+        this.sink.write(Level.ERR, msg);
         System.exit(errorCode);
     }
 
+    public Level getLevel() {
+        return this.level;
+    }
+
     public void info(Object o) {
         this.info(o.toString());
     }
 
     public void info(String msg) {
-        System.out.println(Debugger.ANSI_GREEN + "INFO: " + msg + Debugger.ANSI_RESET);
+        this.log(Level.INFO, msg);
+    }
+
+    public void info(Supplier<String> msg) {
+        this.log(Level.INFO, msg);
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(this.level) >= 0;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /** Sends every enabled message to the sink instead of the console. */
+    public void setSink(Sink sink) {
+        this.sink = sink;
     }
 
     public void state(Object o) {
@@ -43,7 +112,11 @@ public class Debugger {
     }
 
     public void state(String msg) {
-        System.out.println(Debugger.ANSI_BLUE + "STATE: " + msg + Debugger.ANSI_RESET);
+        this.log(Level.STATE, msg);
+    }
+
+    public void state(Supplier<String> msg) {
+        this.log(Level.STATE, msg);
     }
 
     public void warn(Object o) {
@@ -51,6 +124,31 @@ public class Debugger {
     }
 
     public void warn(String msg) {
-        System.out.println(Debugger.ANSI_YELLOW + "WARN: " + msg + Debugger.ANSI_RESET);
+        this.log(Level.WARN, msg);
+    }
+
+    public void warn(Supplier<String> msg) {
+        this.log(Level.WARN, msg);
+    }
+
+    /** Levels from most to least verbose; OFF silences everything but fatal errors. */
+    public enum Level {
+        INFO,
+        STATE,
+        WARN,
+        ERR,
+        OFF;
+
+        public static Level Parse(String level) throws CommonException {
+            try {
+                return Level.valueOf(level.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new CommonException(String.format("Unrecognized log level <%s>", level));
+            }
+        }
+    }
+
+    public interface Sink {
+        void write(Level level, String msg);
     }
 }
@@ -0,0 +1,135 @@
+package com.seat.sim.common.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.seat.sim.common.core.CommonException;
+
+/**
+ * Writes typed scenario events to a compact binary file next to the text log. Each record is a type byte, the
+ * sim time and a fixed payload; remote IDs and state labels are written once as NAME records and referred to
+ * by index afterwards. Read the file back with EventReader. A log has a single writer.
+ */
+public class EventLog implements Closeable {
+
+  public static final int MAGIC = 0x53454154;
+  public static final short VERSION = 1;
+
+  private String filename;
+  private Map<String, Integer> names;
+  private DataOutputStream out;
+
+  public EventLog(String scenarioID) throws IOException {
+    this.filename = String.format("logs/%s_%s.events", scenarioID,
+        new SimpleDateFormat("yyyyMMddHHmmssZ").format(new Date()));
+    this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.filename), 1 << 16));
+    this.names = new HashMap<>();
+    this.out.writeInt(EventLog.MAGIC);
+    this.out.writeShort(EventLog.VERSION);
+  }
+
+  private int getName(String name) throws IOException {
+    Integer id = this.names.get(name);
+    if (id != null) {
+      return id;
+    }
+    id = this.names.size();
+    this.names.put(name, id);
+    this.out.writeByte(Type.NAME.ordinal());
+    this.out.writeInt(id);
+    this.out.writeUTF(name);
+    return id;
+  }
+
+  private void writeHeader(Type type, double simTime) throws IOException {
+    this.out.writeByte(type.ordinal());
+    this.out.writeDouble(simTime);
+  }
+
+  public void close() throws IOException {
+    this.out.close();
+  }
+
+  /** Logs a contract event between two remotes, i.e. one of ACCEPT, REJECT, SUCCESS or FAIL. */
+  public void contract(double simTime, Type type, String senderID, String receiverID) throws IOException {
+    if (!type.isContract()) {
+      throw new CommonException(String.format("%s is not a contract event", type));
+    }
+    int sender = this.getName(senderID), receiver = this.getName(receiverID);
+    this.writeHeader(type, simTime);
+    this.out.writeInt(sender);
+    this.out.writeInt(receiver);
+  }
+
+  /** Logs that a remote detected a target, with a value such as the adversary assigned to it. */
+  public void detection(double simTime, String remoteID, String targetID, int value) throws IOException {
+    int remote = this.getName(remoteID), target = this.getName(targetID);
+    this.writeHeader(Type.DETECTION, simTime);
+    this.out.writeInt(remote);
+    this.out.writeInt(target);
+    this.out.writeInt(value);
+  }
+
+  public void flush() throws IOException {
+    this.out.flush();
+  }
+
+  public String getFilename() {
+    return this.filename;
+  }
+
+  public void heat(double simTime, double heat) throws IOException {
+    this.writeHeader(Type.HEAT, simTime);
+    this.out.writeDouble(heat);
+  }
+
+  public void score(double simTime, double score) throws IOException {
+    this.writeHeader(Type.SCORE, simTime);
+    this.out.writeDouble(score);
+  }
+
+  /** Logs that a remote entered the state with the given label, e.g. "Drone done". */
+  public void state(double simTime, String remoteID, String label) throws IOException {
+    int remote = this.getName(remoteID), state = this.getName(label);
+    this.writeHeader(Type.STATE, simTime);
+    this.out.writeInt(remote);
+    this.out.writeInt(state);
+  }
+
+  /**
+   * Starts a new trial; every event up to the next trial header belongs to it. The events of the previous
+   * trial are flushed first, so a crash loses at most the trial in progress.
+   */
+  public void trial(long seed, double alpha, double beta, double gamma) throws IOException {
+    this.out.flush();
+    this.writeHeader(Type.TRIAL, -1.);
+    this.out.writeLong(seed);
+    this.out.writeDouble(alpha);
+    this.out.writeDouble(beta);
+    this.out.writeDouble(gamma);
+  }
+
+  public enum Type {
+    NAME,
+    TRIAL,
+    SCORE,
+    HEAT,
+    DETECTION,
+    ACCEPT,
+    REJECT,
+    SUCCESS,
+    FAIL,
+    STATE;
+
+    public boolean isContract() {
+      return this == ACCEPT || this == REJECT || this == SUCCESS || this == FAIL;
+    }
+  }
+}
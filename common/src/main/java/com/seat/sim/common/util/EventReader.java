@@ -0,0 +1,188 @@
+package com.seat.sim.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the records of an EventLog file. The reader is a cursor: next() decodes one event into its fields
+ * and the getters expose them until the following call, so scanning a log allocates nothing per event. NAME
+ * records are resolved internally and never surface as events.
+ */
+public class EventReader implements Closeable {
+
+  private static final EventLog.Type[] TYPES = EventLog.Type.values();
+
+  private double alpha;
+  private double beta;
+  private double gamma;
+  private DataInputStream in;
+  private List<String> names;
+  private int other;
+  private int remote;
+  private long seed;
+  private double time;
+  private int trial;
+  private EventLog.Type type;
+  private double value;
+
+  /** Returns the aggregates of every trial in the log, in the order the trials were run. */
+  public static List<TrialStats> Aggregate(String filename) throws IOException {
+    List<TrialStats> trials = new ArrayList<>();
+    try (EventReader reader = new EventReader(filename)) {
+      TrialStats stats = null;
+      while (reader.next()) {
+        if (reader.getType() == EventLog.Type.TRIAL) {
+          stats = new TrialStats(reader.getSeed(), reader.getAlpha(), reader.getBeta(), reader.getGamma());
+          trials.add(stats);
+        } else if (stats != null) {
+          stats.add(reader);
+        }
+      }
+    }
+    return trials;
+  }
+
+  /** Returns the values of the SCORE or HEAT events of the given 0-based trial over sim time. */
+  public static TimeSeries<Double> Series(String filename, EventLog.Type type, int trial) throws IOException {
+    List<Double> time = new ArrayList<>();
+    List<Double> data = new ArrayList<>();
+    try (EventReader reader = new EventReader(filename)) {
+      while (reader.next() && reader.getTrial() <= trial) {
+        if (reader.getTrial() == trial && reader.getType() == type) {
+          time.add(reader.getTime());
+          data.add(reader.getValue());
+        }
+      }
+    }
+    return new TimeSeries<>(time, data);
+  }
+
+  public EventReader(String filename) throws IOException {
+    this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename), 1 << 16));
+    this.names = new ArrayList<>();
+    this.trial = -1;
+    if (this.in.readInt() != EventLog.MAGIC) {
+      this.in.close();
+      throw new IOException(String.format("%s is not an event log", filename));
+    }
+    short version = this.in.readShort();
+    if (version != EventLog.VERSION) {
+      this.in.close();
+      throw new IOException(String.format("Cannot read version %d of event log %s", version, filename));
+    }
+  }
+
+  private boolean readEvent() throws IOException {
+    while (true) {
+      int code = this.in.readUnsignedByte();
+      if (code >= EventReader.TYPES.length) {
+        throw new IOException(String.format("Unknown event type %d", code));
+      }
+      this.type = EventReader.TYPES[code];
+      if (this.type == EventLog.Type.NAME) {
+        int id = this.in.readInt();
+        this.names.add(id, this.in.readUTF());
+        continue;
+      }
+      this.time = this.in.readDouble();
+      switch (this.type) {
+        case TRIAL:
+          this.trial++;
+          this.seed = this.in.readLong();
+          this.alpha = this.in.readDouble();
+          this.beta = this.in.readDouble();
+          this.gamma = this.in.readDouble();
+          break;
+        case SCORE:
+        case HEAT:
+          this.value = this.in.readDouble();
+          break;
+        case DETECTION:
+          this.remote = this.in.readInt();
+          this.other = this.in.readInt();
+          this.value = this.in.readInt();
+          break;
+        default:
+          this.remote = this.in.readInt();
+          this.other = this.in.readInt();
+          break;
+      }
+      return true;
+    }
+  }
+
+  public void close() throws IOException {
+    this.in.close();
+  }
+
+  public double getAlpha() {
+    return this.alpha;
+  }
+
+  public double getBeta() {
+    return this.beta;
+  }
+
+  public double getGamma() {
+    return this.gamma;
+  }
+
+  public String getName(int id) {
+    return this.names.get(id);
+  }
+
+  /** Returns the name index of the target, receiver or state label of the event. */
+  public int getOther() {
+    return this.other;
+  }
+
+  public String getOtherID() {
+    return this.names.get(this.other);
+  }
+
+  /** Returns the name index of the remote, or sender, of the event. */
+  public int getRemote() {
+    return this.remote;
+  }
+
+  public String getRemoteID() {
+    return this.names.get(this.remote);
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  public double getTime() {
+    return this.time;
+  }
+
+  /** Returns the 0-based index of the trial the event belongs to, or -1 before the first trial header. */
+  public int getTrial() {
+    return this.trial;
+  }
+
+  public EventLog.Type getType() {
+    return this.type;
+  }
+
+  /** Returns the score or heat of the event, or the value of a detection. */
+  public double getValue() {
+    return this.value;
+  }
+
+  /** Advances to the next event, returning false at the end of the log or at a record cut off by a crash. */
+  public boolean next() throws IOException {
+    try {
+      return this.readEvent();
+    } catch (EOFException e) {
+      return false;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.seat.sim.common.util;
 
+import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileWriter;
@@ -11,12 +12,31 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * Writes scenario log lines from a background thread. Callers enqueue the time, template and arguments of a
+ * line into a bounded ring buffer and return; the writer thread formats whatever has been queued and flushes
+ * it to disk once per batch. A full buffer makes callers wait rather than dropping lines. Closing the logger,
+ * or shutting down the JVM, writes out everything queued before it returns.
+ */
 public class Logger implements Closeable {
 
+  private static final int BUFFER_SIZE = 8192;
+  private static final long DAY_MILLIS = 24 * 60 * 60 * 1000;
+  private static final Entry STOP = new Entry(0L, 0., null, null);
+
+  private List<Entry> batch;
+  private String datestamp;
+  private long day;
   private String filename;
   private SimpleDateFormat formatter = new SimpleDateFormat("MM/dd/yyyy");
+  private Thread hook;
+  private BlockingQueue<Entry> queue;
   private PrintWriter writer;
+  private Thread writerThread;
 
   public static TimeSeries<String> Parse(String filename) throws IOException {
     List<Double> time = new ArrayList<>();
@@ -48,15 +68,95 @@ public class Logger implements Closeable {
   public Logger(String scenarioID, boolean append) throws IOException {
     this.filename = String.format("logs/%s_%s.log", scenarioID,
         new SimpleDateFormat("yyyyMMddHHmmssZ").format(new Date()));
-    this.writer = new PrintWriter(new FileWriter(new File(filename), append), true);
+    this.writer = new PrintWriter(new BufferedWriter(new FileWriter(new File(filename), append)));
+    this.queue = new ArrayBlockingQueue<>(Logger.BUFFER_SIZE);
+    this.batch = new ArrayList<>(Logger.BUFFER_SIZE);
+    this.day = Long.MIN_VALUE;
+    this.writerThread = new Thread(this::run, String.format("Logger <%s>", this.filename));
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+    this.hook = new Thread(this::stop);
+    Runtime.getRuntime().addShutdownHook(this.hook);
+  }
+
+  private String getDatestamp(long millis) {
+    long day = Math.floorDiv(millis + TimeZone.getDefault().getOffset(millis), Logger.DAY_MILLIS);
+    if (day != this.day) {
+      this.day = day;
+      this.datestamp = this.formatter.format(new Date(millis));
+    }
+    return this.datestamp;
+  }
+
+  private void put(Entry entry) {
+    try {
+      this.queue.put(entry);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    boolean running = true;
+    try {
+      while (running) {
+        try {
+          this.batch.add(this.queue.take());
+        } catch (InterruptedException e) {
+          continue;
+        }
+        this.queue.drainTo(this.batch);
+        for (Entry entry : this.batch) {
+          if (entry == Logger.STOP) {
+            running = false;
+            break;
+          }
+          this.write(entry);
+        }
+        this.batch.clear();
+        this.writer.flush();
+      }
+    } finally {
+      this.writer.close();
+      // unblocks callers waiting on a full queue if the thread dies, as nothing will take their lines
+      this.queue.clear();
+    }
   }
 
-  private String getDatestamp() {
-    return this.formatter.format(new Date());
+  private void stop() {
+    if (!this.writerThread.isAlive()) {
+      return;
+    }
+    this.put(Logger.STOP);
+    try {
+      this.writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
 
+  /** Writes the line of the entry, or an error line in its place if formatting or writing it fails. */
+  private void write(Entry entry) {
+    String prefix = String.format("[%s %.4f]", this.getDatestamp(entry.millis), entry.simTime);
+    try {
+      String msg = (entry.args != null) ? String.format(entry.template, entry.args) : entry.template;
+      this.writer.println(String.format("%s %s", prefix, msg));
+    } catch (RuntimeException e) {
+      this.writer.println(String.format("%s Could not log \"%s\": %s", prefix, entry.template, e));
+    }
+  }
+
+  /** Writes out every line logged so far, then closes the file. Lines logged after closing are dropped. */
   public void close() throws IOException {
-    this.writer.close();
+    this.stop();
+    try {
+      Runtime.getRuntime().removeShutdownHook(this.hook);
+    } catch (IllegalStateException e) {
+      // the JVM is already shutting down and runs the hook itself
+    }
+    if (this.writer.checkError()) {
+      throw new IOException(String.format("Could not write to %s", this.filename));
+    }
   }
 
   public String getFilename() {
@@ -64,6 +164,30 @@ public class Logger implements Closeable {
   }
 
   public void log(double simTime, String msg) {
-    this.writer.println(String.format("[%s %.4f] %s", this.getDatestamp(), simTime, msg));
+    if (this.writerThread.isAlive()) {
+      this.put(new Entry(System.currentTimeMillis(), simTime, msg, null));
+    }
+  }
+
+  /** Logs the message String.format would build from the template and args, formatted on the writer thread. */
+  public void log(double simTime, String template, Object... args) {
+    if (this.writerThread.isAlive()) {
+      this.put(new Entry(System.currentTimeMillis(), simTime, template, args));
+    }
+  }
+
+  private static class Entry {
+
+    private Object[] args;
+    private long millis;
+    private double simTime;
+    private String template;
+
+    public Entry(long millis, double simTime, String template, Object[] args) {
+      this.millis = millis;
+      this.simTime = simTime;
+      this.template = template;
+      this.args = args;
+    }
   }
 }
@@ -0,0 +1,99 @@
+package com.seat.sim.common.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends primitives to a file through a memory-mapped window that slides forward as it fills, so writes are
+ * plain stores into the page cache. The file is cut back to the bytes written on close; a file that was never
+ * closed ends in zeros, so record formats written through this should never start a record with a zero byte.
+ */
+public class MappedAppender implements Closeable {
+
+  public static final int DEFAULT_WINDOW_SIZE = 1 << 24;
+
+  private FileChannel channel;
+  private long position;
+  private MappedByteBuffer window;
+  private int windowSize;
+  private long windowStart;
+
+  public MappedAppender(String filename) throws IOException {
+    this(filename, MappedAppender.DEFAULT_WINDOW_SIZE);
+  }
+
+  public MappedAppender(String filename, int windowSize) throws IOException {
+    this.channel = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    this.windowSize = windowSize;
+    this.position = 0;
+    this.map(0);
+  }
+
+  private void map(int bytes) throws IOException {
+    this.windowStart = this.position;
+    this.window = this.channel.map(FileChannel.MapMode.READ_WRITE, this.windowStart,
+        Math.max(this.windowSize, bytes));
+  }
+
+  private void reserve(int bytes) throws IOException {
+    if (this.window.remaining() < bytes) {
+      this.window.force();
+      this.map(bytes);
+    }
+    this.position += bytes;
+  }
+
+  public void close() throws IOException {
+    if (this.window == null) {
+      return;
+    }
+    this.window.force();
+    this.window = null;
+    this.channel.truncate(this.position);
+    this.channel.close();
+  }
+
+  /** Writes the mapped pages through to the file, so that a reader sees every record appended so far. */
+  public void flush() {
+    this.window.force();
+  }
+
+  public long getPosition() {
+    return this.position;
+  }
+
+  public void put(byte[] bytes) throws IOException {
+    this.reserve(bytes.length);
+    this.window.put(bytes);
+  }
+
+  public void putByte(int value) throws IOException {
+    this.reserve(Byte.BYTES);
+    this.window.put((byte) value);
+  }
+
+  public void putDouble(double value) throws IOException {
+    this.reserve(Double.BYTES);
+    this.window.putDouble(value);
+  }
+
+  public void putInt(int value) throws IOException {
+    this.reserve(Integer.BYTES);
+    this.window.putInt(value);
+  }
+
+  public void putLong(long value) throws IOException {
+    this.reserve(Long.BYTES);
+    this.window.putLong(value);
+  }
+
+  public void putShort(int value) throws IOException {
+    this.reserve(Short.BYTES);
+    this.window.putShort((short) value);
+  }
+}
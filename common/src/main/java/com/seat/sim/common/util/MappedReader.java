@@ -0,0 +1,82 @@
+package com.seat.sim.common.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Random access to a file by long offsets through read-only memory maps. The file is mapped in chunks that
+ * overlap by a page, so that any primitive of up to 8 bytes lies inside one chunk however large the file is.
+ */
+public class MappedReader implements Closeable {
+
+  private static final int CHUNK_OVERLAP = 1 << 12;
+  private static final int CHUNK_SIZE = 1 << 30;
+
+  private MappedByteBuffer[] chunks;
+  private long size;
+
+  public MappedReader(String filename) throws IOException {
+    try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+      this.size = channel.size();
+      int count = (int) Math.max(1, (this.size + MappedReader.CHUNK_SIZE - 1) / MappedReader.CHUNK_SIZE);
+      this.chunks = new MappedByteBuffer[count];
+      for (int i = 0; i < count; i++) {
+        long start = (long) i * MappedReader.CHUNK_SIZE;
+        long length = Math.min(this.size - start, (long) MappedReader.CHUNK_SIZE + MappedReader.CHUNK_OVERLAP);
+        this.chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(length, 0));
+      }
+    }
+  }
+
+  private MappedByteBuffer getChunk(long offset) {
+    return this.chunks[(int) (offset / MappedReader.CHUNK_SIZE)];
+  }
+
+  private int getIndex(long offset) {
+    return (int) (offset % MappedReader.CHUNK_SIZE);
+  }
+
+  /** Drops the maps; they are released once collected, as Java offers no explicit unmap. */
+  public void close() {
+    this.chunks = new MappedByteBuffer[0];
+  }
+
+  /** Copies length bytes from the offset, which may span chunks. */
+  public byte[] get(long offset, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; ) {
+      int n = Math.min(length - i, MappedReader.CHUNK_SIZE - this.getIndex(offset + i));
+      this.getChunk(offset + i).get(this.getIndex(offset + i), bytes, i, n);
+      i += n;
+    }
+    return bytes;
+  }
+
+  public byte getByte(long offset) {
+    return this.getChunk(offset).get(this.getIndex(offset));
+  }
+
+  public double getDouble(long offset) {
+    return this.getChunk(offset).getDouble(this.getIndex(offset));
+  }
+
+  public int getInt(long offset) {
+    return this.getChunk(offset).getInt(this.getIndex(offset));
+  }
+
+  public long getLong(long offset) {
+    return this.getChunk(offset).getLong(this.getIndex(offset));
+  }
+
+  public short getShort(long offset) {
+    return this.getChunk(offset).getShort(this.getIndex(offset));
+  }
+
+  public long size() {
+    return this.size;
+  }
+}
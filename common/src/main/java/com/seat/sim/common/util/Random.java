@@ -1,5 +1,12 @@
 package com.seat.sim.common.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import com.seat.sim.common.core.CommonException;
 import com.seat.sim.common.math.Vector;
 
 public class Random {
@@ -16,6 +23,29 @@ public class Random {
     this.rng = new java.util.Random(seed);
   }
 
+  private Random(long seed, java.util.Random rng) {
+    this.seed = seed;
+    this.rng = rng;
+  }
+
+  /**
+   * Returns an independent generator that draws the same sequence as this one from here on. The state of
+   * java.util.Random, including a pending Gaussian, is only reachable through serialization.
+   */
+  public Random copy() throws CommonException {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(this.rng);
+      }
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+        return new Random(this.seed, (java.util.Random) in.readObject());
+      }
+    } catch (IOException | ClassNotFoundException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
   public Vector getRandomDirection2D() {
     return new Vector(this.getRandomPoint(-1, 1), this.getRandomPoint(-1, 1)).getUnitVector();
   }
@@ -0,0 +1,154 @@
+package com.seat.sim.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.scenario.Snapshot;
+
+/**
+ * Appends the remote states of each step of a trial to a memory-mapped file as fixed-width records, so that
+ * TrajectoryReader can find any remote at any step by arithmetic alone. Remotes get dense indexes in the
+ * order of their sorted IDs when the archive is created.
+ * <p>
+ * All values are big-endian. The header is the magic, version, remote count, header size and step size (in
+ * bytes) as ints, the scenario ID, then each remote's ID, team and tags, zero-padded to a multiple of 8
+ * bytes. Each step is the time (double), status and active count (ints), a 64 byte record per remote holding its
+ * location, velocity and fuel (doubles) and its flags (int, 4 bytes unused), then the step number plus one
+ * (long), which marks the step as whole.
+ */
+public class TrajectoryArchive implements Closeable {
+
+  public static final int MAGIC = 0x53455452;
+  public static final int VERSION = 1;
+
+  public static final int PRESENT = 1 << 0;
+  public static final int ACTIVE = 1 << 1;
+  public static final int DONE = 1 << 2;
+  public static final int LOCATED = 1 << 3;
+  public static final int FUELED = 1 << 4;
+
+  static final int REMOTE_SIZE = 64;
+  static final int STEP_HEADER_SIZE = 16;
+  static final int STEP_TRAILER_SIZE = 8;
+
+  private List<String> remoteIDs;
+  private long steps;
+  private MappedAppender out;
+
+  public TrajectoryArchive(String filename, Snapshot snap) throws IOException {
+    this.remoteIDs = new ArrayList<>(snap.getRemoteIDs());
+    Collections.sort(this.remoteIDs);
+    this.steps = 0;
+    byte[] header = this.getHeader(snap);
+    this.out = new MappedAppender(filename);
+    this.out.put(header);
+  }
+
+  static int getStepBytes(int remotes) {
+    return TrajectoryArchive.STEP_HEADER_SIZE + remotes * TrajectoryArchive.REMOTE_SIZE +
+        TrajectoryArchive.STEP_TRAILER_SIZE;
+  }
+
+  private static int getFlags(Snapshot snap, RemoteState state) {
+    int flags = TrajectoryArchive.PRESENT;
+    if (snap.hasActiveRemoteWithID(state.getRemoteID())) {
+      flags |= TrajectoryArchive.ACTIVE;
+    }
+    if (state.isDone()) {
+      flags |= TrajectoryArchive.DONE;
+    }
+    if (state.hasLocation()) {
+      flags |= TrajectoryArchive.LOCATED;
+    }
+    if (state.hasFuel()) {
+      flags |= TrajectoryArchive.FUELED;
+    }
+    return flags;
+  }
+
+  private byte[] getHeader(Snapshot snap) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream names = new DataOutputStream(bytes);
+    names.writeUTF(snap.getScenarioID());
+    for (String remoteID : this.remoteIDs) {
+      RemoteState state = snap.getRemoteStateWithID(remoteID);
+      List<String> tags = new ArrayList<>(state.getTags());
+      Collections.sort(tags);
+      names.writeUTF(remoteID);
+      names.writeInt(state.getTeam().getType());
+      names.writeShort(tags.size());
+      for (String tag : tags) {
+        names.writeUTF(tag);
+      }
+    }
+    names.flush();
+    int size = 5 * Integer.BYTES + bytes.size();
+    size += (Long.BYTES - size % Long.BYTES) % Long.BYTES;
+    ByteArrayOutputStream header = new ByteArrayOutputStream(size);
+    DataOutputStream out = new DataOutputStream(header);
+    out.writeInt(TrajectoryArchive.MAGIC);
+    out.writeInt(TrajectoryArchive.VERSION);
+    out.writeInt(this.remoteIDs.size());
+    out.writeInt(size);
+    out.writeInt(TrajectoryArchive.getStepBytes(this.remoteIDs.size()));
+    bytes.writeTo(out);
+    while (out.size() < size) {
+      out.writeByte(0);
+    }
+    out.flush();
+    return header.toByteArray();
+  }
+
+  private void putRemote(Snapshot snap, String remoteID) throws IOException {
+    if (!snap.hasRemoteStateWithID(remoteID)) {
+      for (int i = 0; i < TrajectoryArchive.REMOTE_SIZE; i += Long.BYTES) {
+        this.out.putLong(0L);
+      }
+      return;
+    }
+    RemoteState state = snap.getRemoteStateWithID(remoteID);
+    this.putVector((state.hasLocation()) ? state.getLocation() : null);
+    this.putVector((state.hasLocation()) ? state.getVelocity() : null);
+    this.out.putDouble((state.hasFuel()) ? state.getFuelAmount() : 0.);
+    this.out.putInt(TrajectoryArchive.getFlags(snap, state));
+    this.out.putInt(0);
+  }
+
+  private void putVector(Vector vec) throws IOException {
+    this.out.putDouble((vec != null) ? vec.getX() : 0.);
+    this.out.putDouble((vec != null) ? vec.getY() : 0.);
+    this.out.putDouble((vec != null) ? vec.getZ() : 0.);
+  }
+
+  /** Appends the step; remotes that were not in the first snapshot are left out. */
+  public void append(Snapshot snap) throws IOException {
+    this.out.putDouble(snap.getTime());
+    this.out.putInt(snap.getStatus().getType());
+    this.out.putInt(snap.getActiveRemoteIDs().size());
+    for (String remoteID : this.remoteIDs) {
+      this.putRemote(snap, remoteID);
+    }
+    this.steps++;
+    this.out.putLong(this.steps);
+  }
+
+  public void close() throws IOException {
+    this.out.close();
+  }
+
+  /** Writes the steps appended so far through to the file, for a reader scrubbing a trial still running. */
+  public void flush() {
+    this.out.flush();
+  }
+
+  public long getStepCount() {
+    return this.steps;
+  }
+}
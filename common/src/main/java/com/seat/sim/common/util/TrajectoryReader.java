@@ -0,0 +1,230 @@
+package com.seat.sim.common.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.seat.sim.common.gui.TeamColor;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.scenario.ScenarioStatus;
+
+/**
+ * Random access to a TrajectoryArchive by step and dense remote index. Values are read straight from the
+ * mapped file, so scrubbing to any step costs the same as reading the first. The steps are those that were
+ * whole when the reader was opened; reopen the archive to see steps appended since.
+ */
+public class TrajectoryReader implements Closeable {
+
+  private static final int HEADER_INTS = 5;
+
+  private long headerSize;
+  private MappedReader in;
+  private Map<String, Integer> indexes;
+  private List<String> remoteIDs;
+  private String scenarioID;
+  private int stepBytes;
+  private int steps;
+  private List<Set<String>> tags;
+  private List<TeamColor> teams;
+
+  public TrajectoryReader(String filename) throws IOException {
+    this.in = new MappedReader(filename);
+    if (this.in.size() < TrajectoryReader.HEADER_INTS * Integer.BYTES ||
+        this.in.getInt(0) != TrajectoryArchive.MAGIC) {
+      this.in.close();
+      throw new IOException(String.format("%s is not a trajectory archive", filename));
+    }
+    int version = this.in.getInt(4);
+    if (version != TrajectoryArchive.VERSION) {
+      this.in.close();
+      throw new IOException(String.format("Cannot read version %d of trajectory archive %s", version, filename));
+    }
+    int remotes = this.in.getInt(8);
+    this.headerSize = this.in.getInt(12);
+    this.stepBytes = this.in.getInt(16);
+    this.readNames(remotes);
+    this.steps = this.countSteps();
+  }
+
+  /** Finds the whole steps by their trailers, which a file that was never closed has only for a prefix. */
+  private int countSteps() {
+    long bound = Math.max(0, (this.in.size() - this.headerSize) / this.stepBytes);
+    int lo = 0, hi = (int) Math.min(bound, Integer.MAX_VALUE);
+    while (lo < hi) {
+      int mid = (int) (((long) lo + hi + 1) / 2);
+      if (this.in.getLong(this.getStepOffset(mid) - TrajectoryArchive.STEP_TRAILER_SIZE) == mid) {
+        lo = mid;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    return lo;
+  }
+
+  private long getOffset(int step, int remote) {
+    Objects.checkIndex(step, this.steps);
+    Objects.checkIndex(remote, this.remoteIDs.size());
+    return this.getStepOffset(step) + TrajectoryArchive.STEP_HEADER_SIZE +
+        (long) remote * TrajectoryArchive.REMOTE_SIZE;
+  }
+
+  private long getStepOffset(int step) {
+    return this.headerSize + (long) step * this.stepBytes;
+  }
+
+  private Vector getVector(long offset) {
+    return new Vector(this.in.getDouble(offset), this.in.getDouble(offset + 8), this.in.getDouble(offset + 16));
+  }
+
+  private void readNames(int remotes) throws IOException {
+    int start = TrajectoryReader.HEADER_INTS * Integer.BYTES;
+    DataInputStream names = new DataInputStream(new ByteArrayInputStream(
+        this.in.get(start, (int) this.headerSize - start)));
+    this.scenarioID = names.readUTF();
+    this.remoteIDs = new ArrayList<>(remotes);
+    this.indexes = new HashMap<>();
+    this.teams = new ArrayList<>(remotes);
+    this.tags = new ArrayList<>(remotes);
+    for (int i = 0; i < remotes; i++) {
+      String remoteID = names.readUTF();
+      this.indexes.put(remoteID, i);
+      this.remoteIDs.add(remoteID);
+      this.teams.add(TeamColor.Value(names.readInt()));
+      int count = names.readShort();
+      Set<String> tags = new HashSet<>();
+      for (int j = 0; j < count; j++) {
+        tags.add(names.readUTF());
+      }
+      this.tags.add(Collections.unmodifiableSet(tags));
+    }
+  }
+
+  public void close() {
+    this.in.close();
+  }
+
+  public int getActiveCount(int step) {
+    Objects.checkIndex(step, this.steps);
+    return this.in.getInt(this.getStepOffset(step) + 12);
+  }
+
+  public int getFlags(int step, int remote) {
+    return this.in.getInt(this.getOffset(step, remote) + 56);
+  }
+
+  public double getFuel(int step, int remote) {
+    return this.in.getDouble(this.getOffset(step, remote) + 48);
+  }
+
+  public Vector getLocation(int step, int remote) {
+    return this.getVector(this.getOffset(step, remote));
+  }
+
+  /** Returns the x, y and z of every remote at the step, remote by remote. */
+  public double[] getLocations(int step) {
+    double[] locations = new double[3 * this.remoteIDs.size()];
+    for (int r = 0; r < this.remoteIDs.size(); r++) {
+      long offset = this.getOffset(step, r);
+      locations[3 * r] = this.in.getDouble(offset);
+      locations[3 * r + 1] = this.in.getDouble(offset + 8);
+      locations[3 * r + 2] = this.in.getDouble(offset + 16);
+    }
+    return locations;
+  }
+
+  public double[] getPath(int remote) {
+    return this.getPath(remote, 0, this.steps);
+  }
+
+  /** Returns the x, y and z of the remote at each step from the first up to but excluding the last. */
+  public double[] getPath(int remote, int fromStep, int toStep) {
+    Objects.checkFromToIndex(fromStep, toStep, this.steps);
+    double[] path = new double[3 * (toStep - fromStep)];
+    for (int s = fromStep; s < toStep; s++) {
+      long offset = this.getOffset(s, remote);
+      int i = 3 * (s - fromStep);
+      path[i] = this.in.getDouble(offset);
+      path[i + 1] = this.in.getDouble(offset + 8);
+      path[i + 2] = this.in.getDouble(offset + 16);
+    }
+    return path;
+  }
+
+  public int getRemoteCount() {
+    return this.remoteIDs.size();
+  }
+
+  public String getRemoteID(int remote) {
+    return this.remoteIDs.get(remote);
+  }
+
+  /** Returns the dense index of the remote, or -1 if the archive has no such remote. */
+  public int getRemoteIndex(String remoteID) {
+    return this.indexes.getOrDefault(remoteID, -1);
+  }
+
+  public List<Integer> getRemoteIndexesWithTag(String tag) {
+    List<Integer> remotes = new ArrayList<>();
+    for (int r = 0; r < this.tags.size(); r++) {
+      if (this.tags.get(r).contains(tag)) {
+        remotes.add(r);
+      }
+    }
+    return remotes;
+  }
+
+  public String getScenarioID() {
+    return this.scenarioID;
+  }
+
+  public ScenarioStatus getStatus(int step) {
+    Objects.checkIndex(step, this.steps);
+    return ScenarioStatus.Value(this.in.getInt(this.getStepOffset(step) + 8));
+  }
+
+  public int getStepCount() {
+    return this.steps;
+  }
+
+  public Set<String> getTags(int remote) {
+    return this.tags.get(remote);
+  }
+
+  public TeamColor getTeam(int remote) {
+    return this.teams.get(remote);
+  }
+
+  public double getTime(int step) {
+    Objects.checkIndex(step, this.steps);
+    return this.in.getDouble(this.getStepOffset(step));
+  }
+
+  public Vector getVelocity(int step, int remote) {
+    return this.getVector(this.getOffset(step, remote) + 24);
+  }
+
+  public boolean hasFuel(int step, int remote) {
+    return (this.getFlags(step, remote) & TrajectoryArchive.FUELED) != 0;
+  }
+
+  public boolean hasLocation(int step, int remote) {
+    return (this.getFlags(step, remote) & TrajectoryArchive.LOCATED) != 0;
+  }
+
+  public boolean isActive(int step, int remote) {
+    return (this.getFlags(step, remote) & TrajectoryArchive.ACTIVE) != 0;
+  }
+
+  public boolean isDone(int step, int remote) {
+    return (this.getFlags(step, remote) & TrajectoryArchive.DONE) != 0;
+  }
+}
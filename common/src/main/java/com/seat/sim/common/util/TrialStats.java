@@ -0,0 +1,136 @@
+package com.seat.sim.common.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/** The aggregates of one trial of an event log, as built by EventReader.Aggregate. */
+public class TrialStats {
+
+  private int accepts;
+  private double alpha;
+  private double beta;
+  private int detectionValue;
+  private Set<Integer> detections;
+  private int fails;
+  private double gamma;
+  private double heat;
+  private int rejects;
+  private double score;
+  private long seed;
+  private Map<String, Set<Integer>> states;
+  private int successes;
+  private double time;
+
+  public TrialStats(long seed, double alpha, double beta, double gamma) {
+    this.seed = seed;
+    this.alpha = alpha;
+    this.beta = beta;
+    this.gamma = gamma;
+    this.detections = new HashSet<>();
+    this.states = new HashMap<>();
+  }
+
+  /** Folds the current event of the reader into the aggregates. */
+  void add(EventReader reader) {
+    this.time = Math.max(this.time, reader.getTime());
+    switch (reader.getType()) {
+      case SCORE:
+        this.score = reader.getValue();
+        break;
+      case HEAT:
+        this.heat = reader.getValue();
+        break;
+      case DETECTION:
+        this.detections.add(reader.getOther());
+        this.detectionValue += (int) reader.getValue();
+        break;
+      case ACCEPT:
+        this.accepts++;
+        break;
+      case REJECT:
+        this.rejects++;
+        break;
+      case SUCCESS:
+        this.successes++;
+        break;
+      case FAIL:
+        this.fails++;
+        break;
+      case STATE:
+        this.states.computeIfAbsent(reader.getName(reader.getOther()), label -> new HashSet<>())
+            .add(reader.getRemote());
+        break;
+      default:
+        break;
+    }
+  }
+
+  public int getAccepts() {
+    return this.accepts;
+  }
+
+  public double getAlpha() {
+    return this.alpha;
+  }
+
+  public double getBeta() {
+    return this.beta;
+  }
+
+  /** Returns the number of distinct targets detected in the trial. */
+  public int getDetections() {
+    return this.detections.size();
+  }
+
+  /** Returns the sum of the values of every detection in the trial. */
+  public int getDetectionValue() {
+    return this.detectionValue;
+  }
+
+  public int getFails() {
+    return this.fails;
+  }
+
+  public double getGamma() {
+    return this.gamma;
+  }
+
+  /** Returns the last heat logged in the trial. */
+  public double getHeat() {
+    return this.heat;
+  }
+
+  public int getRejects() {
+    return this.rejects;
+  }
+
+  /** Returns the last score logged in the trial. */
+  public double getScore() {
+    return this.score;
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /** Returns the number of distinct remotes that entered the state with the given label. */
+  public int getStateCount(String label) {
+    return this.states.getOrDefault(label, Set.of()).size();
+  }
+
+  public int getSuccesses() {
+    return this.successes;
+  }
+
+  /** Returns the latest sim time of any event in the trial. */
+  public double getTime() {
+    return this.time;
+  }
+
+  public String toString() {
+    return String.format("Seed %d - ALPHA %.3f - BETA %.3f - GAMMA %.3f :: Score %.4f - Heat %.4f", this.seed,
+        this.alpha, this.beta, this.gamma, this.score, this.heat);
+  }
+}
@@ -0,0 +1,88 @@
+package com.seat.sim.common.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.imageio.ImageIO;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.PhysicsState;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.scenario.ScenarioStatus;
+import com.seat.sim.common.scenario.Snapshot;
+import org.junit.Test;
+
+public class FrameExporterTest {
+
+  private static Snapshot snapshot(int step) {
+    RemoteState drone = new RemoteState("drone", Set.of("Drone"), TeamColor.RED,
+        new PhysicsState(new Vector(4. * step, 20.)), List.of(), true, false);
+    return new Snapshot("hash", "test", ScenarioStatus.IN_PROGRESS, step, 1., Set.of("drone"), Set.of(),
+        Map.of("drone", drone));
+  }
+
+  @Test
+  public void everyNthSnapshotShouldBeWritten() throws IOException {
+    Path dir = Files.createTempDirectory("FrameExporterTest");
+    try {
+      String prefix = dir.resolve("frames/test").toString();
+      FrameExporter exporter = new FrameExporter(prefix, new Grid(8, 8, 8), 2);
+      for (int step = 0; step < 5; step++) {
+        exporter.export(FrameExporterTest.snapshot(step));
+      }
+      exporter.close();
+      assertEquals(3, exporter.getFrameCount());
+      for (int frame = 0; frame < 3; frame++) {
+        BufferedImage image = ImageIO.read(new File(String.format("%s_%06d.png", prefix, frame)));
+        assertEquals(64 + 1 + 16, image.getWidth());
+        // the margin is 8 pixels, and frame n shows step 2n
+        assertEquals(Color.RED.getRGB(), image.getRGB(8 + 8 * frame, 8 + 20));
+      }
+      assertFalse(new File(String.format("%s_%06d.png", prefix, 3)).exists());
+    } finally {
+      Files.walk(dir).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void errorsShouldFailTheExportRatherThanBlockIt() throws IOException {
+    Path dir = Files.createTempDirectory("FrameExporterTest");
+    OutOfMemoryError error = new OutOfMemoryError("test");
+    Snapshot bad = new Snapshot("hash", "test", ScenarioStatus.IN_PROGRESS, 0., 1., Set.of(), Set.of(), Map.of()) {
+      @Override
+      public Collection<RemoteState> getRemoteStates() {
+        throw error;
+      }
+    };
+    try {
+      FrameExporter exporter = new FrameExporter(dir.resolve("test").toString(), new Grid(8, 8, 8));
+      try {
+        // more frames than the queue holds, which would block for good if the encoder died unnoticed
+        for (int step = 0; step < 100; step++) {
+          exporter.export((step == 0) ? bad : FrameExporterTest.snapshot(step));
+        }
+        exporter.close();
+        fail("Export should fail once the encoder has thrown");
+      } catch (CommonException e) {
+        assertSame(error, e.getCause());
+      }
+    } finally {
+      Files.walk(dir).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+}
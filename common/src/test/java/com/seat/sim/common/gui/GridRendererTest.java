@@ -0,0 +1,61 @@
+package com.seat.sim.common.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.PhysicsState;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.scenario.ScenarioStatus;
+import com.seat.sim.common.scenario.Snapshot;
+import org.junit.Test;
+
+public class GridRendererTest {
+
+  private static Grid blockedDiagonal(int size, int zoneSize) {
+    BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        img.setRGB(x, y, (x == y) ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+      }
+    }
+    return new Grid(img, zoneSize);
+  }
+
+  private static BufferedImage render(GridRenderer renderer, Snapshot snap) {
+    BufferedImage frame = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g2d = frame.createGraphics();
+    g2d.setPaint(Color.WHITE);
+    g2d.fillRect(0, 0, 100, 100);
+    renderer.draw(g2d, 10, 20, snap);
+    g2d.dispose();
+    return frame;
+  }
+
+  @Test
+  public void frameShouldDrawPointsOverTheCachedGrid() {
+    GridRenderer renderer = new GridRenderer(GridRendererTest.blockedDiagonal(8, 8));
+    RemoteState drone = new RemoteState("drone", Set.of("Drone"), TeamColor.RED,
+        new PhysicsState(new Vector(20., 36.)), List.of(), true, false);
+    RemoteState done = new RemoteState("done", Set.of("Drone"), TeamColor.GREEN,
+        new PhysicsState(new Vector(44., 12.)), List.of(), false, true);
+    Snapshot snap = new Snapshot("hash", "test", ScenarioStatus.IN_PROGRESS, 0., 1., Set.of("drone"), Set.of(),
+        Map.of("drone", drone, "done", done));
+    BufferedImage frame = GridRendererTest.render(renderer, snap);
+    assertEquals(Color.DARK_GRAY.getRGB(), frame.getRGB(10 + 4, 20 + 4));
+    assertEquals(Color.LIGHT_GRAY.getRGB(), frame.getRGB(10 + 8, 20 + 4));
+    assertEquals(Color.WHITE.getRGB(), frame.getRGB(10 + 12, 20 + 4));
+    assertEquals(Color.RED.getRGB(), frame.getRGB(10 + 20, 20 + 36));
+    assertEquals(Color.WHITE.getRGB(), frame.getRGB(10 + 44, 20 + 12));
+    assertSame(renderer.getBackground(), renderer.getBackground());
+    assertEquals(Color.WHITE.getRGB(), GridRendererTest.render(renderer, null).getRGB(10 + 20, 20 + 36));
+  }
+}
@@ -0,0 +1,96 @@
+package com.seat.sim.common.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.seat.sim.common.json.*;
+import org.junit.Test;
+
+public class GridTest {
+
+  private static Grid blockedDiagonal(int size) {
+    BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        img.setRGB(x, y, (x == y) ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+      }
+    }
+    return new Grid(img, 2);
+  }
+
+  @Test
+  public void blockedBitmapShouldMatchZoneTypes() {
+    Grid grid = GridTest.blockedDiagonal(70);
+    assertEquals(77, grid.getBlockedBitmap().length);
+    for (int row = 0; row < 70; row++) {
+      for (int col = 0; col < 70; col++) {
+        assertEquals(grid.getZone(row, col).hasZoneType(ZoneType.BLOCKED), grid.isBlocked(row, col));
+      }
+    }
+  }
+
+  @Test
+  public void blockedBitmapShouldSurviveJsonRoundTrip() throws JsonException {
+    Grid grid = new Grid(GridTest.blockedDiagonal(8).toJson());
+    assertTrue(grid.isBlocked(3, 3));
+    assertFalse(grid.isBlocked(3, 4));
+  }
+
+  @Test
+  public void isBlockedAtLocationShouldUseZoneSize() {
+    Grid grid = GridTest.blockedDiagonal(8);
+    assertTrue(grid.isBlockedAtLocation(5.5, 4.1));
+    assertFalse(grid.isBlockedAtLocation(6.5, 4.1));
+    assertFalse(grid.isBlockedAtLocation(-1., -1.));
+    assertFalse(grid.isBlockedAtLocation(new Vector(100., 100.)));
+  }
+
+  @Test
+  public void cachesShouldBeBuiltOnceAcrossThreads() {
+    Grid grid = GridTest.blockedDiagonal(256);
+    Grid empty = new Grid(64, 64, 2);
+    List<long[]> bitmaps = IntStream.range(0, 64).parallel()
+      .mapToObj(i -> grid.getBlockedBitmap())
+      .collect(Collectors.toList());
+    List<Zone> zones = IntStream.range(0, 64).parallel()
+      .mapToObj(i -> empty.getZone(i, i))
+      .collect(Collectors.toList());
+    for (int i = 0; i < 64; i++) {
+      assertSame(grid.getBlockedBitmap(), bitmaps.get(i));
+      assertSame(empty.getZone(i, i), zones.get(i));
+    }
+  }
+
+  @Test
+  public void isBlockedShouldBeFalseOutsideOfGrid() {
+    Grid grid = GridTest.blockedDiagonal(4);
+    assertFalse(grid.isBlocked(-1, -1));
+    assertFalse(grid.isBlocked(4, 4));
+    assertFalse(new Grid(4, 4, 1).isBlocked(0, 0));
+  }
+
+  @Test
+  public void zonesShouldBeCachedForGridWithoutZones() {
+    Grid grid = new Grid(3, 2, 10);
+    assertFalse(grid.hasZones());
+    assertSame(grid.getZones(), grid.getZones());
+    assertSame(grid.getZone(1, 2), grid.getZoneAtLocation(25., 15.));
+    assertEquals(25., grid.getZone(1, 2).getLocation().getX(), 0.001);
+    assertEquals(15., grid.getZone(1, 2).getLocation().getY(), 0.001);
+  }
+
+  @Test
+  public void zonesShouldBeIndexedByRowThenColumn() {
+    Grid grid = new Grid(3, 2, 10);
+    assertEquals(2, grid.getZones().length);
+    assertEquals(3, grid.getZones()[0].length);
+  }
+}
@@ -0,0 +1,170 @@
+package com.seat.sim.common.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.seat.sim.common.gui.TeamColor;
+import com.seat.sim.common.math.PhysicsState;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.remote.intent.GoToIntention;
+import com.seat.sim.common.remote.intent.IntentRegistry;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.remote.intent.IntentionType;
+import com.seat.sim.common.scenario.ScenarioStatus;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.sensor.SensorState;
+import org.junit.Test;
+
+public class BinaryCodecTest {
+
+  private static Snapshot snapshot() {
+    Map<String, RemoteState> states = new HashMap<>();
+    states.put("r:a", new RemoteState("r:a", Set.of("Drone"), TeamColor.BLUE,
+        new PhysicsState(new Vector(1, 2, 3), new Vector(-1, 0, 0.5), 30., 10.), 0.75,
+        List.of(new SensorState("s:a", "Camera", Set.of("Drone_Camera"), Set.of("r:b"), true)), true, false));
+    states.put("r:b", new RemoteState("r:b", Set.of("Victim"), TeamColor.RED,
+        new PhysicsState(new Vector(4, 5, 0)), List.of(), true, true));
+    states.put("r:c", new RemoteState("r:c", Set.of(), TeamColor.NONE, List.of(), false, false));
+    return new Snapshot("hash", "test", ScenarioStatus.IN_PROGRESS, 20., 10., Set.of("r:a", "r:b"), Set.of("r:a"),
+        states);
+  }
+
+  @Test
+  public void snapshotShouldRoundTrip() {
+    Snapshot snap = BinaryCodecTest.snapshot();
+    BinaryCodec codec = new BinaryCodec();
+    Snapshot decoded = codec.decodeSnapshot(codec.encodeSnapshot(snap));
+    assertEquals(snap.getHash(), decoded.getHash());
+    assertEquals(snap.getScenarioID(), decoded.getScenarioID());
+    assertEquals(snap.getStatus(), decoded.getStatus());
+    assertEquals(snap.getTime(), decoded.getTime(), 0.);
+    assertEquals(snap.getStepSize(), decoded.getStepSize(), 0.);
+    assertEquals(snap.getActiveRemoteIDs(), decoded.getActiveRemoteIDs());
+    assertEquals(snap.getDynamicRemoteIDs(), decoded.getDynamicRemoteIDs());
+    for (String remoteID : snap.getRemoteIDs()) {
+      assertTrue(snap.getRemoteStateWithID(remoteID).equals(decoded.getRemoteStateWithID(remoteID)));
+    }
+  }
+
+  @Test
+  public void snapshotShouldBeSmallerThanJson() {
+    Snapshot snap = BinaryCodecTest.snapshot();
+    assertTrue(new BinaryCodec().encodeSnapshot(snap).length < snap.encode().length());
+  }
+
+  @Test
+  public void intentionsShouldRoundTripAndSkipEmptySets() {
+    IntentionSet drone = new IntentionSet("r:a");
+    drone.addIntention(IntentRegistry.GoTo(new Vector(7, 8, 0), 30., 1.4));
+    drone.addIntention(IntentRegistry.DeactivateSensors(Set.of("s:a")));
+    drone.addIntention(IntentRegistry.Steer(new Vector(0, 1, 0)));
+    IntentionSet victim = new IntentionSet("r:b");
+    victim.addIntention(IntentRegistry.GoTo(new Vector(1, 1, 0)));
+    IntentionSet empty = new IntentionSet("r:c");
+    BinaryCodec codec = new BinaryCodec();
+    Map<String, IntentionSet> decoded = codec.decodeIntentions(codec.encodeIntentions(List.of(drone, victim, empty)));
+    assertEquals(2, decoded.size());
+    assertFalse(decoded.containsKey("r:c"));
+    for (IntentionSet intentions : List.of(drone, victim)) {
+      IntentionSet other = decoded.get(intentions.getRemoteID());
+      assertEquals(intentions.getIntentionTypes(), other.getIntentionTypes());
+      assertEquals(intentions.toJson().toString(), other.toJson().toString());
+    }
+    GoToIntention goTo = (GoToIntention) decoded.get("r:b").getIntentionWithType(IntentionType.GOTO);
+    assertFalse(goTo.hasMaxVelocity());
+    assertFalse(goTo.hasMaxAcceleration());
+  }
+
+  @Test
+  public void deltaShouldOnlyShipChangedRemotesAndRebuildFullView() {
+    Snapshot first = BinaryCodecTest.snapshot();
+    Map<String, RemoteState> states = new HashMap<>();
+    for (RemoteState state : first.getRemoteStates()) {
+      states.put(state.getRemoteID(), state);
+    }
+    states.remove("r:c");
+    states.put("r:b", new RemoteState("r:b", Set.of("Victim"), TeamColor.RED,
+        new PhysicsState(new Vector(6, 5, 0)), List.of(), true, true));
+    Snapshot second = new Snapshot("hash2", "test", ScenarioStatus.IN_PROGRESS, 30., 10., Set.of("r:a", "r:b"),
+        Set.of("r:a"), states);
+    BinaryCodec encoder = new BinaryCodec();
+    BinaryCodec decoder = new BinaryCodec();
+    Map<String, RemoteState> sent = new HashMap<>();
+    Map<String, RemoteState> received = new HashMap<>();
+    decoder.decodeSnapshotDelta(encoder.encodeSnapshotDelta(first, sent), received);
+    byte[] delta = encoder.encodeSnapshotDelta(second, sent);
+    assertTrue(delta.length < encoder.encodeSnapshot(second).length);
+    Snapshot decoded = decoder.decodeSnapshotDelta(delta, received);
+    assertEquals(second.getRemoteIDs(), decoded.getRemoteIDs());
+    for (String remoteID : second.getRemoteIDs()) {
+      assertTrue(second.getRemoteStateWithID(remoteID).equals(decoded.getRemoteStateWithID(remoteID)));
+    }
+  }
+
+  @Test
+  public void deltaShouldShipChangesTooSmallForRemoteStateEquals() {
+    Snapshot first = BinaryCodecTest.snapshot();
+    Map<String, RemoteState> states = new HashMap<>();
+    for (RemoteState state : first.getRemoteStates()) {
+      states.put(state.getRemoteID(), state);
+    }
+    // a fuel burn and a change of speed limit within Vector.near, which RemoteState.equals cannot tell apart
+    RemoteState drone = first.getRemoteStateWithID("r:a");
+    states.put("r:a", new RemoteState("r:a", Set.of("Drone"), TeamColor.BLUE,
+        new PhysicsState(new Vector(1, 2, 3), new Vector(-1, 0, 0.5), 30. + 1e-7, 10.), 0.75 - 1e-7,
+        drone.getSensorStates(), true, false));
+    assertTrue(drone.equals(states.get("r:a")));
+    Snapshot second = new Snapshot("hash2", "test", ScenarioStatus.IN_PROGRESS, 30., 10., Set.of("r:a", "r:b"),
+        Set.of("r:a"), states);
+    BinaryCodec encoder = new BinaryCodec();
+    BinaryCodec decoder = new BinaryCodec();
+    Map<String, RemoteState> sent = new HashMap<>();
+    Map<String, RemoteState> received = new HashMap<>();
+    decoder.decodeSnapshotDelta(encoder.encodeSnapshotDelta(first, sent), received);
+    Snapshot decoded = decoder.decodeSnapshotDelta(encoder.encodeSnapshotDelta(second, sent), received);
+    RemoteState state = decoded.getRemoteStateWithID("r:a");
+    assertEquals(0.75 - 1e-7, state.getFuelAmount(), 0.);
+    assertEquals(30. + 1e-7, state.getPhysicsState().getMaxVelocity(), 0.);
+    assertEquals(encoder.checksum(second), decoder.checksum(decoded));
+    // an unchanged remote is still left out
+    assertTrue(encoder.encodeSnapshotDelta(second, sent).length < encoder.encodeSnapshot(second).length);
+  }
+
+  @Test
+  public void checksumShouldIgnoreHashAndOrder() {
+    Snapshot snap = BinaryCodecTest.snapshot();
+    Map<String, RemoteState> reversed = new LinkedHashMap<>();
+    for (String remoteID : List.of("r:c", "r:b", "r:a")) {
+      reversed.put(remoteID, snap.getRemoteStateWithID(remoteID));
+    }
+    Snapshot other = new Snapshot("other", "test", ScenarioStatus.IN_PROGRESS, 20., 10.,
+        new LinkedHashSet<>(List.of("r:b", "r:a")), Set.of("r:a"), reversed);
+    BinaryCodec codec = new BinaryCodec();
+    assertEquals(codec.checksum(snap), codec.checksum(other));
+  }
+
+  @Test
+  public void checksumShouldChangeWithState() {
+    Snapshot snap = BinaryCodecTest.snapshot();
+    Map<String, RemoteState> states = new HashMap<>();
+    for (String remoteID : snap.getRemoteIDs()) {
+      states.put(remoteID, snap.getRemoteStateWithID(remoteID));
+    }
+    states.put("r:b", new RemoteState("r:b", Set.of("Victim"), TeamColor.RED,
+        new PhysicsState(new Vector(4, 5, 1e-9)), List.of(), true, true));
+    Snapshot moved = new Snapshot("hash", "test", ScenarioStatus.IN_PROGRESS, 20., 10., Set.of("r:a", "r:b"),
+        Set.of("r:a"), states);
+    BinaryCodec codec = new BinaryCodec();
+    assertNotEquals(codec.checksum(snap), codec.checksum(moved));
+  }
+}
@@ -0,0 +1,60 @@
+package com.seat.sim.common.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.remote.intent.IntentRegistry;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.remote.intent.IntentionType;
+import com.seat.sim.common.scenario.ScenarioStatus;
+import com.seat.sim.common.scenario.Snapshot;
+import org.junit.Test;
+
+public class LocalTransportTest {
+
+  @Test
+  public void snapshotShouldBeHandedToPeerWithoutCopying() {
+    LocalTransport client = LocalTransport.Pair();
+    LocalTransport server = client.getPeer();
+    Snapshot snap = new Snapshot("hash", "test", ScenarioStatus.START, 0., 1., Set.of(), Set.of(), new HashMap<>());
+    server.sendSnapshot(snap);
+    assertSame(snap, client.getSnapshotBlocking());
+  }
+
+  @Test
+  public void intentionsShouldBeKeyedByRemoteIDAndSkipEmptySets() {
+    LocalTransport client = LocalTransport.Pair();
+    LocalTransport server = client.getPeer();
+    IntentionSet stop = new IntentionSet("r:a");
+    stop.addIntention(IntentRegistry.Stop());
+    IntentionSet empty = new IntentionSet("r:b");
+    client.sendIntentions(List.of(stop, empty));
+    Map<String, IntentionSet> intentions = server.getIntentionsBlocking();
+    assertEquals(1, intentions.size());
+    assertTrue(intentions.get("r:a").hasIntentionWithType(IntentionType.STOP));
+    assertFalse(intentions.containsKey("r:b"));
+  }
+
+  @Test(expected = CommonException.class)
+  public void closeShouldUnblockPeer() {
+    LocalTransport client = LocalTransport.Pair();
+    LocalTransport server = client.getPeer();
+    client.close();
+    server.getScenarioConfigBlocking();
+  }
+
+  @Test(expected = CommonException.class)
+  public void unexpectedMessageShouldThrow() {
+    LocalTransport client = LocalTransport.Pair();
+    client.sendIntentions(List.of());
+    client.getPeer().getSnapshotBlocking();
+  }
+}
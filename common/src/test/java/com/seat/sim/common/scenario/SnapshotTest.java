@@ -0,0 +1,80 @@
+package com.seat.sim.common.scenario;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.seat.sim.common.gui.TeamColor;
+import com.seat.sim.common.math.PhysicsState;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+import org.junit.Test;
+
+public class SnapshotTest {
+
+  private static Snapshot snapshot(long seed, int count) {
+    Random rng = new Random(seed);
+    Map<String, RemoteState> states = new HashMap<>();
+    Set<String> active = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      String remoteID = String.format("r:%d", i);
+      String tag = (i % 3 == 0) ? "Victim" : "Drone";
+      // snap locations to a coarse lattice so that distance ties are common
+      Vector location = new Vector(rng.nextInt(40) * 16., rng.nextInt(40) * 16., 0.);
+      states.put(remoteID, new RemoteState(remoteID, Set.of(tag), TeamColor.BLUE, new PhysicsState(location),
+          List.of(), true, false));
+      if (i % 7 != 0) {
+        active.add(remoteID);
+      }
+    }
+    return new Snapshot("hash", "test", ScenarioStatus.IN_PROGRESS, 0., 1., active, Set.of(), states);
+  }
+
+  @Test
+  public void activeStatesShouldBeCachedInActiveOrder() {
+    Snapshot snap = SnapshotTest.snapshot(1L, 100);
+    List<RemoteState> expected = snap.getActiveRemoteIDs()
+        .stream()
+        .map(remoteID -> snap.getRemoteStateWithID(remoteID))
+        .collect(Collectors.toList());
+    assertEquals(expected, snap.getActiveRemoteStates());
+    assertSame(snap.getActiveRemoteStates(), snap.getActiveRemoteStates());
+    assertEquals(
+        expected.stream().filter(state -> state.hasTag("Drone")).collect(Collectors.toList()),
+        snap.getActiveRemoteStatesWithTag("Drone"));
+    assertTrue(snap.getActiveRemoteStatesWithTag("Base").isEmpty());
+  }
+
+  @Test
+  public void nearestShouldMatchStableSort() {
+    for (long seed = 0; seed < 20; seed++) {
+      Snapshot snap = SnapshotTest.snapshot(seed, 200);
+      Random rng = new Random(seed);
+      for (int q = 0; q < 50; q++) {
+        Vector location = new Vector(rng.nextInt(40) * 16., rng.nextInt(40) * 16., 0.);
+        int k = rng.nextInt(8);
+        int skip = rng.nextInt(5);
+        Predicate<RemoteState> filter = state -> state.getRemoteID().hashCode() % 5 != skip;
+        List<RemoteState> expected = new ArrayList<>(snap.getActiveRemoteStates()
+            .stream()
+            .filter(state -> state.hasTag("Drone"))
+            .filter(filter)
+            .collect(Collectors.toList()));
+        expected.sort(Comparator.comparingDouble(state -> Vector.dist(location, state.getLocation())));
+        List<RemoteState> nearest = snap.getNearestActiveRemoteStatesWithTag("Drone", location, k, filter);
+        assertEquals(expected.subList(0, Math.min(k, expected.size())), nearest);
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.seat.sim.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.seat.sim.common.core.CommonException;
+
+public class DebuggerTest {
+
+  private Debugger debugger;
+  private List<String> lines;
+
+  @Before
+  public void setUp() {
+    this.debugger = new Debugger();
+    this.lines = new ArrayList<>();
+    this.debugger.setSink((level, msg) -> this.lines.add(String.format("%s %s", level, msg)));
+  }
+
+  @Test
+  public void defaultLevelShouldDropInfo() {
+    assertEquals(Debugger.DEFAULT_LEVEL, this.debugger.getLevel());
+    this.debugger.info("step");
+    this.debugger.state("done");
+    this.debugger.warn("careful");
+    this.debugger.err("broken");
+    assertEquals(List.of("STATE done", "WARN careful", "ERR broken"), this.lines);
+  }
+
+  @Test
+  public void disabledSuppliersShouldNotBeCalled() {
+    this.debugger.setLevel(Debugger.Level.OFF);
+    this.debugger.info(() -> {
+        throw new AssertionError("info message was built");
+      });
+    this.debugger.err(() -> {
+        throw new AssertionError("err message was built");
+      });
+    assertTrue(this.lines.isEmpty());
+    this.debugger.setLevel(Debugger.Level.INFO);
+    this.debugger.info(() -> String.format("Updating remote %s ...", "r0"));
+    assertEquals(List.of("INFO Updating remote r0 ..."), this.lines);
+  }
+
+  @Test
+  public void parseShouldIgnoreCase() {
+    assertEquals(Debugger.Level.WARN, Debugger.Level.Parse(" warn"));
+    assertTrue(this.debugger.isEnabled(Debugger.Level.ERR));
+    assertFalse(this.debugger.isEnabled(Debugger.Level.INFO));
+  }
+
+  @Test(expected = CommonException.class)
+  public void parseShouldRejectUnknownLevels() {
+    Debugger.Level.Parse("verbose");
+  }
+}
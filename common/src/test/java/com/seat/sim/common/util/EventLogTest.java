@@ -0,0 +1,105 @@
+package com.seat.sim.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+
+public class EventLogTest {
+
+  private static EventLog writeTrials() throws IOException {
+    Files.createDirectories(Path.of("logs"));
+    EventLog events = new EventLog("EventLogTest");
+    events.trial(42L, 0.5, 0.25, 0.125);
+    events.state(20., "Drone_0", "Drone exploring");
+    events.detection(20., "Drone_0", "Victim_3", 0);
+    events.detection(40., "Drone_1", "Victim_3", 2);
+    events.contract(40., EventLog.Type.ACCEPT, "Drone_0", "Victim_3");
+    events.contract(60., EventLog.Type.SUCCESS, "Victim_3", "Drone_0");
+    events.score(20., 1.);
+    events.score(60., 3.);
+    events.heat(1620., 0.75);
+    events.state(1620., "Drone_0", "Drone done");
+    events.state(1620., "Drone_1", "Drone done");
+    events.trial(43L, 0.5, 0.25, 0.125);
+    events.contract(20., EventLog.Type.REJECT, "Drone_1", "Victim_4");
+    events.contract(40., EventLog.Type.FAIL, "Victim_4", "Drone_1");
+    events.score(20., 7.);
+    events.close();
+    return events;
+  }
+
+  @Test
+  public void aggregateShouldSummarizeEachTrial() throws IOException {
+    EventLog events = EventLogTest.writeTrials();
+    try {
+      List<TrialStats> trials = EventReader.Aggregate(events.getFilename());
+      assertEquals(2, trials.size());
+      TrialStats first = trials.get(0);
+      assertEquals(42L, first.getSeed());
+      assertEquals(0.25, first.getBeta(), 0.);
+      assertEquals(1, first.getDetections());
+      assertEquals(2, first.getDetectionValue());
+      assertEquals(1, first.getAccepts());
+      assertEquals(1, first.getSuccesses());
+      assertEquals(3., first.getScore(), 0.);
+      assertEquals(0.75, first.getHeat(), 0.);
+      assertEquals(2, first.getStateCount("Drone done"));
+      assertEquals(1, first.getStateCount("Drone exploring"));
+      assertEquals(1620., first.getTime(), 0.);
+      TrialStats second = trials.get(1);
+      assertEquals(43L, second.getSeed());
+      assertEquals(1, second.getRejects());
+      assertEquals(1, second.getFails());
+      assertEquals(0, second.getStateCount("Drone done"));
+      assertEquals(7., second.getScore(), 0.);
+    } finally {
+      Files.deleteIfExists(Path.of(events.getFilename()));
+    }
+  }
+
+  @Test
+  public void readerShouldResolveNames() throws IOException {
+    EventLog events = EventLogTest.writeTrials();
+    try (EventReader reader = new EventReader(events.getFilename())) {
+      assertTrue(reader.next());
+      assertEquals(EventLog.Type.TRIAL, reader.getType());
+      assertEquals(0, reader.getTrial());
+      assertTrue(reader.next());
+      assertEquals(EventLog.Type.STATE, reader.getType());
+      assertEquals("Drone_0", reader.getRemoteID());
+      assertEquals("Drone exploring", reader.getOtherID());
+      assertTrue(reader.next());
+      assertEquals(EventLog.Type.DETECTION, reader.getType());
+      assertEquals("Victim_3", reader.getOtherID());
+      int count = 3;
+      while (reader.next()) {
+        count++;
+      }
+      assertEquals(15, count);
+      assertFalse(reader.next());
+    } finally {
+      Files.deleteIfExists(Path.of(events.getFilename()));
+    }
+  }
+
+  @Test
+  public void seriesShouldFollowOneTrial() throws IOException {
+    EventLog events = EventLogTest.writeTrials();
+    try {
+      TimeSeries<Double> series = EventReader.Series(events.getFilename(), EventLog.Type.SCORE, 0);
+      assertEquals(List.of(20., 60.), series.getTime());
+      assertEquals(List.of(1., 3.), series.getData());
+      series = EventReader.Series(events.getFilename(), EventLog.Type.SCORE, 1);
+      assertEquals(List.of(7.), series.getData());
+    } finally {
+      Files.deleteIfExists(Path.of(events.getFilename()));
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.seat.sim.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class LoggerTest {
+
+  private static TimeSeries<String> closeAndParse(Logger logger) throws IOException {
+    try {
+      logger.close();
+      return Logger.Parse(logger.getFilename());
+    } finally {
+      Files.deleteIfExists(Path.of(logger.getFilename()));
+    }
+  }
+
+  @Test
+  public void closeShouldWriteAllQueuedLinesInOrder() throws IOException {
+    Files.createDirectories(Path.of("logs"));
+    Logger logger = new Logger("LoggerTest_order");
+    for (int i = 0; i < 20000; i++) {
+      logger.log(i, "Line %d", i);
+    }
+    TimeSeries<String> series = LoggerTest.closeAndParse(logger);
+    assertEquals(20000, series.getData().size());
+    for (int i = 0; i < 20000; i++) {
+      assertEquals(i, series.getTime().get(i), 0.);
+      assertEquals(String.format("Line %d", i), series.getData().get(i));
+    }
+  }
+
+  @Test
+  public void badEntriesShouldNotStopLaterLines() throws IOException {
+    Files.createDirectories(Path.of("logs"));
+    Logger logger = new Logger("LoggerTest_bad");
+    logger.log(1., "Count %d", "one");
+    logger.log(2., "Drone %s", new Object() {
+      @Override
+      public String toString() {
+        throw new IllegalStateException("no name");
+      }
+    });
+    for (int i = 0; i < 100; i++) {
+      logger.log(3. + i, "Line %d", i);
+    }
+    TimeSeries<String> series = LoggerTest.closeAndParse(logger);
+    assertEquals(102, series.getData().size());
+    assertTrue(series.getData().get(0).startsWith("Could not log \"Count %d\""));
+    assertTrue(series.getData().get(1).contains("no name"));
+    assertEquals(2., series.getTime().get(1), 0.);
+    assertEquals("Line 99", series.getData().get(101));
+  }
+
+  @Test
+  public void messagesShouldNotBeFormattedWithoutArgs() throws IOException {
+    Files.createDirectories(Path.of("logs"));
+    Logger logger = new Logger("LoggerTest_raw");
+    logger.log(1.5, "Heat: 100%");
+    logger.log(2.5, ":: %s :: %s :: Drone done", "d0", "(1, 2)");
+    TimeSeries<String> series = LoggerTest.closeAndParse(logger);
+    assertEquals("Heat: 100%", series.getData().get(0));
+    assertEquals(":: d0 :: (1, 2) :: Drone done", series.getData().get(1));
+    assertEquals(2.5, series.getTime().get(1), 0.);
+  }
+}
@@ -0,0 +1,45 @@
+package com.seat.sim.common.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class MappedAppenderTest {
+
+  @Test
+  public void recordsShouldSpanWindowsAndReadBack() throws IOException {
+    Path path = Files.createTempFile("MappedAppenderTest", ".bin");
+    try {
+      // a tiny window forces records to straddle remaps
+      try (MappedAppender out = new MappedAppender(path.toString(), 64)) {
+        for (int i = 0; i < 1000; i++) {
+          out.putByte(1);
+          out.putInt(i);
+          out.putDouble(i / 3.);
+          out.putLong(-i);
+        }
+        out.put(new byte[100]);
+        out.put(new byte[] {7, 8, 9});
+        assertEquals(1000 * 21 + 103, out.getPosition());
+      }
+      try (MappedReader in = new MappedReader(path.toString())) {
+        assertEquals(1000 * 21 + 103, in.size());
+        for (int i = 0; i < 1000; i++) {
+          long offset = i * 21L;
+          assertEquals(1, in.getByte(offset));
+          assertEquals(i, in.getInt(offset + 1));
+          assertEquals(i / 3., in.getDouble(offset + 5), 0.);
+          assertEquals(-i, in.getLong(offset + 13));
+        }
+        assertArrayEquals(new byte[] {7, 8, 9}, in.get(1000 * 21 + 100, 3));
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.seat.sim.common.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RandomTest {
+
+  @Test
+  public void copyShouldDrawTheSameSequence() {
+    Random rng = new Random(42L);
+    rng.getRandomProbability();
+    // leaves a Gaussian pending inside java.util.Random
+    rng.getRandomSpeed2D(1., 1.);
+    Random copy = rng.copy();
+    assertEquals(rng.getSeed(), copy.getSeed());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(rng.getRandomSpeed2D(1., 1.), copy.getRandomSpeed2D(1., 1.));
+      assertEquals(rng.getRandomNumber(1000), copy.getRandomNumber(1000));
+    }
+  }
+
+  @Test
+  public void copyShouldBeIndependent() {
+    Random rng = new Random(7L);
+    Random copy = rng.copy();
+    double first = rng.getRandomProbability();
+    rng.getRandomProbability();
+    assertEquals(first, copy.getRandomProbability(), 0.);
+  }
+}
@@ -0,0 +1,114 @@
+package com.seat.sim.common.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.seat.sim.common.gui.TeamColor;
+import com.seat.sim.common.math.PhysicsState;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.scenario.ScenarioStatus;
+import com.seat.sim.common.scenario.Snapshot;
+import org.junit.Test;
+
+public class TrajectoryArchiveTest {
+
+  private static Vector location(int step, int remote) {
+    return new Vector(step + remote * 100., step * 2. - remote, remote);
+  }
+
+  private static Snapshot snapshot(int step) {
+    Map<String, RemoteState> states = new HashMap<>();
+    states.put("base", new RemoteState("base", Set.of("Base"), TeamColor.BLUE, List.of(), true, false));
+    for (int r = 0; r < 3; r++) {
+      String remoteID = String.format("drone:%d", r);
+      PhysicsState state = new PhysicsState(TrajectoryArchiveTest.location(step, r), new Vector(1., -1., 0.));
+      states.put(remoteID, new RemoteState(remoteID, Set.of("Drone"), TeamColor.RED, state, 100. - step,
+          List.of(), r != 2 || step < 5, r == 2 && step >= 5));
+    }
+    Set<String> active = new HashSet<>(states.keySet());
+    if (step >= 5) {
+      active.remove("drone:2");
+    }
+    ScenarioStatus status = (step < 9) ? ScenarioStatus.IN_PROGRESS : ScenarioStatus.DONE;
+    return new Snapshot("hash", "test", status, step * 0.5, 0.5, active, Set.of(), states);
+  }
+
+  @Test
+  public void stepsShouldReadBackByIndex() throws IOException {
+    Path path = Files.createTempFile("TrajectoryArchiveTest", ".traj");
+    try {
+      try (TrajectoryArchive archive = new TrajectoryArchive(path.toString(), TrajectoryArchiveTest.snapshot(0))) {
+        for (int step = 0; step < 10; step++) {
+          archive.append(TrajectoryArchiveTest.snapshot(step));
+        }
+      }
+      try (TrajectoryReader in = new TrajectoryReader(path.toString())) {
+        assertEquals("test", in.getScenarioID());
+        assertEquals(10, in.getStepCount());
+        assertEquals(4, in.getRemoteCount());
+        assertEquals(0, in.getRemoteIndex("base"));
+        assertEquals(-1, in.getRemoteIndex("nobody"));
+        assertEquals(List.of(1, 2, 3), in.getRemoteIndexesWithTag("Drone"));
+        assertEquals(TeamColor.RED, in.getTeam(1));
+        assertFalse(in.hasLocation(3, 0));
+        assertFalse(in.hasFuel(3, 0));
+        for (int step = 0; step < 10; step++) {
+          assertEquals(step * 0.5, in.getTime(step), 0.);
+          assertEquals((step < 5) ? 4 : 3, in.getActiveCount(step));
+          double[] locations = in.getLocations(step);
+          for (int r = 0; r < 3; r++) {
+            Vector location = TrajectoryArchiveTest.location(step, r);
+            assertEquals(location, in.getLocation(step, r + 1));
+            assertEquals(location.getY(), locations[3 * (r + 1) + 1], 0.);
+            assertEquals(new Vector(1., -1., 0.), in.getVelocity(step, r + 1));
+            assertEquals(100. - step, in.getFuel(step, r + 1), 0.);
+          }
+          assertEquals(step < 5, in.isActive(step, 3));
+          assertEquals(step >= 5, in.isDone(step, 3));
+        }
+        assertEquals(ScenarioStatus.DONE, in.getStatus(9));
+        double[] drone = in.getPath(2, 3, 6);
+        assertArrayEquals(new double[] {103., 5., 1., 104., 7., 1., 105., 9., 1.}, drone, 0.);
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  @Test
+  public void readerShouldIgnoreTornSteps() throws IOException {
+    Path path = Files.createTempFile("TrajectoryArchiveTest", ".traj");
+    try {
+      try (TrajectoryArchive archive = new TrajectoryArchive(path.toString(), TrajectoryArchiveTest.snapshot(0))) {
+        for (int step = 0; step < 4; step++) {
+          archive.append(TrajectoryArchiveTest.snapshot(step));
+        }
+      }
+      // half a step of data, then the zeros an archive that was never closed ends in
+      byte[] tail = new byte[3 * TrajectoryArchive.getStepBytes(4)];
+      for (int i = 0; i < tail.length / 6; i++) {
+        tail[i] = 1;
+      }
+      Files.write(path, tail, StandardOpenOption.APPEND);
+      try (TrajectoryReader in = new TrajectoryReader(path.toString())) {
+        assertEquals(4, in.getStepCount());
+        assertTrue(in.isActive(3, 0));
+      }
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.seat.sim.headless;
+
+import com.seat.sim.client.core.ClientException;
+import com.seat.sim.client.core.DroneScenario;
+import com.seat.sim.client.core.SweepRunner;
+import com.seat.sim.common.core.Application;
+import com.seat.sim.common.gui.FrameExporter;
+import com.seat.sim.common.util.ArgsParser;
+import com.seat.sim.common.util.Debugger;
+import com.seat.sim.server.core.HeadlessRunner;
+
+/**
+ * Runs a client application against an in-process server scenario, with no transport in between. It takes the
+ * client's application arguments, so any application the client can run over a socket can be run here.
+ */
+public class App {
+  private static final String EVERY_ARG = "-every";
+  private static final String FRAMES_ARG = "-frames";
+  private static final String ID_ARG = "-id";
+  private static final String LOG_ARG = "-log";
+  private static final String PARALLEL_ARG = "--parallel";
+  private static final String SWEEP_ARG = "--sweep";
+  private static final String TRAJECTORIES_ARG = "-trajectories";
+  private static final String WORKERS_ARG = "-workers";
+
+  private static int getExportEvery(ArgsParser args) {
+    return (args.hasParam(App.EVERY_ARG)) ? args.getInt(App.EVERY_ARG) : FrameExporter.DEFAULT_EVERY;
+  }
+
+  private static HeadlessRunner getHeadlessRunner(Application app, ArgsParser args) {
+    HeadlessRunner runner = new HeadlessRunner(app);
+    runner.setParallel(args.hasParam(App.PARALLEL_ARG));
+    if (args.hasParam(App.TRAJECTORIES_ARG)) {
+      runner.setTrajectories(args.getString(App.TRAJECTORIES_ARG));
+    }
+    if (args.hasParam(App.FRAMES_ARG)) {
+      runner.setFrameExport(args.getString(App.FRAMES_ARG), App.getExportEvery(args));
+    }
+    return runner;
+  }
+
+  /** Sweep trials share a scenario ID, so their archives are told apart by the seed of the trial. */
+  private static HeadlessRunner getHeadlessRunner(DroneScenario scenario, ArgsParser args) {
+    HeadlessRunner runner = App.getHeadlessRunner((Application) scenario, args);
+    if (args.hasParam(App.TRAJECTORIES_ARG)) {
+      runner.setTrajectories(String.format("%s_%d", args.getString(App.TRAJECTORIES_ARG),
+          scenario.getExperiment().getSeed()));
+    }
+    if (args.hasParam(App.FRAMES_ARG)) {
+      runner.setFrameExport(String.format("%s_%d", args.getString(App.FRAMES_ARG),
+          scenario.getExperiment().getSeed()), App.getExportEvery(args));
+    }
+    return runner;
+  }
+
+  public static void main(String[] args) {
+    ArgsParser parser = new ArgsParser(args);
+    if (parser.hasParam(App.LOG_ARG)) {
+      Debugger.logger.setLevel(Debugger.Level.Parse(parser.getString(App.LOG_ARG)));
+    }
+    if (!parser.hasParam(App.ID_ARG)) {
+      throw new ClientException("No application ID has been provided");
+    }
+    String scenarioID = parser.getString(App.ID_ARG);
+    if (parser.hasParam(App.SWEEP_ARG)) {
+      int workers = (parser.hasParam(App.WORKERS_ARG)) ?
+        parser.getInt(App.WORKERS_ARG):
+        Runtime.getRuntime().availableProcessors();
+      new SweepRunner(
+          threadID -> com.seat.sim.client.App.getSweepScenario(scenarioID, parser, threadID),
+          workers,
+          scenario -> App.getHeadlessRunner(scenario, parser).run()
+        ).run();
+      return;
+    }
+    App.getHeadlessRunner(com.seat.sim.client.App.getApplication(scenarioID, parser), parser).run();
+  }
+}
@@ -1,16 +1,65 @@
 package com.seat.sim.server;
 
 import com.seat.sim.common.util.ArgsParser;
+import com.seat.sim.common.util.Debugger;
 import com.seat.sim.server.core.AppServer;
+import com.seat.sim.server.core.IntentionReplayer;
+import com.seat.sim.server.core.SessionServer;
 
 public class App {
+  private static final String LOG_ARG = "-log";
+  private static final String MULTI_SESSION_ARG = "--multi";
+  private static final String PARALLEL_ARG = "--parallel";
   private static final String PORT_ARG = "-p";
+  private static final String RECORD_ARG = "-record";
+  private static final String REPLAY_ARG = "-replay";
+  private static final String SPECULATE_ARG = "--speculate";
+  private static final String TRAJECTORIES_ARG = "-trajectories";
+
+  private static void replay(String filename) {
+    IntentionReplayer replayer = new IntentionReplayer(filename);
+    long start = System.nanoTime();
+    replayer.run();
+    double secs = (System.nanoTime() - start) / 1e9;
+    Debugger.logger.state(String.format("Replayed %d step(s), matching %d snapshot(s), of %s in %.3fs",
+        replayer.getStepCount(), replayer.getSnapshotCount(), filename, secs));
+  }
 
   public static void main(String[] args) {
     ArgsParser parser = new ArgsParser(args);
+    if (parser.hasParam(App.LOG_ARG)) {
+      Debugger.logger.setLevel(Debugger.Level.Parse(parser.getString(App.LOG_ARG)));
+    }
+    if (parser.hasParam(App.REPLAY_ARG)) {
+      App.replay(parser.getString(App.REPLAY_ARG));
+      return;
+    }
+    if (parser.hasParam(App.MULTI_SESSION_ARG)) {
+      SessionServer server = (parser.hasParam(App.PORT_ARG)) ?
+        new SessionServer(parser.getInt(App.PORT_ARG)):
+        new SessionServer();
+      server.setParallel(parser.hasParam(App.PARALLEL_ARG));
+      server.setSpeculative(parser.hasParam(App.SPECULATE_ARG));
+      if (parser.hasParam(App.RECORD_ARG)) {
+        server.setRecording(parser.getString(App.RECORD_ARG));
+      }
+      if (parser.hasParam(App.TRAJECTORIES_ARG)) {
+        server.setTrajectories(parser.getString(App.TRAJECTORIES_ARG));
+      }
+      server.run();
+      return;
+    }
     AppServer server = (parser.hasParam(App.PORT_ARG)) ?
       new AppServer(parser.getInt(App.PORT_ARG)):
       new AppServer();
+    server.setParallel(parser.hasParam(App.PARALLEL_ARG));
+    server.setSpeculative(parser.hasParam(App.SPECULATE_ARG));
+    if (parser.hasParam(App.RECORD_ARG)) {
+      server.setRecording(parser.getString(App.RECORD_ARG));
+    }
+    if (parser.hasParam(App.TRAJECTORIES_ARG)) {
+      server.setTrajectories(parser.getString(App.TRAJECTORIES_ARG));
+    }
     server.run();
   }
 }
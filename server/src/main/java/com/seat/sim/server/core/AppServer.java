@@ -1,84 +1,226 @@
 package com.seat.sim.server.core;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.seat.sim.common.core.CommonException;
-import com.seat.sim.common.net.JsonSocket;
+import com.seat.sim.common.net.Transport;
+import com.seat.sim.common.net.TransportRegistry;
 import com.seat.sim.common.remote.intent.IntentionSet;
 import com.seat.sim.common.remote.intent.IntentionType;
 import com.seat.sim.common.scenario.ScenarioConfig;
 import com.seat.sim.common.scenario.Snapshot;
 import com.seat.sim.common.util.Debugger;
+import com.seat.sim.common.util.TrajectoryArchive;
 import com.seat.sim.server.scenario.Scenario;
 
 public class AppServer {
 
   public static final String SERVER_ID = "__SERVER__";
 
-  private JsonSocket socket;
+  private boolean parallel;
+  private Optional<String> recording = Optional.empty();
+  private boolean speculative;
+  private Optional<String> trajectories = Optional.empty();
+  private Transport transport;
 
   public AppServer() throws CommonException {
-    this.socket = JsonSocket.Server();
+    this.transport = TransportRegistry.Server();
   }
 
   public AppServer(int port) throws CommonException {
-    this.socket = JsonSocket.Server(port);
+    this.transport = TransportRegistry.Server(port);
   }
 
-  public void run() throws CommonException, ServerException, SimException {
-    Debugger.logger.info("Running server ...");
+  public AppServer(Transport transport) {
+    this.transport = transport;
+  }
 
-    while (true) {
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /** Waits for the pending speculation, rethrowing whatever it failed with. */
+  private void await(Future<?> speculation) throws ServerException, SimException {
+    try {
+      speculation.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SimException) {
+        throw (SimException) e.getCause();
+      }
+      throw new ServerException(e.getCause().getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException(e.getMessage());
+    }
+  }
+
+  private static void append(TrajectoryArchive archive, Snapshot snap) throws CommonException {
+    if (archive == null) {
+      return;
+    }
+    try {
+      archive.append(snap);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  private static void close(TrajectoryArchive archive) throws CommonException {
+    if (archive == null) {
+      return;
+    }
+    try {
+      archive.close();
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  private TrajectoryArchive getArchive(Snapshot snap, int trial) throws CommonException {
+    if (this.trajectories.isEmpty()) {
+      return null;
+    }
+    try {
+      return new TrajectoryArchive(
+          String.format("%s_%s_%d.traj", this.trajectories.get(), snap.getScenarioID(), trial), snap);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  private void runScenarios(ExecutorService executor, IntentionRecorder recorder) throws CommonException,
+      ServerException, SimException {
+    for (int trial = 1; true; trial++) {
       Debugger.logger.info("Waiting for scenario config ...");
-      ScenarioConfig config = this.socket.getScenarioConfigBlocking();
+      ScenarioConfig config = this.transport.getScenarioConfigBlocking();
       Debugger.logger.state(String.format("Received scenario config <%s>", config.getScenarioID()));
+      if (recorder != null) {
+        recorder.config(config);
+      }
 
-      Scenario scenario = new Scenario(config);
+      Scenario scenario = new Scenario(config, this.parallel);
       Debugger.logger.info(String.format("Running scenario <%s> ...", scenario.getScenarioID()));
 
-      Snapshot snap = scenario.getSnapshot();
-      Debugger.logger.info(String.format("Sending initial snap <%s> ...", snap.getHash()));
-      this.socket.sendSnapshot(snap);
-      Debugger.logger.state(String.format("Snap <%s> sent", snap.getHash()));
-
-      while (true) {
-        double time = scenario.getTime() + scenario.getStepSize();
-
-        Debugger.logger.info("Waiting for intention(s) ...");
-        Map<String, IntentionSet> intentions = this.socket.getIntentionsBlocking();
-        Debugger.logger.state("Received intention(s)");
-
-        if (intentions.containsKey(AppServer.SERVER_ID)) {
-          Debugger.logger.info("Updating server ...");
-          IntentionSet serverIntentions = intentions.get(AppServer.SERVER_ID);
-          if (serverIntentions.hasIntentionWithType(IntentionType.DONE) ||
-              serverIntentions.hasIntentionWithType(IntentionType.STOP) ||
-              serverIntentions.hasIntentionWithType(IntentionType.SHUTDOWN) ||
-              serverIntentions.hasIntentionWithType(IntentionType.DEACTIVATE)) {
-            Debugger.logger.state("Shutting server down");
-            return;
-          }
-          continue;
-        }
+      Snapshot initial = scenario.getSnapshot();
+      Debugger.logger.info(() -> String.format("Sending initial snap <%s> ...", initial.getHash()));
+      this.transport.sendSnapshot(initial);
+      Debugger.logger.info(() -> String.format("Snap <%s> sent", initial.getHash()));
+      if (recorder != null) {
+        recorder.snapshot(initial);
+      }
+      TrajectoryArchive archive = this.getArchive(initial, trial);
+      AppServer.append(archive, initial);
+
+      boolean done;
+      try {
+        done = this.runScenario(scenario, executor, recorder, archive);
+      } finally {
+        AppServer.close(archive);
+      }
+      if (!done) {
+        return;
+      }
+      Debugger.logger.state(String.format("Scenario <%s> is done", scenario.getScenarioID()));
+    }
+  }
 
-        Debugger.logger.info(String.format("Updating scenario <%s> to time=%.2f ...", scenario.getScenarioID(), time));
-        if (scenario.getMissionLength() < time) {
-          scenario.update(intentions, scenario.getMissionLength() + scenario.getStepSize() - time);
-        } else {
-          scenario.update(intentions, scenario.getStepSize());
-        }
+  /** Steps the scenario until it is done, returning false if the client shuts the server down first. */
+  private boolean runScenario(Scenario scenario, ExecutorService executor, IntentionRecorder recorder,
+      TrajectoryArchive archive) throws CommonException, ServerException, SimException {
+    while (true) {
+      double time = scenario.getTime() + scenario.getStepSize();
+      double stepSize = scenario.getNextStepSize();
+
+      Future<?> speculation = (executor != null) ? executor.submit(() -> scenario.speculate(stepSize)) : null;
+
+      Debugger.logger.info("Waiting for intention(s) ...");
+      Map<String, IntentionSet> intentions = this.transport.getIntentionsBlocking();
+      Debugger.logger.info("Received intention(s)");
 
-        snap = scenario.getSnapshot();
-        Debugger.logger.info(String.format("Sending snap <%s> ...", snap.getHash()));
-        this.socket.sendSnapshot(snap);
-        Debugger.logger.state(String.format("Snap <%s> sent", snap.getHash()));
+      if (speculation != null) {
+        this.await(speculation);
+      }
 
-        if (scenario.isDone()) {
-          break;
+      if (intentions.containsKey(AppServer.SERVER_ID)) {
+        Debugger.logger.info("Updating server ...");
+        IntentionSet serverIntentions = intentions.get(AppServer.SERVER_ID);
+        if (serverIntentions.hasIntentionWithType(IntentionType.DONE) ||
+            serverIntentions.hasIntentionWithType(IntentionType.STOP) ||
+            serverIntentions.hasIntentionWithType(IntentionType.SHUTDOWN) ||
+            serverIntentions.hasIntentionWithType(IntentionType.DEACTIVATE)) {
+          Debugger.logger.state("Shutting server down");
+          return false;
         }
+        continue;
       }
 
-      Debugger.logger.state(String.format("Scenario <%s> is done", scenario.getScenarioID()));
+      Debugger.logger.info(() -> String.format("Updating scenario <%s> to time=%.2f ...", scenario.getScenarioID(),
+          time));
+      if (recorder != null) {
+        recorder.step(intentions, stepSize);
+      }
+      scenario.update(intentions, stepSize);
+
+      Snapshot snap = scenario.getSnapshot();
+      Debugger.logger.info(() -> String.format("Sending snap <%s> ...", snap.getHash()));
+      this.transport.sendSnapshot(snap);
+      Debugger.logger.info(() -> String.format("Snap <%s> sent", snap.getHash()));
+      if (recorder != null) {
+        recorder.snapshot(snap);
+      }
+      AppServer.append(archive, snap);
+
+      if (scenario.isDone()) {
+        return true;
+      }
+    }
+  }
+
+  public void run() throws CommonException, ServerException, SimException {
+    Debugger.logger.info("Running server ...");
+    ExecutorService executor = (this.speculative) ?
+      Executors.newSingleThreadExecutor(runnable -> {
+          Thread thread = new Thread(runnable, "speculation");
+          thread.setDaemon(true);
+          return thread;
+        }) :
+      null;
+    IntentionRecorder recorder = (this.recording.isPresent()) ?
+      new IntentionRecorder(this.recording.get(), this.parallel) :
+      null;
+    try {
+      this.runScenarios(executor, recorder);
+    } finally {
+      if (recorder != null) {
+        recorder.close();
+      }
+      if (executor != null) {
+        executor.shutdownNow();
+      }
     }
   }
+
+  /** Records the configs and intentions received, and the snapshots sent, to the file for IntentionReplayer. */
+  public void setRecording(String filename) {
+    this.recording = Optional.of(filename);
+  }
+
+  /**
+   * In speculative mode the server steps the scenario ahead on a second thread while it waits for the
+   * client's intentions, then redoes only the remotes that received any (see Scenario.speculate).
+   */
+  public void setSpeculative(boolean speculative) {
+    this.speculative = speculative;
+  }
+
+  /** Archives each trial's steps to <prefix>_<scenario>_<trial>.traj, for TrajectoryReader. */
+  public void setTrajectories(String prefix) {
+    this.trajectories = Optional.of(prefix);
+  }
 }
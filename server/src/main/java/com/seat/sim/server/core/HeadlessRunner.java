@@ -0,0 +1,117 @@
+package com.seat.sim.server.core;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.seat.sim.common.core.Application;
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.gui.FrameExporter;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.TrajectoryArchive;
+import com.seat.sim.server.scenario.Scenario;
+
+/**
+ * Runs an application against its scenario on the calling thread, with no transport in between. Each step
+ * the application reads the snapshot the scenario built and its intentions are applied as they are, so a run
+ * costs only the simulation and the policy. Nothing is logged per step.
+ */
+public class HeadlessRunner {
+
+  private Application app;
+  private int exportEvery;
+  private Optional<String> exportPrefix = Optional.empty();
+  private boolean parallel;
+  private Optional<String> trajectories = Optional.empty();
+
+  public HeadlessRunner(Application app) {
+    this.app = app;
+  }
+
+  /** Keys the intentions by remote, dropping empty sets, as the transports do. */
+  private static Map<String, IntentionSet> getIntentions(Collection<IntentionSet> intentions) {
+    Map<String, IntentionSet> controllers = new HashMap<>();
+    if (intentions == null) {
+      return controllers;
+    }
+    for (IntentionSet controller : intentions) {
+      if (controller.hasIntentions()) {
+        controllers.put(controller.getRemoteID(), controller);
+      }
+    }
+    return controllers;
+  }
+
+  private TrajectoryArchive getArchive(Snapshot snap, int trial) throws IOException {
+    if (this.trajectories.isEmpty()) {
+      return null;
+    }
+    return new TrajectoryArchive(
+        String.format("%s_%s_%d.traj", this.trajectories.get(), snap.getScenarioID(), trial), snap);
+  }
+
+  private FrameExporter getExporter(int trial) {
+    if (this.exportPrefix.isEmpty() || !this.app.hasGrid()) {
+      return null;
+    }
+    return new FrameExporter(String.format("%s_%d", this.exportPrefix.get(), trial), this.app.getGrid().get(),
+        this.exportEvery);
+  }
+
+  /** Steps the trial to the end; the archive and exporter are closed however it ends, the archive last. */
+  private void runTrial(int trial) throws CommonException, ServerException, SimException {
+    Scenario scenario = new Scenario(this.app.getScenarioConfig(), this.parallel);
+    Snapshot snap = scenario.getSnapshot();
+    try (TrajectoryArchive archive = this.getArchive(snap, trial); FrameExporter exporter = this.getExporter(trial)) {
+      while (true) {
+        if (snap.hasError()) {
+          throw new ServerException(String.format("Scenario <%s> has error(s) at time=%.2f", snap.getScenarioID(),
+              snap.getTime()));
+        }
+        if (archive != null) {
+          archive.append(snap);
+        }
+        if (exporter != null) {
+          exporter.export(snap);
+        }
+        Collection<IntentionSet> intentions = this.app.update(snap);
+        if (snap.isDone()) {
+          return;
+        }
+        scenario.update(HeadlessRunner.getIntentions(intentions), scenario.getNextStepSize());
+        snap = scenario.getSnapshot();
+      }
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void run() throws CommonException, ServerException, SimException {
+    this.app.init();
+    for (int t = 1; t <= this.app.getTrials(); t++) {
+      if (t > 1) {
+        this.app.reset();
+      }
+      this.runTrial(t);
+    }
+    this.app.close();
+  }
+
+  /** Exports every nth snapshot of each trial as <prefix>_<trial>_<frame>.png, see FrameExporter. */
+  public void setFrameExport(String prefix, int every) {
+    this.exportPrefix = Optional.of(prefix);
+    this.exportEvery = every;
+  }
+
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /** Archives each trial's steps to <prefix>_<scenario>_<trial>.traj, for TrajectoryReader. */
+  public void setTrajectories(String prefix) {
+    this.trajectories = Optional.of(prefix);
+  }
+}
@@ -0,0 +1,84 @@
+package com.seat.sim.server.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.json.JsonException;
+import com.seat.sim.common.net.BinaryCodec;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.MappedAppender;
+
+/**
+ * Records what a server session receives, i.e. each scenario config and the intentions and step size of
+ * every update, along with a checksum of every snapshot it sends. IntentionReplayer re-drives the scenarios
+ * from the recording without a client and checks that they evolve identically.
+ */
+public class IntentionRecorder {
+
+  public static final int MAGIC = 0x53454952;
+  public static final short VERSION = 1;
+
+  static final byte CONFIG = 1;
+  static final byte SNAPSHOT = 2;
+  static final byte STEP = 3;
+
+  private BinaryCodec codec;
+  private MappedAppender out;
+
+  public IntentionRecorder(String filename, boolean parallel) throws CommonException {
+    this.codec = new BinaryCodec();
+    try {
+      this.out = new MappedAppender(filename);
+      this.out.putInt(IntentionRecorder.MAGIC);
+      this.out.putShort(IntentionRecorder.VERSION);
+      this.out.putByte((parallel) ? 1 : 0);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void close() throws CommonException {
+    try {
+      this.out.close();
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void config(ScenarioConfig config) throws CommonException {
+    try {
+      byte[] bytes = config.encode().getBytes(StandardCharsets.UTF_8);
+      this.out.putByte(IntentionRecorder.CONFIG);
+      this.out.putInt(bytes.length);
+      this.out.put(bytes);
+    } catch (IOException | JsonException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void snapshot(Snapshot snap) throws CommonException {
+    long checksum = this.codec.checksum(snap);
+    try {
+      this.out.putByte(IntentionRecorder.SNAPSHOT);
+      this.out.putLong(checksum);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void step(Map<String, IntentionSet> intentions, double stepSize) throws CommonException {
+    try {
+      byte[] bytes = this.codec.encodeIntentions(intentions.values());
+      this.out.putByte(IntentionRecorder.STEP);
+      this.out.putDouble(stepSize);
+      this.out.putInt(bytes.length);
+      this.out.put(bytes);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.seat.sim.server.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.json.Json;
+import com.seat.sim.common.json.JsonException;
+import com.seat.sim.common.net.BinaryCodec;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.util.MappedReader;
+import com.seat.sim.server.scenario.Scenario;
+
+/**
+ * Re-drives the scenarios of an IntentionRecorder recording at full speed, with no client attached, and
+ * checks every snapshot against the recorded checksum. A recording cut off by a crash replays up to its last
+ * whole record.
+ */
+public class IntentionReplayer {
+
+  private BinaryCodec codec;
+  private String filename;
+  private MappedReader in;
+  private boolean parallel;
+  private long position;
+  private int snapshots;
+  private int steps;
+
+  public IntentionReplayer(String filename) throws CommonException {
+    this.codec = new BinaryCodec();
+    this.filename = filename;
+    try {
+      this.in = new MappedReader(filename);
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+    if (this.in.size() < 7 || this.in.getInt(0) != IntentionRecorder.MAGIC) {
+      throw new CommonException(String.format("%s is not an intention recording", filename));
+    }
+    if (this.in.getShort(4) != IntentionRecorder.VERSION) {
+      throw new CommonException(String.format("Cannot read version %d of intention recording %s",
+          this.in.getShort(4), filename));
+    }
+    this.parallel = this.in.getByte(6) != 0;
+    this.position = 7;
+  }
+
+  private boolean hasBytes(long count) {
+    return this.position + count <= this.in.size();
+  }
+
+  /** Returns whether the file holds only zeros from the offset on, as past the last record of an unclosed file. */
+  private boolean isZeroFrom(long offset) {
+    for (; offset + Long.BYTES <= this.in.size(); offset += Long.BYTES) {
+      if (this.in.getLong(offset) != 0L) {
+        return false;
+      }
+    }
+    for (; offset < this.in.size(); offset++) {
+      if (this.in.getByte(offset) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private byte[] readBytes() {
+    if (!this.hasBytes(Integer.BYTES)) {
+      return null;
+    }
+    int length = this.in.getInt(this.position);
+    if (length < 0 || !this.hasBytes(Integer.BYTES + (long) length)) {
+      return null;
+    }
+    byte[] bytes = this.in.get(this.position + Integer.BYTES, length);
+    this.position += Integer.BYTES + length;
+    return bytes;
+  }
+
+  private void verify(Scenario scenario, long checksum) throws ServerException {
+    this.snapshots++;
+    if (this.codec.checksum(scenario.getSnapshot()) != checksum) {
+      throw new ServerException(String.format("Snapshot of <%s> at time=%.2f does not match the recording",
+          scenario.getScenarioID(), scenario.getTime()));
+    }
+  }
+
+  public int getSnapshotCount() {
+    return this.snapshots;
+  }
+
+  public int getStepCount() {
+    return this.steps;
+  }
+
+  /** Returns whether the recorded server updated its scenarios in parallel mode, which the replay follows. */
+  public boolean isParallel() {
+    return this.parallel;
+  }
+
+  /** Replays every scenario of the recording, throwing at the first snapshot that does not match. */
+  public void run() throws CommonException, ServerException, SimException {
+    Optional<Scenario> scenario = Optional.empty();
+    while (this.hasBytes(1)) {
+      byte type = this.in.getByte(this.position++);
+      if (type == IntentionRecorder.CONFIG) {
+        byte[] bytes = this.readBytes();
+        if (bytes == null) {
+          return;
+        }
+        try {
+          ScenarioConfig config = new ScenarioConfig(Json.of(new String(bytes, StandardCharsets.UTF_8)));
+          scenario = Optional.of(new Scenario(config, this.parallel));
+        } catch (JsonException e) {
+          throw new CommonException(e.getMessage());
+        }
+      } else if (type == IntentionRecorder.SNAPSHOT && scenario.isPresent()) {
+        if (!this.hasBytes(Long.BYTES)) {
+          return;
+        }
+        long checksum = this.in.getLong(this.position);
+        this.position += Long.BYTES;
+        this.verify(scenario.get(), checksum);
+      } else if (type == IntentionRecorder.STEP && scenario.isPresent()) {
+        if (!this.hasBytes(Double.BYTES)) {
+          return;
+        }
+        double stepSize = this.in.getDouble(this.position);
+        this.position += Double.BYTES;
+        byte[] bytes = this.readBytes();
+        if (bytes == null) {
+          return;
+        }
+        this.steps++;
+        scenario.get().update(this.codec.decodeIntentions(bytes), stepSize);
+      } else if (this.isZeroFrom(this.position - 1)) {
+        return;
+      } else {
+        throw new CommonException(String.format("Unexpected record type %d at offset %d of %s", type,
+            this.position - 1, this.filename));
+      }
+    }
+  }
+}
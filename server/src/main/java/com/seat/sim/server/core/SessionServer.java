@@ -0,0 +1,113 @@
+package com.seat.sim.server.core;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.net.JsonSocket;
+import com.seat.sim.common.net.Transport;
+import com.seat.sim.common.net.TransportRegistry;
+import com.seat.sim.common.util.Debugger;
+
+/** Accepts any number of client sessions on one port, each running its own AppServer on its own thread. */
+public class SessionServer {
+
+  private boolean parallel;
+  private Optional<String> recording = Optional.empty();
+  private AtomicInteger sessionCount;
+  private ExecutorService sessions;
+  private ServerSocket serverSocket;
+  private boolean speculative;
+  private Optional<String> trajectories = Optional.empty();
+
+  public SessionServer() throws CommonException {
+    this(JsonSocket.Listen());
+  }
+
+  public SessionServer(int port) throws CommonException {
+    this(JsonSocket.Listen(port));
+  }
+
+  private SessionServer(ServerSocket serverSocket) {
+    this.serverSocket = serverSocket;
+    this.sessions = Executors.newCachedThreadPool();
+    this.sessionCount = new AtomicInteger();
+  }
+
+  private void runSession(int sessionID, Socket socket) {
+    Debugger.logger.state(String.format("Session <%d> connected on port %d", sessionID, socket.getPort()));
+    Transport transport = null;
+    try {
+      transport = TransportRegistry.Negotiate(socket);
+      AppServer server = new AppServer(transport);
+      server.setParallel(this.parallel);
+      server.setSpeculative(this.speculative);
+      if (this.recording.isPresent()) {
+        server.setRecording(String.format("%s_%d", this.recording.get(), sessionID));
+      }
+      if (this.trajectories.isPresent()) {
+        server.setTrajectories(String.format("%s_%d", this.trajectories.get(), sessionID));
+      }
+      server.run();
+    } catch (CommonException | ServerException | SimException e) {
+      Debugger.logger.err(String.format("Session <%d> ended: %s", sessionID, e.getMessage()));
+    } finally {
+      try {
+        if (transport != null) {
+          transport.close();
+        } else {
+          socket.close();
+        }
+      } catch (CommonException | IOException e) {
+        Debugger.logger.err(e.getMessage());
+      }
+      Debugger.logger.state(String.format("Session <%d> closed", sessionID));
+    }
+  }
+
+  public void close() throws CommonException {
+    this.sessions.shutdownNow();
+    try {
+      this.serverSocket.close();
+    } catch (IOException e) {
+      throw new CommonException(e.getMessage());
+    }
+  }
+
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /** Records each session to its own file, named by the prefix and the session ID. */
+  public void setRecording(String prefix) {
+    this.recording = Optional.of(prefix);
+  }
+
+  public void setSpeculative(boolean speculative) {
+    this.speculative = speculative;
+  }
+
+  /** Archives each session's trials under the prefix and the session ID. */
+  public void setTrajectories(String prefix) {
+    this.trajectories = Optional.of(prefix);
+  }
+
+  public void run() throws CommonException {
+    Debugger.logger.info(String.format("Accepting sessions on port %d ...", this.serverSocket.getLocalPort()));
+    while (!this.serverSocket.isClosed()) {
+      Socket socket;
+      try {
+        socket = this.serverSocket.accept();
+      } catch (IOException e) {
+        throw new CommonException(e.getMessage());
+      }
+      int sessionID = this.sessionCount.incrementAndGet();
+      this.sessions.execute(() -> this.runSession(sessionID, socket));
+    }
+  }
+}
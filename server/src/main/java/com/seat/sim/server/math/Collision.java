@@ -1,21 +1,36 @@
 package com.seat.sim.server.math;
 
+import java.util.Optional;
+
 import com.seat.sim.common.math.Vector;
 
 public class Collision {
 
   private Box box;
+  private Optional<Vector> normal;
   private Vector point;
 
   public Collision(Vector point, Box box) {
     this.point = point;
     this.box = box;
+    this.normal = Optional.empty();
+  }
+
+  /** A collision with a known surface normal, which decides the reflection instead of the point. */
+  public Collision(Vector point, Box box, Vector normal) {
+    this.point = point;
+    this.box = box;
+    this.normal = (normal != null) ? Optional.of(normal) : Optional.empty();
   }
 
   public Box getBoundaryBox() {
     return this.box;
   }
 
+  public Vector getNormal() {
+    return this.normal.get();
+  }
+
   public Vector getPoint() {
     return this.point;
   }
@@ -25,14 +40,24 @@ public class Collision {
   }
 
   public boolean hasHorizontalCollision() {
+    if (this.hasNormal()) {
+      return this.getNormal().getX() != 0.;
+    }
     return Vector.near(this.point.getX(), this.box.getLeftX()) || Vector.near(this.point.getX(), this.box.getRightX());
   }
 
+  public boolean hasNormal() {
+    return this.normal.isPresent();
+  }
+
   public boolean hasSideCollision() {
     return !this.hasCornerCollision() && (this.hasHorizontalCollision() || this.hasVerticalCollision());
   }
 
   public boolean hasVerticalCollision() {
+    if (this.hasNormal()) {
+      return this.getNormal().getY() != 0.;
+    }
     return Vector.near(this.point.getY(), this.box.getTopY()) || Vector.near(this.point.getY(), this.box.getBotY());
   }
 
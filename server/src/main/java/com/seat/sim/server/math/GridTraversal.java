@@ -0,0 +1,147 @@
+package com.seat.sim.server.math;
+
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.Vector;
+
+/**
+ * Amanatides-Woo voxel traversal over the BLOCKED bitmap of a grid. A trace walks the zones crossed by a
+ * segment and stops at the first blocked one, leaving the hit zone, point and surface normal in primitive
+ * fields so that a traversal can be reused without allocating.
+ */
+public class GridTraversal {
+
+  private boolean corner;
+  private int hitCol;
+  private int hitRow;
+  private double hitX;
+  private double hitY;
+  private double normalX;
+  private double normalY;
+
+  private boolean hit(int row, int col, double x, double y, double normalX, double normalY, boolean corner) {
+    this.hitRow = row;
+    this.hitCol = col;
+    this.hitX = x;
+    this.hitY = y;
+    this.normalX = normalX;
+    this.normalY = normalY;
+    this.corner = corner;
+    return true;
+  }
+
+  public int getHitCol() {
+    return this.hitCol;
+  }
+
+  public int getHitRow() {
+    return this.hitRow;
+  }
+
+  public double getHitX() {
+    return this.hitX;
+  }
+
+  public double getHitY() {
+    return this.hitY;
+  }
+
+  public double getNormalX() {
+    return this.normalX;
+  }
+
+  public double getNormalY() {
+    return this.normalY;
+  }
+
+  public boolean isCornerHit() {
+    return this.corner;
+  }
+
+  /**
+   * Walks the zones crossed by the segment from tail to tip and returns true if it enters a BLOCKED zone
+   * before reaching the zone of the tip or leaving the grid. The zone containing the tail is never reported,
+   * unless the tail sits on one of its edges and the segment heads into it. A tail on the right or bottom
+   * bound of the grid, where a remote lands after bouncing off it, counts as on the edge of the zone inside.
+   * A segment that passes exactly through a corner is stopped there if the diagonal zone or both zones sharing
+   * the corner are blocked.
+   */
+  public boolean trace(Grid grid, double tailX, double tailY, double tipX, double tipY) {
+    if (tailX < 0 || grid.getWidth() < tailX || tailY < 0 || grid.getHeight() < tailY) {
+      return false;
+    }
+    double size = grid.getZoneSize();
+    int width = grid.getWidthInZones(), height = grid.getHeightInZones();
+    double dx = tipX - tailX, dy = tipY - tailY;
+    int stepX = (dx > 0) ? 1 : (dx < 0) ? -1 : 0;
+    int stepY = (dy > 0) ? 1 : (dy < 0) ? -1 : 0;
+    int col = (int) (tailX / size), row = (int) (tailY / size);
+    boolean shiftX = false, shiftY = false;
+    if (stepX < 0 && Vector.near(tailX, col * size)) {
+      col--;
+      shiftX = true;
+    } else if (stepX > 0 && Vector.near(tailX, (col + 1) * size)) {
+      col++;
+      shiftX = true;
+    }
+    if (stepY < 0 && Vector.near(tailY, row * size)) {
+      row--;
+      shiftY = true;
+    } else if (stepY > 0 && Vector.near(tailY, (row + 1) * size)) {
+      row++;
+      shiftY = true;
+    }
+    if (col < 0 || width <= col || row < 0 || height <= row) {
+      return false;
+    }
+    if ((shiftX || shiftY) && grid.isBlocked(row, col)) {
+      return this.hit(row, col, tailX, tailY, (shiftX) ? -stepX : 0, (shiftY) ? -stepY : 0, shiftX && shiftY);
+    }
+    double length = Math.sqrt(dx * dx + dy * dy);
+    double deltaX = (stepX != 0) ? size / Math.abs(dx) : Double.POSITIVE_INFINITY;
+    double deltaY = (stepY != 0) ? size / Math.abs(dy) : Double.POSITIVE_INFINITY;
+    double maxX = (stepX > 0) ? ((col + 1) * size - tailX) / dx
+        : (stepX < 0) ? (col * size - tailX) / dx : Double.POSITIVE_INFINITY;
+    double maxY = (stepY > 0) ? ((row + 1) * size - tailY) / dy
+        : (stepY < 0) ? (row * size - tailY) / dy : Double.POSITIVE_INFINITY;
+    // a tip on the edge of a zone lies in the zone below or right of that edge, as on the grid
+    int tipCol = (int) Math.floor(tipX / size), tipRow = (int) Math.floor(tipY / size);
+    while (Math.min(maxX, maxY) <= 1. && (col != tipCol || row != tipRow)) {
+      if (Vector.near(maxX * length, maxY * length)) {
+        int nextCol = col + stepX, nextRow = row + stepY;
+        if (nextCol < 0 || width <= nextCol || nextRow < 0 || height <= nextRow) {
+          return false;
+        }
+        double x = (stepX > 0) ? nextCol * size : col * size;
+        double y = (stepY > 0) ? nextRow * size : row * size;
+        if (grid.isBlocked(nextRow, nextCol) || (grid.isBlocked(row, nextCol) && grid.isBlocked(nextRow, col))) {
+          return this.hit(nextRow, nextCol, x, y, -stepX, -stepY, true);
+        }
+        col = nextCol;
+        row = nextRow;
+        maxX += deltaX;
+        maxY += deltaY;
+      } else if (maxX < maxY) {
+        col += stepX;
+        if (col < 0 || width <= col) {
+          return false;
+        }
+        if (grid.isBlocked(row, col)) {
+          return this.hit(row, col, (stepX > 0) ? col * size : (col + 1) * size, tailY + maxX * dy, -stepX, 0,
+              false);
+        }
+        maxX += deltaX;
+      } else {
+        row += stepY;
+        if (row < 0 || height <= row) {
+          return false;
+        }
+        if (grid.isBlocked(row, col)) {
+          return this.hit(row, col, tailX + maxY * dx, (stepY > 0) ? row * size : (row + 1) * size, 0, -stepY,
+              false);
+        }
+        maxY += deltaY;
+      }
+    }
+    return false;
+  }
+}
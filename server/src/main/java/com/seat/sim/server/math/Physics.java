@@ -5,10 +5,11 @@ import java.util.Optional;
 import com.seat.sim.common.math.Grid;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.math.Zone;
-import com.seat.sim.common.math.ZoneType;
 
 public class Physics {
 
+  private static final ThreadLocal<GridTraversal> TRAVERSAL = ThreadLocal.withInitial(GridTraversal::new);
+
   public static Optional<Vector> getBounce(Vector tail, Vector tip, Grid grid) {
     return Physics.getBounce(tail, tip, new Box(grid));
   }
@@ -137,117 +138,21 @@ public class Physics {
     if (!grid.hasZones()) {
       return Physics.getBoundaryCollision(tail, tip, grid);
     }
-    if (!grid.hasZoneAtLocation(tail)) {
+    if (!Physics.isInbounds(tail, grid)) {
       return Optional.empty();
     }
-    if (grid.hasZoneAtLocation(tip) && grid.getZoneAtLocation(tail) == grid.getZoneAtLocation(tip)) {
+    if (grid.hasZoneAtLocation(tail) && grid.hasZoneAtLocation(tip) &&
+        grid.getZoneAtLocation(tail) == grid.getZoneAtLocation(tip)) {
       return Optional.empty();
     }
-    Vector ray = tail;
-    Optional<Zone> zone = grid.checkZoneAtLocation(tail);
-    while (zone.isPresent() && Vector.dist(tail, ray) <= Vector.dist(tail, tip)) {
-      if (grid.hasZoneAtLocation(tip) && grid.getZoneAtLocation(tip) == zone.get()) {
-        break;
-      }
-      Optional<Collision> coll = Physics.getBoundaryCollision(ray, tip, zone.get());
-      if (coll.isEmpty()) {
-        break;
-      }
-      ray = coll.get().getPoint();
-      double size = zone.get().getSize();
-      double cx = zone.get().getLocation().getX(), cy = zone.get().getLocation().getY();
-      double x = cx - size / 2, y = cy - size / 2;
-      if (Vector.near(ray.getX(), x) && Vector.near(ray.getY(), y)) {
-        zone = grid.checkZoneAtLocation(cx - size, cy - size);
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy) && grid.hasZoneAtLocation(cx, cy - size) &&
-            grid.getZoneAtLocation(cx - size, cy).hasZoneType(ZoneType.BLOCKED) &&
-            grid.getZoneAtLocation(cx, cy - size).hasZoneType(ZoneType.BLOCKED)) {
-          return Optional.of(new Collision(ray, new Box(zone.get())));
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy)) {
-          Zone tmp = grid.getZoneAtLocation(cx - size, cy);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy - size)) {
-          Zone tmp = grid.getZoneAtLocation(cx, cy - size);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-      } else if (Vector.near(ray.getX(), x + size) && Vector.near(ray.getY(), y)) {
-        zone = grid.checkZoneAtLocation(cx + size, cy - size);
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy) && grid.hasZoneAtLocation(cx, cy - size) &&
-            grid.getZoneAtLocation(cx + size, cy).hasZoneType(ZoneType.BLOCKED) &&
-            grid.getZoneAtLocation(cx, cy - size).hasZoneType(ZoneType.BLOCKED)) {
-          return Optional.of(new Collision(ray, new Box(zone.get())));
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy)) {
-          Zone tmp = grid.getZoneAtLocation(cx + size, cy);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy - size)) {
-          Zone tmp = grid.getZoneAtLocation(cx, cy - size);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-      } else if (Vector.near(ray.getX(), x + size) && Vector.near(ray.getY(), y + size)) {
-        zone = grid.checkZoneAtLocation(cx + size, cy + size);
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy) && grid.hasZoneAtLocation(cx, cy + size) &&
-            grid.getZoneAtLocation(cx + size, cy).hasZoneType(ZoneType.BLOCKED) &&
-            grid.getZoneAtLocation(cx, cy + size).hasZoneType(ZoneType.BLOCKED)) {
-          return Optional.of(new Collision(ray, new Box(zone.get())));
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy)) {
-          Zone tmp = grid.getZoneAtLocation(cx + size, cy);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy + size)) {
-          Zone tmp = grid.getZoneAtLocation(cx, cy + size);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-      } else if (Vector.near(ray.getX(), x) && Vector.near(ray.getY(), y + size)) {
-        zone = grid.checkZoneAtLocation(cx - size, cy + size);
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy) && grid.hasZoneAtLocation(cx, cy + size) &&
-            grid.getZoneAtLocation(cx - size, cy).hasZoneType(ZoneType.BLOCKED) &&
-            grid.getZoneAtLocation(cx, cy + size).hasZoneType(ZoneType.BLOCKED)) {
-          return Optional.of(new Collision(ray, new Box(zone.get())));
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy)) {
-          Zone tmp = grid.getZoneAtLocation(cx - size, cy);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy + size)) {
-          Zone tmp = grid.getZoneAtLocation(cx, cy + size);
-          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
-            zone = Optional.of(tmp);
-          }
-        }
-      } else if (Vector.near(ray.getX(), x)) {
-        zone = grid.checkZoneAtLocation(cx - size, cy);
-      } else if (Vector.near(ray.getY(), y)) {
-        zone = grid.checkZoneAtLocation(cx, cy - size);
-      } else if (Vector.near(ray.getX(), x + size)) {
-        zone = grid.checkZoneAtLocation(cx + size, cy);
-      } else {
-        zone = grid.checkZoneAtLocation(cx, cy + size);
-      }
-      if (zone.isPresent() && zone.get().hasZoneType(ZoneType.BLOCKED)) {
-        return Optional.of(new Collision(ray, new Box(zone.get())));
-      }
-    }
-    if (grid.hasZoneAtLocation(tip) && grid.getZoneAtLocation(tip).hasZoneType(ZoneType.BLOCKED)) {
-      return Physics.getBoundaryCollision(tip, tail, grid.getZoneAtLocation(tip));
+    GridTraversal traversal = Physics.TRAVERSAL.get();
+    if (traversal.trace(grid, tail.getX(), tail.getY(), tip.getX(), tip.getY())) {
+      double size = grid.getZoneSize();
+      return Optional.of(new Collision(
+            new Vector(traversal.getHitX(), traversal.getHitY()),
+            new Box(traversal.getHitCol() * size, traversal.getHitRow() * size, size, size),
+            new Vector(traversal.getNormalX(), traversal.getNormalY())
+          ));
     }
     return Physics.getBoundaryCollision(tail, tip, grid);
   }
@@ -1,5 +1,7 @@
 package com.seat.sim.server.remote;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -22,26 +24,35 @@ import com.seat.sim.server.remote.components.Destination;
 import com.seat.sim.server.remote.components.Kinematics;
 import com.seat.sim.server.remote.components.SensorController;
 import com.seat.sim.server.scenario.Scenario;
+import com.seat.sim.server.sensor.Sensor;
 
 public class Remote {
 
-  private boolean active;
   private Optional<Destination> destination;
-  private boolean done;
   private Optional<Kinematics> kinematics;
   private RemoteProto proto;
   private String remoteID;
   private Optional<SensorController> sensors;
+  private int slot;
+  private RemoteStore store;
   private TeamColor team;
 
   public Remote(Scenario scenario, RemoteProto proto, String remoteID, TeamColor team, boolean active) {
+    this(scenario, new RemoteStore(1), proto, remoteID, team, active);
+  }
+
+  public Remote(Scenario scenario, RemoteStore store, RemoteProto proto, String remoteID, TeamColor team,
+      boolean active) {
     this.proto = (proto != null) ? proto : new RemoteProto();
     this.remoteID = remoteID;
     this.team = team;
-    this.kinematics = (proto.hasKinematicsProto()) ? Optional.of(new Kinematics(proto.getKinematicsProto()))
+    this.store = store;
+    this.slot = store.allocate();
+    this.kinematics = (proto.hasKinematicsProto())
+        ? Optional.of(new Kinematics(proto.getKinematicsProto(), this.store, this.slot))
         : Optional.empty();
-    this.active = active;
-    this.done = false;
+    this.store.setActive(this.slot, active);
+    this.store.setDone(this.slot, false);
     this.sensors = (proto.hasSensors()) ? Optional.of(new SensorController(scenario, this)) : Optional.empty();
     this.destination = Optional.empty();
   }
@@ -71,6 +82,14 @@ public class Remote {
     return this.getVelocity().getUnitVector();
   }
 
+  /** Returns the distance between the two remotes without allocating; both must have a location. */
+  public double getDistanceTo(Remote remote) {
+    if (this.store == remote.store) {
+      return this.store.dist(this.slot, remote.slot);
+    }
+    return Vector.dist(this.getLocation(), remote.getLocation());
+  }
+
   public double getFuelAmount() {
     if (this.kinematics.isEmpty()) {
       return 0.;
@@ -104,6 +123,22 @@ public class Remote {
     return this.getKinematics().getMaxVelocity();
   }
 
+  /**
+   * Returns the state of this remote that is kept outside of its store slot, i.e. its destination, which of
+   * its sensors are active and the subjects they have sensed this epoch. Restoring the memo and the slot puts
+   * the remote back where it was.
+   */
+  public Memo getMemo() {
+    if (!this.hasSensors()) {
+      return new Memo(this.destination, Set.of(), Map.of());
+    }
+    Map<String, Set<String>> subjects = new HashMap<>();
+    for (Sensor sensor : this.getSensorController().getSensors()) {
+      sensor.getCachedSubjects().ifPresent(cached -> subjects.put(sensor.getSensorID(), cached));
+    }
+    return new Memo(this.destination, this.getSensorController().getActiveSensorIDs(), subjects);
+  }
+
   public RemoteProto getProto() {
     return this.proto;
   }
@@ -146,6 +181,14 @@ public class Remote {
     return this.proto.getTags();
   }
 
+  public int getSlot() {
+    return this.slot;
+  }
+
+  public RemoteStore getStore() {
+    return this.store;
+  }
+
   public TeamColor getTeam() {
     return this.team;
   }
@@ -210,11 +253,11 @@ public class Remote {
   }
 
   public boolean isActive() {
-    return this.active && this.isEnabled();
+    return this.store.isActive(this.slot) && this.isEnabled();
   }
 
   public boolean isDone() {
-    return this.done;
+    return this.store.isDone(this.slot);
   }
 
   public boolean isEnabled() {
@@ -225,20 +268,48 @@ public class Remote {
     return this.hasLocation() && this.getKinematics().isMobile();
   }
 
+  /** Restores the destination and sensor activations of the memo, but not the sensed subjects. */
+  public void restore(Memo memo) {
+    this.destination = memo.destination;
+    if (!this.hasSensors()) {
+      return;
+    }
+    for (Sensor sensor : this.getSensorController().getSensors()) {
+      boolean active = memo.activeSensorIDs.contains(sensor.getSensorID());
+      if (active && !sensor.isActive()) {
+        sensor.setActive();
+      } else if (!active && sensor.isActive()) {
+        sensor.setInactive();
+      }
+    }
+  }
+
+  /** Caches the sensed subjects of the memo for the current epoch, so they are not sensed (and drawn) again. */
+  public void restoreSubjects(Memo memo) {
+    if (!this.hasSensors()) {
+      return;
+    }
+    for (Sensor sensor : this.getSensorController().getSensors()) {
+      if (memo.subjects.containsKey(sensor.getSensorID())) {
+        sensor.setCachedSubjects(memo.subjects.get(sensor.getSensorID()));
+      }
+    }
+  }
+
   public void setActive() {
-    this.active = true;
+    this.store.setActive(this.slot, true);
   }
 
   public void setDone() {
     this.setInactive();
-    this.done = true;
+    this.store.setDone(this.slot, true);
   }
 
   public void setInactive() {
     if (this.hasSensors()) {
       this.getSensorController().deactivateSensors();
     }
-    this.active = false;
+    this.store.setActive(this.slot, false);
     this.destination = Optional.empty();
   }
 
@@ -447,4 +518,19 @@ public class Remote {
     }
     this.getKinematics().update(stepSize);
   }
+
+  /** The state of a remote outside of its store slot, see getMemo(). */
+  public static class Memo {
+
+    private Set<String> activeSensorIDs;
+    private Optional<Destination> destination;
+    private Map<String, Set<String>> subjects;
+
+    private Memo(Optional<Destination> destination, Set<String> activeSensorIDs,
+        Map<String, Set<String>> subjects) {
+      this.destination = destination;
+      this.activeSensorIDs = activeSensorIDs;
+      this.subjects = subjects;
+    }
+  }
 }
@@ -0,0 +1,213 @@
+package com.seat.sim.server.remote;
+
+import java.util.Arrays;
+
+import com.seat.sim.common.math.Vector;
+
+/**
+ * Struct-of-arrays storage for the mutable per-step state of remotes (location, velocity, fuel and flags).
+ * Each remote owns a dense slot and its components read and write these columns in place, so integrating a
+ * step does not allocate and scans over many remotes walk contiguous memory.
+ */
+public class RemoteStore {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private boolean[] active;
+  private boolean[] done;
+  private double[] fuel;
+  private boolean[] located;
+  private double[] locX;
+  private double[] locY;
+  private double[] locZ;
+  private int size;
+  private double[] velX;
+  private double[] velY;
+  private double[] velZ;
+
+  public RemoteStore() {
+    this(RemoteStore.DEFAULT_CAPACITY);
+  }
+
+  public RemoteStore(int capacity) {
+    capacity = Math.max(capacity, 1);
+    this.active = new boolean[capacity];
+    this.done = new boolean[capacity];
+    this.fuel = new double[capacity];
+    this.located = new boolean[capacity];
+    this.locX = new double[capacity];
+    this.locY = new double[capacity];
+    this.locZ = new double[capacity];
+    this.velX = new double[capacity];
+    this.velY = new double[capacity];
+    this.velZ = new double[capacity];
+    this.size = 0;
+  }
+
+  private void grow() {
+    int capacity = this.locX.length * 2;
+    this.active = Arrays.copyOf(this.active, capacity);
+    this.done = Arrays.copyOf(this.done, capacity);
+    this.fuel = Arrays.copyOf(this.fuel, capacity);
+    this.located = Arrays.copyOf(this.located, capacity);
+    this.locX = Arrays.copyOf(this.locX, capacity);
+    this.locY = Arrays.copyOf(this.locY, capacity);
+    this.locZ = Arrays.copyOf(this.locZ, capacity);
+    this.velX = Arrays.copyOf(this.velX, capacity);
+    this.velY = Arrays.copyOf(this.velY, capacity);
+    this.velZ = Arrays.copyOf(this.velZ, capacity);
+  }
+
+  /** Reserves a zeroed slot and returns its index. Not safe to call concurrently with updates. */
+  public int allocate() {
+    if (this.size == this.locX.length) {
+      this.grow();
+    }
+    return this.size++;
+  }
+
+  /** Overwrites every slot of this store with the slots of the source, growing this store as needed. */
+  public void copyFrom(RemoteStore src) {
+    while (this.locX.length < src.size) {
+      this.grow();
+    }
+    System.arraycopy(src.active, 0, this.active, 0, src.size);
+    System.arraycopy(src.done, 0, this.done, 0, src.size);
+    System.arraycopy(src.fuel, 0, this.fuel, 0, src.size);
+    System.arraycopy(src.located, 0, this.located, 0, src.size);
+    System.arraycopy(src.locX, 0, this.locX, 0, src.size);
+    System.arraycopy(src.locY, 0, this.locY, 0, src.size);
+    System.arraycopy(src.locZ, 0, this.locZ, 0, src.size);
+    System.arraycopy(src.velX, 0, this.velX, 0, src.size);
+    System.arraycopy(src.velY, 0, this.velY, 0, src.size);
+    System.arraycopy(src.velZ, 0, this.velZ, 0, src.size);
+    this.size = src.size;
+  }
+
+  /** Overwrites one slot of this store with the same slot of the source. */
+  public void copySlotFrom(RemoteStore src, int slot) {
+    this.active[slot] = src.active[slot];
+    this.done[slot] = src.done[slot];
+    this.fuel[slot] = src.fuel[slot];
+    this.located[slot] = src.located[slot];
+    this.locX[slot] = src.locX[slot];
+    this.locY[slot] = src.locY[slot];
+    this.locZ[slot] = src.locZ[slot];
+    this.velX[slot] = src.velX[slot];
+    this.velY[slot] = src.velY[slot];
+    this.velZ[slot] = src.velZ[slot];
+  }
+
+  /** Returns the distance between the locations of the two slots, computed as Vector.dist would. */
+  public double dist(int a, int b) {
+    double dx = this.locX[a] - this.locX[b];
+    double dy = this.locY[a] - this.locY[b];
+    double dz = this.locZ[a] - this.locZ[b];
+    return Math.sqrt(dx * dx + dy * dy + dz * dz);
+  }
+
+  public double getFuel(int slot) {
+    return this.fuel[slot];
+  }
+
+  public Vector getLocation(int slot) {
+    return new Vector(this.locX[slot], this.locY[slot], this.locZ[slot]);
+  }
+
+  public double getLocationX(int slot) {
+    return this.locX[slot];
+  }
+
+  public double getLocationY(int slot) {
+    return this.locY[slot];
+  }
+
+  public double getLocationZ(int slot) {
+    return this.locZ[slot];
+  }
+
+  public double getSpeed(int slot) {
+    return Math.sqrt(this.velX[slot] * this.velX[slot] + this.velY[slot] * this.velY[slot] +
+        this.velZ[slot] * this.velZ[slot]);
+  }
+
+  public Vector getVelocity(int slot) {
+    return new Vector(this.velX[slot], this.velY[slot], this.velZ[slot]);
+  }
+
+  public double getVelocityX(int slot) {
+    return this.velX[slot];
+  }
+
+  public double getVelocityY(int slot) {
+    return this.velY[slot];
+  }
+
+  public double getVelocityZ(int slot) {
+    return this.velZ[slot];
+  }
+
+  public boolean hasLocation(int slot) {
+    return this.located[slot];
+  }
+
+  public boolean isActive(int slot) {
+    return this.active[slot];
+  }
+
+  public boolean isDone(int slot) {
+    return this.done[slot];
+  }
+
+  public void setActive(int slot, boolean active) {
+    this.active[slot] = active;
+  }
+
+  public void setDone(int slot, boolean done) {
+    this.done[slot] = done;
+  }
+
+  public void setFuel(int slot, double fuel) {
+    this.fuel[slot] = fuel;
+  }
+
+  public void setLocation(int slot, double x, double y, double z) {
+    this.located[slot] = true;
+    this.locX[slot] = x;
+    this.locY[slot] = y;
+    this.locZ[slot] = z;
+  }
+
+  public void setLocation(int slot, Vector location) {
+    if (location == null) {
+      this.located[slot] = false;
+      return;
+    }
+    this.setLocation(slot, location.getX(), location.getY(), location.getZ());
+  }
+
+  public void setVelocity(int slot, double x, double y, double z) {
+    this.velX[slot] = x;
+    this.velY[slot] = y;
+    this.velZ[slot] = z;
+  }
+
+  public void setVelocity(int slot, Vector velocity) {
+    this.setVelocity(slot, velocity.getX(), velocity.getY(), velocity.getZ());
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /** Moves the slot's location by its velocity scaled by the step size, in place. */
+  public void translate(int slot, double stepSize) {
+    this.translateBy(slot, this.velX[slot], this.velY[slot], this.velZ[slot], stepSize);
+  }
+
+  public void translateBy(int slot, double dx, double dy, double dz, double stepSize) {
+    this.locX[slot] += dx * stepSize;
+    this.locY[slot] += dy * stepSize;
+    this.locZ[slot] += dz * stepSize;
+  }
+}
@@ -3,19 +3,31 @@ package com.seat.sim.server.remote.components;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.remote.kinematics.FuelProto;
 import com.seat.sim.server.core.SimException;
+import com.seat.sim.server.remote.RemoteStore;
 
 public class Fuel {
 
-  private double fuelAmount;
   private FuelProto proto;
+  private int slot;
+  private RemoteStore store;
 
   public Fuel(FuelProto proto) {
+    this(proto, new RemoteStore(1));
+  }
+
+  private Fuel(FuelProto proto, RemoteStore store) {
+    this(proto, store, store.allocate());
+  }
+
+  public Fuel(FuelProto proto, RemoteStore store, int slot) {
     this.proto = (proto != null) ? proto : new FuelProto();
-    this.fuelAmount = (proto.hasInitialFuel()) ? proto.getInitialFuel() : 0;
+    this.store = store;
+    this.slot = slot;
+    this.store.setFuel(this.slot, (proto.hasInitialFuel()) ? proto.getInitialFuel() : 0);
   }
 
   public double getFuelAmount() {
-    return this.fuelAmount;
+    return this.store.getFuel(this.slot);
   }
 
   public Vector getFuelUsage() {
@@ -39,11 +51,11 @@ public class Fuel {
   }
 
   public boolean isEmpty() {
-    return this.fuelAmount == 0;
+    return this.getFuelAmount() == 0;
   }
 
   public boolean isFull() {
-    return this.hasMaxFuel() && this.fuelAmount == this.getMaxFuel();
+    return this.hasMaxFuel() && this.getFuelAmount() == this.getMaxFuel();
   }
 
   public void updateFuel(double stepSize) throws SimException {
@@ -55,9 +67,10 @@ public class Fuel {
 
   public void updateFuelBy(double fuelUsage, double stepSize) throws SimException {
     if (this.hasMaxFuel()) {
-      this.fuelAmount = Math.min(Math.max(this.fuelAmount + fuelUsage * stepSize, 0), this.getMaxFuel());
+      this.store.setFuel(this.slot,
+          Math.min(Math.max(this.getFuelAmount() + fuelUsage * stepSize, 0), this.getMaxFuel()));
     } else {
-      this.fuelAmount = Math.max(this.fuelAmount + fuelUsage * stepSize, 0);
+      this.store.setFuel(this.slot, Math.max(this.getFuelAmount() + fuelUsage * stepSize, 0));
     }
   }
 }
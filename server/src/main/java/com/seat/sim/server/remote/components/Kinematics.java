@@ -5,6 +5,7 @@ import java.util.Optional;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.remote.kinematics.KinematicsProto;
 import com.seat.sim.server.core.SimException;
+import com.seat.sim.server.remote.RemoteStore;
 
 public class Kinematics {
 
@@ -13,15 +14,30 @@ public class Kinematics {
   }
 
   private Optional<Fuel> fuel;
-  private Optional<Vector> location;
   private Optional<Motion> motion;
   private KinematicsProto proto;
+  private int slot;
+  private RemoteStore store;
 
   public Kinematics(KinematicsProto proto) {
+    this(proto, new RemoteStore(1));
+  }
+
+  private Kinematics(KinematicsProto proto, RemoteStore store) {
+    this(proto, store, store.allocate());
+  }
+
+  public Kinematics(KinematicsProto proto, RemoteStore store, int slot) {
     this.proto = (proto != null) ? proto : new KinematicsProto();
-    this.location = (proto.hasLocation()) ? Optional.of(proto.getLocation()) : Optional.empty();
-    this.motion = (proto.isMobile()) ? Optional.of(new Motion(proto.getMotionProto())) : Optional.empty();
-    this.fuel = (proto.hasFuelProto()) ? Optional.of(new Fuel(proto.getFuelProto())) : Optional.empty();
+    this.store = store;
+    this.slot = slot;
+    this.store.setLocation(this.slot, (proto.hasLocation()) ? proto.getLocation() : null);
+    this.motion = (proto.isMobile())
+        ? Optional.of(new Motion(proto.getMotionProto(), this.store, this.slot))
+        : Optional.empty();
+    this.fuel = (proto.hasFuelProto())
+        ? Optional.of(new Fuel(proto.getFuelProto(), this.store, this.slot))
+        : Optional.empty();
   }
 
   public double getBrakeDistance() {
@@ -47,7 +63,10 @@ public class Kinematics {
   }
 
   public Vector getLocation() {
-    return this.location.get();
+    if (!this.hasLocation()) {
+      throw new SimException("Kinematics has no location");
+    }
+    return this.store.getLocation(this.slot);
   }
 
   public double getMaxAcceleration() {
@@ -73,7 +92,7 @@ public class Kinematics {
       return Optional.empty();
     }
     if (!this.isMobile()) {
-      return this.location;
+      return Optional.of(this.getLocation());
     }
     return this.getNextLocation(this.getVelocity(), stepSize);
   }
@@ -83,7 +102,7 @@ public class Kinematics {
       return Optional.empty();
     }
     if (!this.isMobile() || velocity == null || !Double.isFinite(velocity.getMagnitude())) {
-      return this.location;
+      return Optional.of(this.getLocation());
     }
     if (this.hasMaxVelocity()) {
       velocity = velocity.squeeze(this.getMaxVelocity());
@@ -126,7 +145,7 @@ public class Kinematics {
   }
 
   public boolean hasLocation() {
-    return this.location.isPresent();
+    return this.store.hasLocation(this.slot);
   }
 
   public boolean hasMaxAcceleration() {
@@ -150,7 +169,7 @@ public class Kinematics {
   }
 
   public void setLocationTo(Vector location) {
-    this.location = (location != null) ? Optional.of(location) : Optional.empty();
+    this.store.setLocation(this.slot, location);
   }
 
   public void setVelocityTo(Vector velocity) {
@@ -237,8 +256,8 @@ public class Kinematics {
     }
     if (this.isMobile()) {
       this.getMotion().updateVelocityBy(acceleration, stepSize);
-      if (this.getMotion().getVelocity().near(Vector.ZERO)) {
-        this.getMotion().setVelocityTo(Vector.ZERO);
+      if (Vector.near(this.getSpeed(), 0.)) {
+        this.store.setVelocity(this.slot, 0., 0., 0.);
       }
     }
     if (this.hasLocation()) {
@@ -261,17 +280,17 @@ public class Kinematics {
   }
 
   public void updateLocation(double stepSize) throws SimException {
-    if (!this.hasLocation() || !this.isMobile()) {
+    if (!this.hasLocation() || !this.isMobile() || !Double.isFinite(this.getSpeed())) {
       return;
     }
-    this.updateLocationBy(this.getVelocity(), stepSize);
+    this.store.translate(this.slot, stepSize);
   }
 
   public void updateLocationBy(Vector velocity, double stepSize) throws SimException {
     if (!this.hasLocation() || velocity == null || !Double.isFinite(velocity.getMagnitude())) {
       return;
     }
-    this.location = Optional.of(Vector.add(this.getLocation(), velocity.scale(stepSize)));
+    this.store.translateBy(this.slot, velocity.getX(), velocity.getY(), velocity.getZ(), stepSize);
   }
 
   public void updateVelocityBy(Vector force, double stepSize) throws SimException {
@@ -3,15 +3,27 @@ package com.seat.sim.server.remote.components;
 import com.seat.sim.common.math.Vector;
 import com.seat.sim.common.remote.kinematics.MotionProto;
 import com.seat.sim.server.core.SimException;
+import com.seat.sim.server.remote.RemoteStore;
 
 public class Motion {
 
   private MotionProto proto;
-  private Vector velocity;
+  private int slot;
+  private RemoteStore store;
 
   public Motion(MotionProto proto) {
+    this(proto, new RemoteStore(1));
+  }
+
+  private Motion(MotionProto proto, RemoteStore store) {
+    this(proto, store, store.allocate());
+  }
+
+  public Motion(MotionProto proto, RemoteStore store, int slot) {
     this.proto = (proto != null) ? proto : new MotionProto();
-    this.velocity = (proto.hasInitialVelocity()) ? proto.getInitialVelocity() : Vector.ZERO;
+    this.store = store;
+    this.slot = slot;
+    this.store.setVelocity(this.slot, (proto.hasInitialVelocity()) ? proto.getInitialVelocity() : Vector.ZERO);
   }
 
   public MotionProto getProto() {
@@ -33,11 +45,11 @@ public class Motion {
   }
 
   public double getSpeed() {
-    return this.getVelocity().getMagnitude();
+    return this.store.getSpeed(this.slot);
   }
 
   public Vector getVelocity() {
-    return this.velocity;
+    return this.store.getVelocity(this.slot);
   }
 
   public boolean hasMaxAcceleration() {
@@ -57,10 +69,11 @@ public class Motion {
   }
 
   public void setVelocityTo(Vector velocity) {
-    this.velocity = (velocity != null) ? velocity : Vector.ZERO;
+    velocity = (velocity != null) ? velocity : Vector.ZERO;
     if (this.hasMaxVelocity()) {
-      this.velocity = this.velocity.squeeze(this.getMaxVelocity());
+      velocity = velocity.squeeze(this.getMaxVelocity());
     }
+    this.store.setVelocity(this.slot, velocity);
   }
 
   public Vector shiftVelocityTo(Vector target) {
@@ -80,9 +93,12 @@ public class Motion {
     if (this.hasMaxAcceleration()) {
       force = force.squeeze(this.getMaxAcceleration());
     }
-    this.velocity = Vector.add(this.velocity, force.scale(stepSize));
-    if (this.hasMaxVelocity()) {
-      this.velocity = this.velocity.squeeze(this.getMaxVelocity());
+    this.store.setVelocity(this.slot,
+        this.store.getVelocityX(this.slot) + force.getX() * stepSize,
+        this.store.getVelocityY(this.slot) + force.getY() * stepSize,
+        this.store.getVelocityZ(this.slot) + force.getZ() * stepSize);
+    if (this.hasMaxVelocity() && this.getSpeed() > this.getMaxVelocity()) {
+      this.store.setVelocity(this.slot, this.getVelocity().squeeze(this.getMaxVelocity()));
     }
   }
 
@@ -0,0 +1,74 @@
+package com.seat.sim.server.scenario;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.seat.sim.common.scenario.ScenarioStatus;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.remote.Remote;
+import com.seat.sim.server.remote.RemoteStore;
+
+/**
+ * The full mutable state of a scenario at one point in time. A checkpoint is never modified after it is taken,
+ * so any number of scenarios may be restored from it, each copying what it needs.
+ */
+public class Checkpoint {
+
+  private HashMap<String, Remote> activeRemotes;
+  private Map<String, Remote.Memo> memos;
+  private Map<String, Random> remoteRngs;
+  private Random rng;
+  private String scenarioID;
+  private ScenarioStatus status;
+  private RemoteStore store;
+  private double time;
+
+  Checkpoint(String scenarioID, double time, ScenarioStatus status, RemoteStore store,
+      Map<String, Remote.Memo> memos, HashMap<String, Remote> activeRemotes, Random rng,
+      Map<String, Random> remoteRngs) {
+    this.scenarioID = scenarioID;
+    this.time = time;
+    this.status = status;
+    this.store = store;
+    this.memos = memos;
+    this.activeRemotes = activeRemotes;
+    this.rng = rng;
+    this.remoteRngs = remoteRngs;
+  }
+
+  /**
+   * Returns a clone of the active map when the checkpoint was taken, whose iteration order a restore must
+   * keep. Only its keys are meant to be read, as its remotes belong to the scenario and have moved on since.
+   */
+  HashMap<String, Remote> getActiveRemotes() {
+    return this.activeRemotes;
+  }
+
+  Map<String, Remote.Memo> getMemos() {
+    return this.memos;
+  }
+
+  Map<String, Random> getRemoteRngs() {
+    return this.remoteRngs;
+  }
+
+  Random getRng() {
+    return this.rng;
+  }
+
+  public String getScenarioID() {
+    return this.scenarioID;
+  }
+
+  public ScenarioStatus getStatus() {
+    return this.status;
+  }
+
+  RemoteStore getStore() {
+    return this.store;
+  }
+
+  public double getTime() {
+    return this.time;
+  }
+}
@@ -1,15 +1,17 @@
 package com.seat.sim.server.scenario;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.seat.sim.common.math.Grid;
 import com.seat.sim.common.math.Vector;
-import com.seat.sim.common.math.ZoneType;
 import com.seat.sim.common.remote.RemoteConfig;
 import com.seat.sim.common.remote.RemoteController;
 import com.seat.sim.common.remote.RemoteProto;
@@ -25,24 +27,48 @@ import com.seat.sim.server.core.SimException;
 import com.seat.sim.server.math.Collision;
 import com.seat.sim.server.math.Physics;
 import com.seat.sim.server.remote.Remote;
+import com.seat.sim.server.remote.RemoteStore;
+import com.seat.sim.server.sensor.Sensor;
 
 public class Scenario {
 
-  private Map<String, Remote> activeRemotes;
+  private HashMap<String, Remote> activeRemotes;
   private Map<String, Remote> allRemotes;
+  private RemoteStore backup;
   private ScenarioConfig config;
   private Map<String, Remote> dynamicRemotes;
+  private long epoch;
+  private Optional<SpatialIndex> index;
+  private double indexCellSize;
+  private boolean parallel;
+  private Map<String, Random> remoteRngs;
   private Random rng;
+  private Optional<Speculation> speculation;
   private ScenarioStatus status;
+  private RemoteStore store;
   private double time;
 
   public Scenario(ScenarioConfig config) {
     this(config, new Random(config.getSeed()));
   }
 
+  public Scenario(ScenarioConfig config, boolean parallel) {
+    this(config, new Random(config.getSeed()), parallel);
+  }
+
   public Scenario(ScenarioConfig config, Random rng) {
+    this(config, rng, false);
+  }
+
+  /**
+   * In parallel mode remotes are updated and sensed on the common fork-join pool, and each remote draws
+   * from its own rng stream derived from the scenario seed, so results do not depend on thread count
+   * (they do differ from sequential mode, which shares a single rng).
+   */
+  public Scenario(ScenarioConfig config, Random rng, boolean parallel) {
     this.config = config;
     this.rng = rng;
+    this.parallel = parallel;
     this.time = 0;
     this.status = ScenarioStatus.START;
     this.init();
@@ -68,11 +94,23 @@ public class Scenario {
     this.allRemotes = new HashMap<>();
     this.activeRemotes = new HashMap<>();
     this.dynamicRemotes = new HashMap<>();
+    this.remoteRngs = new HashMap<>();
+    this.epoch = 0;
+    this.index = Optional.empty();
+    this.indexCellSize = 1.;
+    this.speculation = Optional.empty();
+    this.store = new RemoteStore(this.config.getRemoteConfigs()
+        .stream()
+        .mapToInt(remoteConfig -> remoteConfig.getRemoteIDs().size())
+        .sum());
     for (RemoteConfig remoteConfig : this.config.getRemoteConfigs()) {
       RemoteProto remoteProto = remoteConfig.getProto();
       for (String remoteID : remoteConfig.getRemoteIDs()) {
-        Remote remote = new Remote(this, remoteProto, remoteID, remoteConfig.getTeam(), remoteConfig.isActive());
+        Remote remote = new Remote(this, this.store, remoteProto, remoteID, remoteConfig.getTeam(), remoteConfig.isActive());
         this.allRemotes.put(remoteID, remote);
+        if (this.parallel) {
+          this.remoteRngs.put(remoteID, new Random(Scenario.deriveSeed(this.config.getSeed(), remoteID)));
+        }
         if (remoteConfig.isActive()) {
           this.activeRemotes.put(remoteID, remote);
         }
@@ -81,7 +119,7 @@ public class Scenario {
         }
         if (this.hasGrid() && !remote.hasLocation()) {
           while (!remote.hasLocation() ||
-              this.getGrid().getZoneAtLocation(remote.getLocation()).hasZoneType(ZoneType.BLOCKED)) {
+              this.getGrid().isBlockedAtLocation(remote.getLocation())) {
             remote.setLocationTo(this.rng.getRandomLocation2D(this.getGridWidth(), this.getGridHeight()));
           }
         }
@@ -92,10 +130,90 @@ public class Scenario {
             remote.setVelocityTo(this.rng.getRandomDirection2D().scale(this.getZoneSize()));
           }
         }
+        if (remote.hasSensors()) {
+          for (Sensor sensor : remote.getSensorController().getSensors()) {
+            if (Double.isFinite(sensor.getRange())) {
+              this.indexCellSize = Math.max(this.indexCellSize, sensor.getRange());
+            }
+          }
+        }
       }
     }
   }
 
+  /**
+   * Returns a clone of the active map, which keeps its table and so its iteration order. That order decides
+   * the order of the sensors' rng draws, so a map refilled entry by entry would not step the same.
+   */
+  @SuppressWarnings("unchecked")
+  private static HashMap<String, Remote> copyActiveRemotes(HashMap<String, Remote> activeRemotes) {
+    return (HashMap<String, Remote>) activeRemotes.clone();
+  }
+
+  /** Mixes the scenario seed with a remote ID (SplitMix64 finalizer) to seed that remote's rng stream. */
+  private static long deriveSeed(long seed, String remoteID) {
+    long z = seed + 0x9E3779B97F4A7C15L * (remoteID.hashCode() + 1L);
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** Puts every remote back where it was before the pending speculation, if any, and drops it. */
+  private void discardSpeculation() {
+    if (this.speculation.isEmpty()) {
+      return;
+    }
+    this.store.copyFrom(this.backup);
+    for (Remote remote : this.getRemotes()) {
+      remote.restore(this.speculation.get().memos.get(remote.getRemoteID()));
+    }
+    this.speculation = Optional.empty();
+  }
+
+  private void invalidate() {
+    this.epoch++;
+    this.index = Optional.empty();
+  }
+
+  /**
+   * Returns a copy of the full mutable state of this scenario: its time and status, every remote's slot,
+   * destination, sensors and sensed subjects, the active set and the position of every rng. A pending
+   * speculation is rolled back first.
+   */
+  public Checkpoint checkpoint() throws SimException {
+    this.discardSpeculation();
+    RemoteStore store = new RemoteStore(this.store.size());
+    store.copyFrom(this.store);
+    Map<String, Remote.Memo> memos = new HashMap<>();
+    for (Remote remote : this.getRemotes()) {
+      memos.put(remote.getRemoteID(), remote.getMemo());
+    }
+    Map<String, Random> remoteRngs = new HashMap<>();
+    for (Map.Entry<String, Random> entry : this.remoteRngs.entrySet()) {
+      remoteRngs.put(entry.getKey(), entry.getValue().copy());
+    }
+    return new Checkpoint(
+        this.getScenarioID(),
+        this.time,
+        this.status,
+        store,
+        memos,
+        Scenario.copyActiveRemotes(this.activeRemotes),
+        this.rng.copy(),
+        remoteRngs
+      );
+  }
+
+  /**
+   * Returns an independent scenario in the same state as this one, which evolves exactly as this one would
+   * under the same updates. Forks share nothing mutable, so they can be stepped on different threads.
+   */
+  public Scenario fork() throws SimException {
+    Scenario fork = new Scenario(this.config, new Random(this.config.getSeed()), this.parallel);
+    fork.restore(this.checkpoint());
+    return fork;
+  }
+
   public Collection<String> getActiveRemoteIDs() {
     return this.activeRemotes.keySet();
   }
@@ -112,6 +230,14 @@ public class Scenario {
     return this.activeRemotes.get(remoteID);
   }
 
+  /**
+   * Returns the active remotes that may be within range of the location, in the same relative order as
+   * getActiveRemotes(). The spatial index backing this is rebuilt lazily once per epoch.
+   */
+  public Collection<Remote> getActiveRemotesNear(Vector location, double range, Optional<Set<String>> matchers) {
+    return this.getSpatialIndex().getRemotesNear(location, range, matchers);
+  }
+
   public Collection<String> getActiveDynamicRemoteIDs() {
     return this.getActiveRemoteIDs()
         .stream()
@@ -134,6 +260,11 @@ public class Scenario {
     return this.dynamicRemotes.values();
   }
 
+  /** Returns a counter that changes whenever remote locations or the active set may have changed. */
+  public long getEpoch() {
+    return this.epoch;
+  }
+
   public Grid getGrid() {
     return this.config.getGrid();
   }
@@ -156,6 +287,15 @@ public class Scenario {
     return this.config.getMissionLength();
   }
 
+  /** Returns the size of the next step, which is cut short so that the last step ends on the mission length. */
+  public double getNextStepSize() {
+    double time = this.getTime() + this.getStepSize();
+    if (this.getMissionLength() < time) {
+      return this.getMissionLength() + this.getStepSize() - time;
+    }
+    return this.getStepSize();
+  }
+
   public Collection<String> getPassiveRemoteIDs() {
     return this.getRemoteIDs()
         .stream()
@@ -194,11 +334,22 @@ public class Scenario {
     return this.rng;
   }
 
+  /** Returns the rng stream the remote should draw from, which is the shared rng unless in parallel mode. */
+  public Random getRng(Remote remote) {
+    if (!this.parallel) {
+      return this.rng;
+    }
+    return this.remoteRngs.get(remote.getRemoteID());
+  }
+
   public String getScenarioID() {
     return this.config.getScenarioID();
   }
 
   public Snapshot getSnapshot() {
+    if (this.parallel) {
+      this.senseRemotes();
+    }
     return new Snapshot(
       LocalTime.now().toString(),
       this.getScenarioID(),
@@ -211,6 +362,13 @@ public class Scenario {
     );
   }
 
+  public SpatialIndex getSpatialIndex() {
+    if (this.index.isEmpty()) {
+      this.index = Optional.of(new SpatialIndex(this.getActiveRemotes(), this.indexCellSize));
+    }
+    return this.index.get();
+  }
+
   public ScenarioStatus getStatus() {
     return this.status;
   }
@@ -219,6 +377,11 @@ public class Scenario {
     return this.config.getStepSize();
   }
 
+  /** Returns the column store that holds the per-step state of every remote in this scenario. */
+  public RemoteStore getStore() {
+    return this.store;
+  }
+
   public double getTime() {
     return this.time;
   }
@@ -282,6 +445,10 @@ public class Scenario {
     return this.status.equals(ScenarioStatus.DONE);
   }
 
+  public boolean isParallel() {
+    return this.parallel;
+  }
+
   public boolean isInProgress() {
     return this.justStarted() || this.status.equals(ScenarioStatus.IN_PROGRESS);
   }
@@ -290,6 +457,31 @@ public class Scenario {
     return this.status.equals(ScenarioStatus.START);
   }
 
+  /** Puts this scenario back in the state of the checkpoint, which must have been taken of the same config. */
+  public void restore(Checkpoint checkpoint) throws SimException {
+    if (!checkpoint.getScenarioID().equals(this.getScenarioID()) ||
+        checkpoint.getStore().size() != this.store.size()) {
+      throw new SimException(String.format("Scenario <%s> cannot restore a checkpoint of <%s>",
+          this.getScenarioID(), checkpoint.getScenarioID()));
+    }
+    this.speculation = Optional.empty();
+    this.time = checkpoint.getTime();
+    this.status = checkpoint.getStatus();
+    this.store.copyFrom(checkpoint.getStore());
+    this.rng = checkpoint.getRng().copy();
+    for (Map.Entry<String, Random> entry : checkpoint.getRemoteRngs().entrySet()) {
+      this.remoteRngs.put(entry.getKey(), entry.getValue().copy());
+    }
+    this.activeRemotes = Scenario.copyActiveRemotes(checkpoint.getActiveRemotes());
+    this.activeRemotes.replaceAll((remoteID, remote) -> this.allRemotes.get(remoteID));
+    this.invalidate();
+    for (Remote remote : this.getRemotes()) {
+      Remote.Memo memo = checkpoint.getMemos().get(remote.getRemoteID());
+      remote.restore(memo);
+      remote.restoreSubjects(memo);
+    }
+  }
+
   public void setStatus(ScenarioStatus status) {
     this.status = status;
   }
@@ -302,6 +494,28 @@ public class Scenario {
     this.time = time;
   }
 
+  /**
+   * Advances every remote by the step size as if no intentions will arrive, so that the work can overlap
+   * with waiting on the client. The next update with the same step size keeps the result for every remote
+   * that receives no intentions and redoes only the others; any other update rolls the speculation back
+   * first. Nothing may read the remotes until that update, and calling this again before it does nothing.
+   */
+  public void speculate(double stepSize) throws SimException {
+    if (this.speculation.isPresent() || !this.isInProgress()) {
+      return;
+    }
+    if (this.backup == null) {
+      this.backup = new RemoteStore(this.store.size());
+    }
+    this.backup.copyFrom(this.store);
+    Map<String, Remote.Memo> memos = new HashMap<>();
+    for (Remote remote : this.getRemotes()) {
+      memos.put(remote.getRemoteID(), remote.getMemo());
+    }
+    this.speculation = Optional.of(new Speculation(memos, this.status, stepSize));
+    this.stepRemotes(this.getRemotes(), null, stepSize);
+  }
+
   public void update() throws SimException {
     this.update(null, this.config.getStepSize());
   }
@@ -312,7 +526,9 @@ public class Scenario {
 
   public void update(Map<String, IntentionSet> intentions, double stepSize) throws SimException {
     this.time += stepSize;
+    this.invalidate();
     if (this.isDone()) {
+        this.discardSpeculation();
         return;
     }
     if (this.hasError()) {
@@ -327,10 +543,12 @@ public class Scenario {
         Debugger.logger.state("Stopping scenario");
         this.setStatus(ScenarioStatus.DONE);
       }
+      this.discardSpeculation();
       return;
     }
     Debugger.logger.info("Updating remotes ...");
     this.updateRemotes(intentions, stepSize);
+    this.invalidate();
     if (this.justStarted()) {
       this.setStatus(ScenarioStatus.IN_PROGRESS);
     }
@@ -339,39 +557,79 @@ public class Scenario {
     }
   }
 
-  private void updateRemotes(Map<String, IntentionSet> intentions, double stepSize) throws SimException {
-    for (Remote remote : this.getRemotes()) {
-      if (!remote.isEnabled() || remote.isDone()) {
-        if (this.hasActiveRemoteWithID(remote.getRemoteID())) {
-          this.activeRemotes.remove(remote.getRemoteID());
-        }
-        continue;
+  /** Computes every sensor's subjects for this epoch, one remote per task, so the snapshot reads caches. */
+  private void senseRemotes() {
+    this.getSpatialIndex();
+    this.getRemotes()
+        .parallelStream()
+        .filter(remote -> remote.hasSensors())
+        .forEach(remote -> remote.getSensorController().getSensors().forEach(sensor -> sensor.getSubjects()));
+  }
+
+  private void stepRemotes(Collection<Remote> remotes, Map<String, IntentionSet> intentions, double stepSize)
+      throws SimException {
+    if (this.parallel) {
+      remotes.parallelStream().forEach(remote -> this.updateRemote(remote, intentions, stepSize));
+    } else {
+      for (Remote remote : remotes) {
+        this.updateRemote(remote, intentions, stepSize);
+      }
+    }
+  }
+
+  private void updateRemote(Remote remote, Map<String, IntentionSet> intentions, double stepSize)
+      throws SimException {
+    if (!remote.isEnabled() || remote.isDone()) {
+      return;
+    }
+    Debugger.logger.info(() -> String.format("Updating remote %s ...", remote.getRemoteID()));
+    Optional<Vector> prevLocation = Optional.empty();
+    if (this.hasGrid() && remote.hasLocation() && Physics.isInbounds(remote.getLocation(), this.getGrid())) {
+      prevLocation = Optional.of(remote.getLocation());
+      if (this.getGrid().isBlockedAtLocation(prevLocation.get())) {
+        Debugger.logger.fatal(String.format("Remote STUCK %s ...", remote.getRemoteID()));
+        return;
       }
-      Debugger.logger.info(String.format("Updating remote %s ...", remote.getRemoteID()));
-      Optional<Vector> prevLocation = Optional.empty();
-      if (this.hasGrid() && remote.hasLocation() && Physics.isInbounds(remote.getLocation(), this.getGrid())) {
-        prevLocation = Optional.of(remote.getLocation());
-        if (this.getGrid().hasZones() && this.getGrid().hasZoneAtLocation(prevLocation.get()) &&
-            this.getGrid().getZoneAtLocation(prevLocation.get()).hasZoneType(ZoneType.BLOCKED)) {
-          Debugger.logger.fatal(String.format("Remote STUCK %s ...", remote.getRemoteID()));
+    }
+    if (this.hasGrid() && remote.hasLocation() && !Physics.isInbounds(remote.getLocation(), this.getGrid())) {
+      Debugger.logger.fatal(String.format("Remote OUT-OF-BOUNDS %s ...", remote.getRemoteID()));
+      return;
+    }
+    if (intentions != null && intentions.containsKey(remote.getRemoteID())) {
+      remote.update(intentions.get(remote.getRemoteID()), stepSize);
+    } else if (this.hasDynamicRemoteWithID(remote.getRemoteID())) {
+      remote.update(stepSize);
+    } else {
+      this.updatePassiveRemote(remote, stepSize);
+    }
+    if (this.hasGrid() && remote.hasLocation() &&
+        prevLocation.isPresent() && !remote.getLocation().near(prevLocation.get())) {
+      this.enforceBounds(remote, prevLocation.get());
+    }
+  }
+
+  private void updateRemotes(Map<String, IntentionSet> intentions, double stepSize) throws SimException {
+    if (this.speculation.isPresent() && this.speculation.get().matches(this.status, stepSize)) {
+      Speculation spec = this.speculation.get();
+      this.speculation = Optional.empty();
+      List<Remote> redo = new ArrayList<>();
+      for (Remote remote : this.getRemotes()) {
+        IntentionSet remoteIntentions = (intentions != null) ? intentions.get(remote.getRemoteID()) : null;
+        // a dynamic remote steps the same with an empty intention set as with none
+        if (remoteIntentions == null ||
+            (this.hasDynamicRemoteWithID(remote.getRemoteID()) && !remoteIntentions.hasIntentions())) {
           continue;
         }
+        this.store.copySlotFrom(this.backup, remote.getSlot());
+        remote.restore(spec.memos.get(remote.getRemoteID()));
+        redo.add(remote);
       }
-      if (this.hasGrid() && remote.hasLocation() && !Physics.isInbounds(remote.getLocation(), this.getGrid())) {
-        Debugger.logger.fatal(String.format("Remote OUT-OF-BOUNDS %s ...", remote.getRemoteID()));
-        continue;
-      }
-      if (intentions != null && intentions.containsKey(remote.getRemoteID())) {
-        remote.update(intentions.get(remote.getRemoteID()), stepSize);
-      } else if (this.hasDynamicRemoteWithID(remote.getRemoteID())) {
-        remote.update(stepSize);
-      } else {
-        this.updatePassiveRemote(remote, stepSize);
-      }
-      if (this.hasGrid() && remote.hasLocation() &&
-          prevLocation.isPresent() && !remote.getLocation().near(prevLocation.get())) {
-        this.enforceBounds(remote, prevLocation.get());
-      }
+      this.stepRemotes(redo, intentions, stepSize);
+    } else {
+      this.discardSpeculation();
+      this.stepRemotes(this.getRemotes(), intentions, stepSize);
+    }
+    for (Remote remote : this.getRemotes()) {
       if ((!remote.isActive() || remote.isDone()) && this.hasActiveRemoteWithID(remote.getRemoteID())) {
         this.activeRemotes.remove(remote.getRemoteID());
       } else if (remote.isActive() && !this.hasActiveRemoteWithID(remote.getRemoteID())) {
@@ -393,4 +651,21 @@ public class Scenario {
     }
     remote.update(controller.getIntentions(), stepSize);
   }
+
+  private static class Speculation {
+
+    private Map<String, Remote.Memo> memos;
+    private ScenarioStatus status;
+    private double stepSize;
+
+    public Speculation(Map<String, Remote.Memo> memos, ScenarioStatus status, double stepSize) {
+      this.memos = memos;
+      this.status = status;
+      this.stepSize = stepSize;
+    }
+
+    public boolean matches(ScenarioStatus status, double stepSize) {
+      return this.status.equals(status) && this.stepSize == stepSize;
+    }
+  }
 }
@@ -0,0 +1,108 @@
+package com.seat.sim.server.scenario;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.server.remote.Remote;
+import com.seat.sim.server.sensor.Sensor;
+
+/**
+ * A uniform grid over the active remotes, bucketed by every tag a sensor could match on (remote tags and
+ * the tags of the remote's sensors). Queries return candidates in the iteration order of the collection
+ * the index was built from, so callers that roll the scenario rng per candidate stay deterministic.
+ */
+public class SpatialIndex {
+
+  private static final String ANY = "";
+
+  private Map<String, Map<Long, List<Remote>>> buckets;
+  private double cellSize;
+  private Map<Remote, Integer> ordinals;
+  private Map<String, List<Remote>> unlocated;
+
+  public SpatialIndex(Collection<Remote> remotes, double cellSize) {
+    this.cellSize = cellSize;
+    this.buckets = new HashMap<>();
+    this.ordinals = new IdentityHashMap<>();
+    this.unlocated = new HashMap<>();
+    for (Remote remote : remotes) {
+      this.ordinals.put(remote, this.ordinals.size());
+      Set<String> tags = new HashSet<>(remote.getTags());
+      if (remote.hasSensors()) {
+        for (Sensor sensor : remote.getSensorController().getSensors()) {
+          tags.addAll(sensor.getTags());
+        }
+      }
+      tags.add(SpatialIndex.ANY);
+      for (String tag : tags) {
+        if (!remote.hasLocation()) {
+          this.unlocated.computeIfAbsent(tag, t -> new ArrayList<>()).add(remote);
+          continue;
+        }
+        this.buckets
+          .computeIfAbsent(tag, t -> new HashMap<>())
+          .computeIfAbsent(this.getCellKey(this.getCell(remote.getStore().getLocationX(remote.getSlot())),
+                this.getCell(remote.getStore().getLocationY(remote.getSlot()))), k -> new ArrayList<>())
+          .add(remote);
+      }
+    }
+  }
+
+  private int getCell(double coord) {
+    return (int) Math.floor(coord / this.cellSize);
+  }
+
+  private long getCellKey(int col, int row) {
+    return (((long) col) << 32) ^ (row & 0xFFFFFFFFL);
+  }
+
+  private void gather(String tag, Vector location, double range, Set<Remote> candidates) {
+    if (this.unlocated.containsKey(tag)) {
+      candidates.addAll(this.unlocated.get(tag));
+    }
+    if (!this.buckets.containsKey(tag)) {
+      return;
+    }
+    Map<Long, List<Remote>> cells = this.buckets.get(tag);
+    double reach = range + Vector.PRECISION;
+    int minCol = this.getCell(location.getX() - reach);
+    int maxCol = this.getCell(location.getX() + reach);
+    int minRow = this.getCell(location.getY() - reach);
+    int maxRow = this.getCell(location.getY() + reach);
+    for (int col = minCol; col <= maxCol; col++) {
+      for (int row = minRow; row <= maxRow; row++) {
+        List<Remote> cell = cells.get(this.getCellKey(col, row));
+        if (cell != null) {
+          candidates.addAll(cell);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the indexed remotes that match any of the matchers (or all remotes if there are none) and
+   * whose cells lie within range of the location. Remotes without a location are always included.
+   */
+  public List<Remote> getRemotesNear(Vector location, double range, Optional<Set<String>> matchers) {
+    Set<Remote> candidates = new HashSet<>();
+    if (matchers.isEmpty() || matchers.get().isEmpty()) {
+      this.gather(SpatialIndex.ANY, location, range, candidates);
+    } else {
+      for (String matcher : matchers.get()) {
+        this.gather(matcher, location, range, candidates);
+      }
+    }
+    List<Remote> remotes = new ArrayList<>(candidates);
+    remotes.sort(Comparator.comparingInt(remote -> this.ordinals.get(remote)));
+    return remotes;
+  }
+}
@@ -1,5 +1,7 @@
 package com.seat.sim.server.sensor;
 
+import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -13,10 +15,12 @@ import com.seat.sim.server.scenario.Scenario;
 public class Sensor {
 
   private boolean active;
+  private long epoch;
   private SensorProto proto;
   private Remote remote;
   private Scenario scenario;
   private String sensorID;
+  private Optional<Set<String>> subjects;
 
   public Sensor(Scenario scenario, Remote remote, SensorProto proto, String sensorID, boolean active) {
     this.scenario = scenario;
@@ -24,6 +28,7 @@ public class Sensor {
     this.proto = proto;
     this.sensorID = sensorID;
     this.active = active;
+    this.subjects = Optional.empty();
     if (this.scenario == null) {
       throw new RuntimeException("cannot create Sensor with no scenario");
     }
@@ -49,14 +54,43 @@ public class Sensor {
     if (!Double.isFinite(range)) {
       return true;
     }
-    double dist = Vector.dist(this.remote.getLocation(), remote.getLocation());
+    double dist = this.remote.getDistanceTo(remote);
     return dist <= range || Vector.near(dist, range);
   }
 
+  private Set<String> computeSubjects() {
+    if (!this.isActive() || this.getAccuracy() == 0.) {
+      return Set.of();
+    }
+    Collection<Remote> candidates = (this.remote.hasKinematics() && this.remote.getKinematics().hasLocation() &&
+        Double.isFinite(this.getRange()))
+      ? this.scenario.getActiveRemotesNear(
+          this.remote.getLocation(),
+          this.getRange(),
+          (this.hasMatchers()) ? Optional.of(this.getMatchers()) : Optional.empty()
+        )
+      : this.scenario.getActiveRemotes();
+    return candidates
+        .stream()
+        .filter(remote -> !this.hasMatchers() || remote.hasMatch(this.getMatchers()))
+        .filter(remote -> this.isWithinRange(remote))
+        .filter(remote -> this.scenario.getRng(this.remote).getRandomProbability() < this.getAccuracy())
+        .map(remote -> remote.getRemoteID())
+        .collect(Collectors.toSet());
+  }
+
   public double getAccuracy() {
     return this.proto.getStats().getAccuracy();
   }
 
+  /** Returns the subjects computed for the current epoch, if they have been. */
+  public Optional<Set<String>> getCachedSubjects() {
+    if (this.subjects.isPresent() && this.epoch == this.scenario.getEpoch()) {
+      return this.subjects;
+    }
+    return Optional.empty();
+  }
+
   public double getBatteryUsage() {
     return this.proto.getStats().getBatteryUsage();
   }
@@ -94,17 +128,12 @@ public class Sensor {
   }
 
   public Set<String> getSubjects() {
-    if (!this.isActive() || this.getAccuracy() == 0.) {
-      return Set.of();
+    if (this.subjects.isPresent() && this.epoch == this.scenario.getEpoch()) {
+      return this.subjects.get();
     }
-    return this.scenario
-        .getActiveRemotes()
-        .stream()
-        .filter(remote -> !this.hasMatchers() || remote.hasMatch(this.getMatchers()))
-        .filter(remote -> this.isWithinRange(remote))
-        .filter(remote -> this.scenario.getRng().getRandomProbability() < this.getAccuracy())
-        .map(remote -> remote.getRemoteID())
-        .collect(Collectors.toSet());
+    this.epoch = this.scenario.getEpoch();
+    this.subjects = Optional.of(this.computeSubjects());
+    return this.subjects.get();
   }
 
   public Set<String> getTags() {
@@ -168,10 +197,18 @@ public class Sensor {
 
   public void setActive() {
     this.active = true;
+    this.subjects = Optional.empty();
+  }
+
+  /** Caches the subjects for the current epoch, as restoring a checkpoint does. */
+  public void setCachedSubjects(Set<String> subjects) {
+    this.epoch = this.scenario.getEpoch();
+    this.subjects = Optional.of(subjects);
   }
 
   public void setInactive() {
     this.active = false;
+    this.subjects = Optional.empty();
   }
 
   public String toString() {
@@ -0,0 +1,214 @@
+package com.seat.sim.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.seat.sim.common.gui.TeamColor;
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.math.ZoneType;
+import com.seat.sim.common.net.BinaryCodec;
+import com.seat.sim.common.remote.RemoteConfig;
+import com.seat.sim.common.remote.RemoteController;
+import com.seat.sim.common.remote.RemoteProto;
+import com.seat.sim.common.remote.RemoteState;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.remote.kinematics.FuelProto;
+import com.seat.sim.common.remote.kinematics.KinematicsProto;
+import com.seat.sim.common.remote.kinematics.MotionProto;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.sensor.SensorConfig;
+import com.seat.sim.common.sensor.SensorProto;
+import com.seat.sim.common.sensor.SensorStats;
+import com.seat.sim.common.util.Random;
+
+/**
+ * A small seeded scenario of drones and victims on a grid with blocked zones, whose sensors miss now and
+ * then so that every step draws from the scenario's random numbers, and the helpers to drive and compare it.
+ */
+public class Fixtures {
+
+  public static final int MISSION_LENGTH = 600;
+  public static final long SEED = 42;
+  public static final double STEP_SIZE = 10.;
+
+  private static final int ZONES = 8;
+  private static final int ZONE_SIZE = 8;
+
+  private static RemoteConfig getDroneConfig(Grid grid, int count, double range) {
+    return new RemoteConfig(
+        new RemoteProto(
+            Set.of("Drone"),
+            List.of(
+                new SensorConfig(
+                    new SensorProto("Camera", Set.of("Drone"), Set.of("Victim"),
+                        new SensorStats(0.0002, .8, 0., range)),
+                    1,
+                    true
+                  )
+              ),
+            new KinematicsProto(
+                new Vector(grid.getWidth() / 2., grid.getHeight() / 2.),
+                new FuelProto(1., 1., new Vector(0.0001, 0.0001, 0.0001)),
+                new MotionProto(Vector.ZERO, 20., 3.)
+              )
+          ),
+        TeamColor.BLUE,
+        count,
+        true,
+        true
+      );
+  }
+
+  private static Grid getGrid() {
+    BufferedImage img = new BufferedImage(Fixtures.ZONES, Fixtures.ZONES, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < Fixtures.ZONES; y++) {
+      for (int x = 0; x < Fixtures.ZONES; x++) {
+        boolean blocked = (x == 2 && y > 1 && y < 6) || (y == 6 && x > 4);
+        img.setRGB(x, y, (blocked) ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+      }
+    }
+    return new Grid(img, Fixtures.ZONE_SIZE);
+  }
+
+  /**
+   * Returns a victim in the center of every nth open zone, as a victim placed in a blocked zone is stuck. Each
+   * victim is named after its zone, as victims numbered per config would all share one ID.
+   */
+  private static List<RemoteConfig> getVictimConfigs(Grid grid, int every, double range) {
+    List<RemoteConfig> configs = new ArrayList<>();
+    int zone = 0;
+    for (int y = 0; y < grid.getHeightInZones(); y++) {
+      for (int x = 0; x < grid.getWidthInZones(); x++) {
+        if (grid.getZone(y, x).hasZoneType(ZoneType.BLOCKED) || zone++ % every != 0) {
+          continue;
+        }
+        Vector location = new Vector((x + .5) * grid.getZoneSize(), (y + .5) * grid.getZoneSize());
+        RemoteProto proto = new RemoteProto(
+            Set.of("Victim"),
+            List.of(
+                new SensorConfig(
+                    new SensorProto("Vision", Set.of("Victim"), Set.of("Drone"),
+                        new SensorStats(0., .6, 0., range)),
+                    1,
+                    true
+                  )
+              ),
+            new KinematicsProto(location, null, new MotionProto(Vector.ZERO, 1.4, 2.5))
+          );
+        configs.add(new RemoteConfig(
+            proto,
+            TeamColor.RED,
+            Set.of(String.format("%s:(%d:%d:%d)", proto.getLabel(), TeamColor.RED.getType(), x, y)),
+            true,
+            true
+          ));
+      }
+    }
+    return configs;
+  }
+
+  /**
+   * Asserts that the snapshots agree exactly on the status and time, the active set and where every remote is,
+   * down to the last bit of every location, velocity and fuel amount, but not on what their sensors picked up.
+   */
+  public static void assertKinematicsEquals(Snapshot expected, Snapshot actual) {
+    String at = String.format("at time=%.2f", expected.getTime());
+    assertEquals(at, expected.getStatus(), actual.getStatus());
+    assertEquals(at, expected.getTime(), actual.getTime(), 0.);
+    assertEquals(at, expected.getStepSize(), actual.getStepSize(), 0.);
+    assertEquals(at, Set.copyOf(expected.getActiveRemoteIDs()), Set.copyOf(actual.getActiveRemoteIDs()));
+    assertEquals(at, Set.copyOf(expected.getRemoteIDs()), Set.copyOf(actual.getRemoteIDs()));
+    for (RemoteState state : expected.getRemoteStates()) {
+      String remote = String.format("%s %s", state.getRemoteID(), at);
+      assertTrue(remote, actual.hasRemoteStateWithID(state.getRemoteID()));
+      RemoteState other = actual.getRemoteStateWithID(state.getRemoteID());
+      assertEquals(remote, state.hasLocation(), other.hasLocation());
+      if (state.hasLocation()) {
+        assertTrue(remote, state.getLocation().equals(other.getLocation()));
+        assertTrue(remote, state.getVelocity().equals(other.getVelocity()));
+      }
+      assertEquals(remote, Double.doubleToLongBits(state.getFuelAmount()),
+          Double.doubleToLongBits(other.getFuelAmount()));
+      assertEquals(remote, state.getSensorIDs(), other.getSensorIDs());
+      assertEquals(remote, state.isActive(), other.isActive());
+      assertEquals(remote, state.isDone(), other.isDone());
+    }
+  }
+
+  /** Asserts that the snapshots agree exactly, down to the last bit of every location, velocity and fuel. */
+  public static void assertSnapshotEquals(Snapshot expected, Snapshot actual) {
+    Fixtures.assertKinematicsEquals(expected, actual);
+    String at = String.format("at time=%.2f", expected.getTime());
+    for (RemoteState state : expected.getRemoteStates()) {
+      RemoteState other = actual.getRemoteStateWithID(state.getRemoteID());
+      for (String sensorID : state.getSensorIDs()) {
+        assertTrue(String.format("%s %s", state.getRemoteID(), at),
+            state.getSensorStateWithID(sensorID).equals(other.getSensorStateWithID(sensorID)));
+      }
+    }
+    BinaryCodec codec = new BinaryCodec();
+    assertEquals(at, codec.checksum(expected), codec.checksum(actual));
+  }
+
+  /** Sends about a third of the remotes, picked by the rng, to random locations of the grid. */
+  public static Map<String, IntentionSet> Intentions(Snapshot snap, Random rng) {
+    List<String> remoteIDs = new ArrayList<>(snap.getActiveRemoteIDs());
+    Collections.sort(remoteIDs);
+    Map<String, IntentionSet> intentions = new HashMap<>();
+    for (String remoteID : remoteIDs) {
+      if (rng.getRandomProbability() >= 1. / 3) {
+        continue;
+      }
+      RemoteController controller = new RemoteController(remoteID);
+      controller.goToLocation(rng.getRandomLocation2D(Fixtures.ZONES * Fixtures.ZONE_SIZE,
+          Fixtures.ZONES * Fixtures.ZONE_SIZE));
+      intentions.put(remoteID, controller.getIntentions());
+    }
+    return intentions;
+  }
+
+  public static ScenarioConfig ScenarioConfig() {
+    Grid grid = Fixtures.getGrid();
+    List<RemoteConfig> configs = new ArrayList<>();
+    configs.add(Fixtures.getDroneConfig(grid, 6, 10.));
+    configs.addAll(Fixtures.getVictimConfigs(grid, 3, 10.));
+    return new ScenarioConfig(
+        "Fixture",
+        Fixtures.SEED,
+        grid,
+        Fixtures.MISSION_LENGTH,
+        Fixtures.STEP_SIZE,
+        configs
+      );
+  }
+
+  /**
+   * Returns the fixture crowded with drones and victims whose sensors reach across the grid, so that every
+   * sensor rolls its accuracy for many subjects each step, in the order the scenario iterates its remotes.
+   */
+  public static ScenarioConfig CrowdedScenarioConfig() {
+    Grid grid = Fixtures.getGrid();
+    List<RemoteConfig> configs = new ArrayList<>();
+    configs.add(Fixtures.getDroneConfig(grid, 20, 300.));
+    configs.addAll(Fixtures.getVictimConfigs(grid, 2, 300.));
+    return new ScenarioConfig(
+        "CrowdedFixture",
+        Fixtures.SEED,
+        grid,
+        Fixtures.MISSION_LENGTH,
+        Fixtures.STEP_SIZE,
+        configs
+      );
+  }
+}
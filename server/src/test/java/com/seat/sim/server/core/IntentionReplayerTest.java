@@ -0,0 +1,117 @@
+package com.seat.sim.server.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import com.seat.sim.common.core.CommonException;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.Fixtures;
+import com.seat.sim.server.scenario.Scenario;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IntentionReplayerTest {
+
+  private static final int STEPS = 30;
+
+  private Path path;
+
+  private static void flip(Path path, long offset) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      file.seek(offset);
+      int value = file.read();
+      file.seek(offset);
+      file.write(value ^ 0x10);
+    }
+  }
+
+  @Before
+  public void record() throws IOException {
+    this.path = Files.createTempFile("IntentionReplayerTest", ".rec");
+    ScenarioConfig config = Fixtures.ScenarioConfig();
+    IntentionRecorder recorder = new IntentionRecorder(this.path.toString(), false);
+    recorder.config(config);
+    Scenario scenario = new Scenario(config, false);
+    recorder.snapshot(scenario.getSnapshot());
+    Random rng = new Random(7);
+    for (int i = 0; i < IntentionReplayerTest.STEPS; i++) {
+      Map<String, IntentionSet> intentions = Fixtures.Intentions(scenario.getSnapshot(), rng);
+      double stepSize = scenario.getNextStepSize();
+      recorder.step(intentions, stepSize);
+      scenario.update(intentions, stepSize);
+      recorder.snapshot(scenario.getSnapshot());
+    }
+    recorder.close();
+  }
+
+  @After
+  public void delete() throws IOException {
+    Files.deleteIfExists(this.path);
+  }
+
+  @Test
+  public void replayShouldMatchEverySnapshot() {
+    IntentionReplayer replayer = new IntentionReplayer(this.path.toString());
+    replayer.run();
+    assertEquals(IntentionReplayerTest.STEPS, replayer.getStepCount());
+    assertEquals(IntentionReplayerTest.STEPS + 1, replayer.getSnapshotCount());
+  }
+
+  @Test
+  public void replayShouldAcceptTheZerosOfAnUnclosedRecording() throws IOException {
+    Files.write(this.path, new byte[1000], StandardOpenOption.APPEND);
+    IntentionReplayer replayer = new IntentionReplayer(this.path.toString());
+    replayer.run();
+    assertEquals(IntentionReplayerTest.STEPS + 1, replayer.getSnapshotCount());
+  }
+
+  @Test
+  public void replayShouldFailOnAFlippedChecksum() throws IOException {
+    IntentionReplayerTest.flip(this.path, Files.size(this.path) - 1);
+    IntentionReplayer replayer = new IntentionReplayer(this.path.toString());
+    try {
+      replayer.run();
+      fail("Replay should not match a flipped checksum");
+    } catch (ServerException e) {
+      assertEquals(IntentionReplayerTest.STEPS, replayer.getSnapshotCount() - 1);
+    }
+  }
+
+  @Test
+  public void replayShouldFailOnAFlippedRecordType() throws IOException {
+    long offset = Files.size(this.path) - 1 - Long.BYTES;
+    IntentionReplayerTest.flip(this.path, offset);
+    IntentionReplayer replayer = new IntentionReplayer(this.path.toString());
+    try {
+      replayer.run();
+      fail("Replay should not stop quietly at an unknown record type");
+    } catch (CommonException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(String.format("offset %d", offset)));
+    }
+  }
+
+  @Test
+  public void replayShouldFailOnDataPastTheZeros() throws IOException {
+    byte[] tail = new byte[1000];
+    tail[900] = 1;
+    Files.write(this.path, tail, StandardOpenOption.APPEND);
+    IntentionReplayer replayer = new IntentionReplayer(this.path.toString());
+    try {
+      replayer.run();
+      fail("Replay should not skip data past the last record");
+    } catch (CommonException e) {
+      assertEquals(IntentionReplayerTest.STEPS + 1, replayer.getSnapshotCount());
+    }
+  }
+}
@@ -0,0 +1,332 @@
+package com.seat.sim.server.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Optional;
+
+import com.seat.sim.common.math.Grid;
+import com.seat.sim.common.math.Vector;
+import com.seat.sim.common.math.Zone;
+import com.seat.sim.common.math.ZoneType;
+import org.junit.Test;
+
+public class PhysicsTest {
+
+  private static final int SIZE = 10;
+  private static final int ZONES = 8;
+
+  /** The zone-by-zone ray trace that GridTraversal replaced, kept as the reference for the traversal. */
+  private static Optional<Collision> getOldRayTrace(Vector tail, Vector tip, Grid grid) {
+    if (!grid.hasZones()) {
+      return Physics.getBoundaryCollision(tail, tip, grid);
+    }
+    if (!grid.hasZoneAtLocation(tail)) {
+      return Optional.empty();
+    }
+    if (grid.hasZoneAtLocation(tip) && grid.getZoneAtLocation(tail) == grid.getZoneAtLocation(tip)) {
+      return Optional.empty();
+    }
+    Vector ray = tail;
+    Optional<Zone> zone = grid.checkZoneAtLocation(tail);
+    while (zone.isPresent() && Vector.dist(tail, ray) <= Vector.dist(tail, tip)) {
+      if (grid.hasZoneAtLocation(tip) && grid.getZoneAtLocation(tip) == zone.get()) {
+        break;
+      }
+      Optional<Collision> coll = Physics.getBoundaryCollision(ray, tip, zone.get());
+      if (coll.isEmpty()) {
+        break;
+      }
+      ray = coll.get().getPoint();
+      double size = zone.get().getSize();
+      double cx = zone.get().getLocation().getX(), cy = zone.get().getLocation().getY();
+      double x = cx - size / 2, y = cy - size / 2;
+      if (Vector.near(ray.getX(), x) && Vector.near(ray.getY(), y)) {
+        zone = grid.checkZoneAtLocation(cx - size, cy - size);
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy) && grid.hasZoneAtLocation(cx, cy - size) &&
+            grid.getZoneAtLocation(cx - size, cy).hasZoneType(ZoneType.BLOCKED) &&
+            grid.getZoneAtLocation(cx, cy - size).hasZoneType(ZoneType.BLOCKED)) {
+          return Optional.of(new Collision(ray, new Box(zone.get())));
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy)) {
+          Zone tmp = grid.getZoneAtLocation(cx - size, cy);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy - size)) {
+          Zone tmp = grid.getZoneAtLocation(cx, cy - size);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+      } else if (Vector.near(ray.getX(), x + size) && Vector.near(ray.getY(), y)) {
+        zone = grid.checkZoneAtLocation(cx + size, cy - size);
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy) && grid.hasZoneAtLocation(cx, cy - size) &&
+            grid.getZoneAtLocation(cx + size, cy).hasZoneType(ZoneType.BLOCKED) &&
+            grid.getZoneAtLocation(cx, cy - size).hasZoneType(ZoneType.BLOCKED)) {
+          return Optional.of(new Collision(ray, new Box(zone.get())));
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy)) {
+          Zone tmp = grid.getZoneAtLocation(cx + size, cy);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy - size)) {
+          Zone tmp = grid.getZoneAtLocation(cx, cy - size);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+      } else if (Vector.near(ray.getX(), x + size) && Vector.near(ray.getY(), y + size)) {
+        zone = grid.checkZoneAtLocation(cx + size, cy + size);
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy) && grid.hasZoneAtLocation(cx, cy + size) &&
+            grid.getZoneAtLocation(cx + size, cy).hasZoneType(ZoneType.BLOCKED) &&
+            grid.getZoneAtLocation(cx, cy + size).hasZoneType(ZoneType.BLOCKED)) {
+          return Optional.of(new Collision(ray, new Box(zone.get())));
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx + size, cy)) {
+          Zone tmp = grid.getZoneAtLocation(cx + size, cy);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy + size)) {
+          Zone tmp = grid.getZoneAtLocation(cx, cy + size);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+      } else if (Vector.near(ray.getX(), x) && Vector.near(ray.getY(), y + size)) {
+        zone = grid.checkZoneAtLocation(cx - size, cy + size);
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy) && grid.hasZoneAtLocation(cx, cy + size) &&
+            grid.getZoneAtLocation(cx - size, cy).hasZoneType(ZoneType.BLOCKED) &&
+            grid.getZoneAtLocation(cx, cy + size).hasZoneType(ZoneType.BLOCKED)) {
+          return Optional.of(new Collision(ray, new Box(zone.get())));
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx - size, cy)) {
+          Zone tmp = grid.getZoneAtLocation(cx - size, cy);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+        if (zone.isPresent() && grid.hasZoneAtLocation(cx, cy + size)) {
+          Zone tmp = grid.getZoneAtLocation(cx, cy + size);
+          if (Vector.dist(tmp.getLocation(), tip) < Vector.dist(zone.get().getLocation(), tip)) {
+            zone = Optional.of(tmp);
+          }
+        }
+      } else if (Vector.near(ray.getX(), x)) {
+        zone = grid.checkZoneAtLocation(cx - size, cy);
+      } else if (Vector.near(ray.getY(), y)) {
+        zone = grid.checkZoneAtLocation(cx, cy - size);
+      } else if (Vector.near(ray.getX(), x + size)) {
+        zone = grid.checkZoneAtLocation(cx + size, cy);
+      } else {
+        zone = grid.checkZoneAtLocation(cx, cy + size);
+      }
+      if (zone.isPresent() && zone.get().hasZoneType(ZoneType.BLOCKED)) {
+        return Optional.of(new Collision(ray, new Box(zone.get())));
+      }
+    }
+    if (grid.hasZoneAtLocation(tip) && grid.getZoneAtLocation(tip).hasZoneType(ZoneType.BLOCKED)) {
+      return Physics.getBoundaryCollision(tip, tail, grid.getZoneAtLocation(tip));
+    }
+    return Physics.getBoundaryCollision(tail, tip, grid);
+  }
+
+
+  private static void assertSameTrace(Vector tail, Vector tip, Grid grid) {
+    String ray = String.format("%s -> %s", tail, tip);
+    Optional<Collision> expected = PhysicsTest.getOldRayTrace(tail, tip, grid);
+    Optional<Collision> actual = Physics.getRayTrace(tail, tip, grid);
+    assertEquals(ray, expected.isPresent(), actual.isPresent());
+    if (expected.isEmpty()) {
+      return;
+    }
+    assertTrue(String.format("%s hits %s, not %s", ray, actual.get(), expected.get()),
+        expected.get().getPoint().near(actual.get().getPoint()));
+    Box box = expected.get().getBoundaryBox(), other = actual.get().getBoundaryBox();
+    assertEquals(ray, box.getX(), other.getX(), 0.);
+    assertEquals(ray, box.getY(), other.getY(), 0.);
+    assertEquals(ray, box.getWidth(), other.getWidth(), 0.);
+    assertEquals(ray, box.getHeight(), other.getHeight(), 0.);
+    assertEquals(ray, expected.get().hasHorizontalCollision(), actual.get().hasHorizontalCollision());
+    assertEquals(ray, expected.get().hasVerticalCollision(), actual.get().hasVerticalCollision());
+    assertTrue(ray, expected.get().reflect(tip).near(actual.get().reflect(tip)));
+  }
+
+  /** Returns the grid drawn by the rows, where '#' marks a BLOCKED zone. */
+  private static Grid getGrid(String... rows) {
+    BufferedImage img = new BufferedImage(rows[0].length(), rows.length, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < rows.length; y++) {
+      for (int x = 0; x < rows[y].length(); x++) {
+        img.setRGB(x, y, (rows[y].charAt(x) == '#') ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+      }
+    }
+    return new Grid(img, PhysicsTest.SIZE);
+  }
+
+  private static Grid getGrid(double density, long seed) {
+    java.util.Random rng = new java.util.Random(seed);
+    BufferedImage img = new BufferedImage(PhysicsTest.ZONES, PhysicsTest.ZONES, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < PhysicsTest.ZONES; y++) {
+      for (int x = 0; x < PhysicsTest.ZONES; x++) {
+        img.setRGB(x, y, (rng.nextDouble() < density) ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+      }
+    }
+    return new Grid(img, PhysicsTest.SIZE);
+  }
+
+  @Test
+  public void randomRaysShouldTraceAsBefore() {
+    for (long seed = 0; seed < 20; seed++) {
+      Grid grid = PhysicsTest.getGrid(.3, seed);
+      java.util.Random rng = new java.util.Random(seed);
+      for (int i = 0; i < 2000; i++) {
+        Vector tail = new Vector(rng.nextDouble() * PhysicsTest.SIZE * PhysicsTest.ZONES,
+            rng.nextDouble() * PhysicsTest.SIZE * PhysicsTest.ZONES);
+        if (grid.isBlockedAtLocation(tail)) {
+          continue;
+        }
+        Vector tip = Vector.add(tail, new Vector((rng.nextDouble() - .5) * 6 * PhysicsTest.SIZE,
+            (rng.nextDouble() - .5) * 6 * PhysicsTest.SIZE));
+        PhysicsTest.assertSameTrace(tail, tip, grid);
+      }
+    }
+  }
+
+  @Test
+  public void axisAlignedRaysShouldTraceAsBefore() {
+    for (long seed = 0; seed < 10; seed++) {
+      Grid grid = PhysicsTest.getGrid(.3, seed);
+      for (int row = 0; row < PhysicsTest.ZONES; row++) {
+        for (int col = 0; col < PhysicsTest.ZONES; col++) {
+          if (grid.isBlocked(row, col)) {
+            continue;
+          }
+          for (double offset : new double[] {0., .5, 2.5}) {
+            Vector tail = new Vector((col + .5) * PhysicsTest.SIZE + offset, (row + .5) * PhysicsTest.SIZE - offset);
+            for (double length = 2.; length < 3 * PhysicsTest.SIZE; length += 3.5) {
+              PhysicsTest.assertSameTrace(tail, Vector.add(tail, new Vector(length, 0)), grid);
+              PhysicsTest.assertSameTrace(tail, Vector.add(tail, new Vector(-length, 0)), grid);
+              PhysicsTest.assertSameTrace(tail, Vector.add(tail, new Vector(0, length)), grid);
+              PhysicsTest.assertSameTrace(tail, Vector.add(tail, new Vector(0, -length)), grid);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Rays along zone edges are where the old trace went wrong, so they are checked on their own: it never
+   * returned for a tail on the outer edge heading out of the grid, and it reported a hit at the tip for a
+   * ray sliding along an edge between two open zones when a blocked zone touched the tail.
+   */
+  @Test(timeout = 10000)
+  public void raysAlongZoneEdgesShouldOnlyHitZonesTheyEnter() {
+    Grid grid = PhysicsTest.getGrid(".#..", "..##", "#...");
+    assertTrue(Physics.getRayTrace(new Vector(10, 10), new Vector(8, 10), grid).isEmpty());
+    // a tail on the edge of a blocked zone that heads into it hits at the tail, as before
+    Vector tail = new Vector(20, 5);
+    PhysicsTest.assertSameTrace(tail, new Vector(17, 5), grid);
+    Optional<Collision> coll = Physics.getRayTrace(tail, new Vector(17, 5), grid);
+    assertTrue(coll.isPresent());
+    assertTrue(coll.get().getPoint().near(tail));
+    assertTrue(coll.get().hasHorizontalCollision());
+    assertEquals(10, coll.get().getBoundaryBox().getX(), 0.);
+  }
+
+  @Test(timeout = 10000)
+  public void raysLeavingFromTheEdgeOfTheGridShouldHitItsBounds() {
+    Grid grid = PhysicsTest.getGrid(0., 0);
+    Vector tail = new Vector(3 * PhysicsTest.SIZE, 0);
+    Optional<Collision> coll = Physics.getRayTrace(tail, new Vector(3 * PhysicsTest.SIZE, -2), grid);
+    assertTrue(coll.isPresent());
+    assertTrue(coll.get().getPoint().near(tail));
+    assertTrue(coll.get().hasVerticalCollision());
+  }
+
+  /** A remote that bounces off the right or bottom bound is traced again from the bound, back into the grid. */
+  @Test(timeout = 10000)
+  public void raysEnteringFromTheFarBoundsShouldHitTheZonesTheyEnter() {
+    Grid grid = PhysicsTest.getGrid("...#", "....", "....", ".#..");
+    Vector tail = new Vector(40, 4);
+    Optional<Collision> coll = Physics.getRayTrace(tail, new Vector(33, 6), grid);
+    assertTrue(coll.isPresent());
+    assertTrue(coll.get().getPoint().near(tail));
+    assertTrue(coll.get().hasHorizontalCollision());
+    assertTrue(coll.get().reflect(new Vector(33, 6)).near(new Vector(47, 6)));
+    tail = new Vector(18, 40);
+    coll = Physics.getRayTrace(tail, new Vector(14, 33), grid);
+    assertTrue(coll.isPresent());
+    assertTrue(coll.get().getPoint().near(tail));
+    assertTrue(coll.get().hasVerticalCollision());
+    assertEquals(30, coll.get().getBoundaryBox().getY(), 0.);
+    // one that does not reach a blocked zone only stops at the bound if it heads out
+    assertTrue(Physics.getRayTrace(new Vector(40, 15), new Vector(33, 25), grid).isEmpty());
+    assertTrue(Physics.getRayTrace(new Vector(40, 15), new Vector(45, 25), grid).isPresent());
+  }
+
+  @Test
+  public void cornerRaysShouldTraceAsBefore() {
+    for (long seed = 0; seed < 10; seed++) {
+      Grid grid = PhysicsTest.getGrid(.3, seed);
+      for (int row = 0; row < PhysicsTest.ZONES; row++) {
+        for (int col = 0; col < PhysicsTest.ZONES; col++) {
+          if (grid.isBlocked(row, col)) {
+            continue;
+          }
+          Vector tail = new Vector((col + .5) * PhysicsTest.SIZE, (row + .5) * PhysicsTest.SIZE);
+          for (int k = 1; k <= 3; k++) {
+            for (int dx = -1; dx <= 1; dx += 2) {
+              for (int dy = -1; dy <= 1; dy += 2) {
+                // passes exactly through the corners of the zones on the diagonal
+                PhysicsTest.assertSameTrace(tail, Vector.add(tail, new Vector(dx * k * PhysicsTest.SIZE,
+                    dy * k * PhysicsTest.SIZE)), grid);
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void raysWithinAZoneOrFromOutsideShouldNotHit() {
+    Grid grid = PhysicsTest.getGrid(.5, 3);
+    Vector tail = new Vector(2.5 * PhysicsTest.SIZE, 3.5 * PhysicsTest.SIZE);
+    Vector tip = Vector.add(tail, new Vector(3, -4));
+    PhysicsTest.assertSameTrace(tail, tip, grid);
+    assertTrue(Physics.getRayTrace(tail, tip, grid).isEmpty());
+    Vector outside = new Vector(-5, 3.5 * PhysicsTest.SIZE);
+    PhysicsTest.assertSameTrace(outside, tail, grid);
+    assertTrue(Physics.getRayTrace(outside, tail, grid).isEmpty());
+    outside = new Vector(2.5 * PhysicsTest.SIZE, PhysicsTest.ZONES * PhysicsTest.SIZE + 5);
+    PhysicsTest.assertSameTrace(outside, tail, grid);
+    assertTrue(Physics.getRayTrace(outside, tail, grid).isEmpty());
+  }
+
+  @Test
+  public void gridsWithoutZonesShouldOnlyHitTheirBounds() {
+    Grid grid = new Grid(PhysicsTest.ZONES * PhysicsTest.SIZE, PhysicsTest.ZONES * PhysicsTest.SIZE,
+        PhysicsTest.SIZE);
+    java.util.Random rng = new java.util.Random(0);
+    int hits = 0;
+    for (int i = 0; i < 2000; i++) {
+      Vector tail = new Vector(rng.nextDouble() * PhysicsTest.SIZE * PhysicsTest.ZONES,
+          rng.nextDouble() * PhysicsTest.SIZE * PhysicsTest.ZONES);
+      Vector tip = Vector.add(tail, new Vector((rng.nextDouble() - .5) * 6 * PhysicsTest.SIZE,
+          (rng.nextDouble() - .5) * 6 * PhysicsTest.SIZE));
+      PhysicsTest.assertSameTrace(tail, tip, grid);
+      if (Physics.getRayTrace(tail, tip, grid).isPresent()) {
+        hits++;
+      }
+    }
+    assertTrue(hits > 0);
+  }
+}
@@ -0,0 +1,177 @@
+package com.seat.sim.server.scenario;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import com.seat.sim.common.net.BinaryCodec;
+import com.seat.sim.common.remote.intent.IntentionSet;
+import com.seat.sim.common.scenario.ScenarioConfig;
+import com.seat.sim.common.scenario.Snapshot;
+import com.seat.sim.common.util.Random;
+import com.seat.sim.server.Fixtures;
+import com.seat.sim.server.core.SimException;
+import org.junit.Test;
+
+public class ScenarioTest {
+
+  private static final int CHECKPOINT_STEP = 20;
+  private static final long[] GOLDEN_CHECKSUMS =
+      {3112006417L, 3639716180L, 72980935L, 574843892L, 253495378L, 3112860196L, 352257109L};
+  private static final int GOLDEN_STRIDE = 10;
+
+  /** Steps the scenario to the end of its mission, recording the intentions of each step and its snapshots. */
+  private static List<Snapshot> run(Scenario scenario, Random rng, List<Map<String, IntentionSet>> steps) {
+    List<Snapshot> snaps = new ArrayList<>();
+    Snapshot snap = scenario.getSnapshot();
+    snaps.add(snap);
+    while (scenario.getTime() < Fixtures.MISSION_LENGTH) {
+      Map<String, IntentionSet> intentions = Fixtures.Intentions(snap, rng);
+      steps.add(intentions);
+      scenario.update(intentions, scenario.getNextStepSize());
+      snap = scenario.getSnapshot();
+      snaps.add(snap);
+    }
+    return snaps;
+  }
+
+  /** Steps the scenario through the given intentions, asserting that it takes the expected snapshots. */
+  private static void replay(Scenario scenario, List<Map<String, IntentionSet>> steps, List<Snapshot> expected) {
+    Fixtures.assertSnapshotEquals(expected.get(0), scenario.getSnapshot());
+    for (int i = 0; i < steps.size(); i++) {
+      scenario.update(steps.get(i), scenario.getNextStepSize());
+      Fixtures.assertSnapshotEquals(expected.get(i + 1), scenario.getSnapshot());
+    }
+  }
+
+  /** Returns a scenario stepped up to the checkpoint step with intentions drawn from the rng. */
+  private static Scenario getScenario(boolean parallel, Random rng) {
+    Scenario scenario = new Scenario(Fixtures.ScenarioConfig(), parallel);
+    Snapshot snap = scenario.getSnapshot();
+    for (int i = 0; i < ScenarioTest.CHECKPOINT_STEP; i++) {
+      scenario.update(Fixtures.Intentions(snap, rng), scenario.getNextStepSize());
+      snap = scenario.getSnapshot();
+    }
+    return scenario;
+  }
+
+  private static void restoreShouldReproduceTheRun(boolean parallel) {
+    Random rng = new Random(7);
+    Scenario scenario = ScenarioTest.getScenario(parallel, rng);
+    Checkpoint checkpoint = scenario.checkpoint();
+    List<Map<String, IntentionSet>> steps = new ArrayList<>();
+    List<Snapshot> expected = ScenarioTest.run(scenario, rng, steps);
+    // back in the scenario that moved on, and in a fresh one of the same config
+    scenario.restore(checkpoint);
+    ScenarioTest.replay(scenario, steps, expected);
+    Scenario other = new Scenario(Fixtures.ScenarioConfig(), parallel);
+    other.restore(checkpoint);
+    ScenarioTest.replay(other, steps, expected);
+  }
+
+  private static void forkShouldReproduceTheRun(boolean parallel) {
+    Random rng = new Random(7);
+    Scenario scenario = ScenarioTest.getScenario(parallel, rng);
+    Scenario fork = scenario.fork();
+    List<Map<String, IntentionSet>> steps = new ArrayList<>();
+    List<Snapshot> expected = ScenarioTest.run(scenario, rng, steps);
+    ScenarioTest.replay(fork, steps, expected);
+  }
+
+  /**
+   * Steps the fixture in every update mode with the same intentions. Speculating, as the server does on a
+   * second thread while it waits for intentions, and the number of threads of a parallel scenario must not
+   * change a single bit. Sequential and parallel scenarios roll their sensors' accuracy on different rngs,
+   * so they must only agree on everything else.
+   */
+  @Test
+  public void updateModesShouldTakeTheSameSnapshots() throws Exception {
+    Scenario sequential = new Scenario(Fixtures.ScenarioConfig(), false);
+    Scenario speculative = new Scenario(Fixtures.ScenarioConfig(), false);
+    Scenario parallel = new Scenario(Fixtures.ScenarioConfig(), true);
+    Scenario speculativeParallel = new Scenario(Fixtures.ScenarioConfig(), true);
+    Scenario singleThreaded = new Scenario(Fixtures.ScenarioConfig(), true);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      Random rng = new Random(7);
+      Snapshot snap = sequential.getSnapshot();
+      Fixtures.assertSnapshotEquals(snap, speculative.getSnapshot());
+      Snapshot parallelSnap = parallel.getSnapshot();
+      Fixtures.assertKinematicsEquals(snap, parallelSnap);
+      Fixtures.assertSnapshotEquals(parallelSnap, speculativeParallel.getSnapshot());
+      Fixtures.assertSnapshotEquals(parallelSnap, pool.submit(() -> singleThreaded.getSnapshot()).get());
+      while (sequential.getTime() < Fixtures.MISSION_LENGTH) {
+        double stepSize = sequential.getNextStepSize();
+        Map<String, IntentionSet> intentions = Fixtures.Intentions(snap, rng);
+        executor.submit(() -> speculative.speculate(stepSize)).get();
+        executor.submit(() -> speculativeParallel.speculate(stepSize)).get();
+        sequential.update(intentions, stepSize);
+        speculative.update(intentions, stepSize);
+        parallel.update(intentions, stepSize);
+        speculativeParallel.update(intentions, stepSize);
+        pool.submit(() -> singleThreaded.update(intentions, stepSize)).get();
+        snap = sequential.getSnapshot();
+        Fixtures.assertSnapshotEquals(snap, speculative.getSnapshot());
+        parallelSnap = parallel.getSnapshot();
+        Fixtures.assertKinematicsEquals(snap, parallelSnap);
+        Fixtures.assertSnapshotEquals(parallelSnap, speculativeParallel.getSnapshot());
+        Fixtures.assertSnapshotEquals(parallelSnap, pool.submit(() -> singleThreaded.getSnapshot()).get());
+      }
+    } finally {
+      executor.shutdown();
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Pins the checksums of every tenth snapshot of a sequential run of the crowded fixture, as the run
+   * stood before checkpoints existed. A sensor rolls its accuracy for its candidates in the iteration order
+   * of the active remotes, so anything that reorders them changes the detections of every seeded run.
+   */
+  @Test
+  public void sequentialRunShouldTakeTheGoldenSnapshots() {
+    Scenario scenario = new Scenario(Fixtures.CrowdedScenarioConfig());
+    List<Snapshot> snaps = ScenarioTest.run(scenario, new Random(7), new ArrayList<>());
+    BinaryCodec codec = new BinaryCodec();
+    assertEquals(ScenarioTest.GOLDEN_CHECKSUMS.length, snaps.size() / ScenarioTest.GOLDEN_STRIDE + 1);
+    for (int i = 0; i < ScenarioTest.GOLDEN_CHECKSUMS.length; i++) {
+      Snapshot snap = snaps.get(i * ScenarioTest.GOLDEN_STRIDE);
+      assertEquals(String.format("at time=%.2f", snap.getTime()), ScenarioTest.GOLDEN_CHECKSUMS[i],
+          codec.checksum(snap));
+    }
+  }
+
+  @Test
+  public void restoreShouldReproduceTheSequentialRun() {
+    ScenarioTest.restoreShouldReproduceTheRun(false);
+  }
+
+  @Test
+  public void restoreShouldReproduceTheParallelRun() {
+    ScenarioTest.restoreShouldReproduceTheRun(true);
+  }
+
+  @Test
+  public void forkShouldReproduceTheSequentialRun() {
+    ScenarioTest.forkShouldReproduceTheRun(false);
+  }
+
+  @Test
+  public void forkShouldReproduceTheParallelRun() {
+    ScenarioTest.forkShouldReproduceTheRun(true);
+  }
+
+  @Test(expected = SimException.class)
+  public void restoreShouldRejectTheCheckpointOfAnotherScenario() {
+    ScenarioConfig config = Fixtures.ScenarioConfig();
+    Scenario other = new Scenario(new ScenarioConfig("Other", config.getSeed(), config.getGrid(),
+        config.getMissionLength(), config.getStepSize(), config.getRemoteConfigs()));
+    other.restore(new Scenario(config).checkpoint());
+  }
+}